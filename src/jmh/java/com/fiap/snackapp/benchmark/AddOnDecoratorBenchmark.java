@@ -0,0 +1,52 @@
+package com.fiap.snackapp.benchmark;
+
+import com.fiap.snackapp.core.domain.model.DynamicAddOnDecorator;
+import com.fiap.snackapp.core.domain.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddOnDecoratorBenchmark {
+
+    @Param({"1", "5", "10"})
+    private int depth;
+
+    private Product decorated;
+
+    @Setup
+    public void setUp() {
+        decorated = decorate();
+    }
+
+    @Benchmark
+    public Product decorate() {
+        Product product = OrderFixtures.BURGER;
+        for (int i = 0; i < depth; i++) {
+            product = new DynamicAddOnDecorator(product, OrderFixtures.addOn(i + 1L), 1);
+        }
+        return product;
+    }
+
+    @Benchmark
+    public BigDecimal price() {
+        return decorated.getPrice();
+    }
+
+    @Benchmark
+    public String name() {
+        return decorated.getName();
+    }
+
+    @Benchmark
+    public List<?> appliedAddOns() {
+        return decorated.getAppliedAddOns();
+    }
+}
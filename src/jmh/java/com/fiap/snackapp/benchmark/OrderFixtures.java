@@ -0,0 +1,53 @@
+package com.fiap.snackapp.benchmark;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.OrderEntity;
+import com.fiap.snackapp.core.domain.enums.Category;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import com.fiap.snackapp.core.domain.model.*;
+import com.fiap.snackapp.core.domain.vo.CPF;
+import com.fiap.snackapp.core.domain.vo.Email;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+final class OrderFixtures {
+
+    static final ProductDefinition BURGER =
+            new ProductDefinition(1L, "X-Burger", Category.LANCHE, new BigDecimal("25.90"), "X-Burger", true);
+
+    private OrderFixtures() {
+    }
+
+    static AddOnDefinition addOn(long id) {
+        return new AddOnDefinition(id, "Adicional " + id, Category.LANCHE, new BigDecimal("2.50"));
+    }
+
+    static OrderDefinition order(int items, int addOnsPerItem) {
+        List<AppliedAddOn> addOns = new ArrayList<>();
+        for (int i = 0; i < addOnsPerItem; i++) {
+            addOns.add(new AppliedAddOn(addOn(i + 1L), 1));
+        }
+
+        List<OrderItemDefinition> orderItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            orderItems.add(new OrderItemDefinition((long) i + 1, BURGER.id(), BURGER.name(), 1, BURGER.price(), addOns));
+        }
+
+        var customer = new CustomerDefinition(1L, "Maria", new Email("maria@email.com"), new CPF("12345678900"));
+        return new OrderDefinition(1L, customer, OrderStatus.PAGAMENTO_PENDENTE, orderItems, "http://qr.code", "pay-1");
+    }
+
+    // O mapper de persistência só preenche ids de produto e adicional; aqui simulamos as entidades carregadas do banco
+    static OrderEntity loadedEntity(OrderEntity entity) {
+        entity.getItems().forEach(item -> {
+            item.getProduct().setName(BURGER.name());
+            item.getProduct().setPrice(BURGER.price());
+            item.getAppliedAddOns().forEach(applied -> {
+                applied.getAddOn().setName("Adicional " + applied.getAddOn().getId());
+                applied.getAddOn().setCategory(Category.LANCHE);
+            });
+        });
+        return entity;
+    }
+}
@@ -0,0 +1,69 @@
+package com.fiap.snackapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.OrderEntity;
+import com.fiap.snackapp.adapters.driven.infra.persistence.mapper.OrderPersistenceMapper;
+import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.application.mapper.OrderItemMapper;
+import com.fiap.snackapp.core.application.mapper.OrderMapper;
+import com.fiap.snackapp.core.domain.model.OrderDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "15"})
+    private int items;
+
+    @Param({"0", "2"})
+    private int addOnsPerItem;
+
+    private final OrderPersistenceMapper persistenceMapper = new OrderPersistenceMapper();
+    private final OrderMapper orderMapper = new OrderMapper(new OrderItemMapper());
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrderDefinition order;
+    private OrderEntity entity;
+    private OrderResponse response;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(items, addOnsPerItem);
+        entity = OrderFixtures.loadedEntity(persistenceMapper.toEntity(order));
+        response = orderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public OrderEntity persistenceToEntity() {
+        return persistenceMapper.toEntity(order);
+    }
+
+    @Benchmark
+    public OrderDefinition persistenceToDomain() {
+        return persistenceMapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return orderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public BigDecimal totalPrice() {
+        return order.getTotalPrice();
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,308 @@
+package com.fiap.snackapp.benchmark;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.*;
+import com.fiap.snackapp.core.domain.enums.Category;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.*;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Custo de gravar um pedido novo com ids por sequência (mapeamento da aplicação) e com IDENTITY,
+// com escrita em lote do Hibernate desligada (0) e ligada (50). Roda no H2 em memória por padrão;
+// -p jdbcUrl=... -p user=... -p password=... aponta para um banco na rede, que precisa ser
+// descartável porque as tabelas são recriadas a cada execução
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPersistenceBenchmark {
+
+    private static final BigDecimal PRICE = new BigDecimal("25.00");
+    private static final BigDecimal ADD_ON_PRICE = new BigDecimal("2.50");
+
+    @Param({"sequence", "identity"})
+    private String idGeneration;
+
+    @Param({"0", "50"})
+    private int batchSize;
+
+    @Param({"15"})
+    private int items;
+
+    @Param({"2"})
+    private int addOnsPerItem;
+
+    @Param({"jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"})
+    private String jdbcUrl;
+
+    @Param({"sa"})
+    private String user;
+
+    @Param({""})
+    private String password;
+
+    private final LongAdder roundTrips = new LongAdder();
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private boolean identity;
+    private Long customerId;
+    private Long productId;
+    private final List<Long> addOnIds = new ArrayList<>();
+
+    // Totais da iteração; divididos por orders dão statements e idas ao banco por pedido
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long orders;
+        public long statements;
+        public long roundTrips;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            orders = 0;
+            statements = 0;
+            roundTrips = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        identity = "identity".equals(idGeneration);
+
+        dataSource = new HikariDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return (Connection) counting(Connection.class, super.getConnection());
+            }
+        };
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(user);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(2);
+        if (jdbcUrl.startsWith("jdbc:postgresql:")) {
+            // Mesmo ajuste da aplicação: o driver junta o lote em um único INSERT
+            dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        }
+
+        var configuration = new Configuration()
+                .addAnnotatedClass(CustomerEntity.class)
+                .addAnnotatedClass(ProductEntity.class)
+                .addAnnotatedClass(AddOnEntity.class)
+                .addAnnotatedClass(OrderEntity.class)
+                .addAnnotatedClass(OrderItemEntity.class)
+                .addAnnotatedClass(AppliedAddOnEntity.class)
+                .addAnnotatedClass(IdentityOrder.class)
+                .addAnnotatedClass(IdentityOrderItem.class)
+                .addAnnotatedClass(IdentityAppliedAddOn.class)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .setProperty(AvailableSettings.LOG_SESSION_METRICS, "false")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, String.valueOf(batchSize > 0))
+                .setProperty(AvailableSettings.ORDER_UPDATES, String.valueOf(batchSize > 0));
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        sessionFactory = configuration.buildSessionFactory();
+        statistics = sessionFactory.getStatistics();
+
+        // Cliente, produto e adicionais já existem no banco; o pedido só referencia os ids
+        var customer = new CustomerEntity("Maria", "maria@email.com", "12345678900");
+        var product = new ProductEntity("X-Burger", Category.LANCHE, PRICE, "X-Burger");
+        List<AddOnEntity> addOns = new ArrayList<>();
+        for (int i = 0; i < addOnsPerItem; i++) {
+            addOns.add(new AddOnEntity("Adicional " + i, Category.LANCHE, ADD_ON_PRICE));
+        }
+        sessionFactory.inTransaction(session -> {
+            session.persist(customer);
+            session.persist(product);
+            addOns.forEach(session::persist);
+        });
+        customerId = customer.getId();
+        productId = product.getId();
+        addOns.forEach(addOn -> addOnIds.add(addOn.getId()));
+    }
+
+    // Limpa os pedidos gravados para que o tamanho das tabelas não mude entre iterações
+    @TearDown(Level.Iteration)
+    public void deleteOrders() {
+        sessionFactory.inTransaction(session -> List.of(
+                "item_add_ons", "order_items", "orders",
+                "identity_item_add_ons", "identity_order_items", "identity_orders"
+        ).forEach(table -> session.createNativeMutationQuery("delete from " + table).executeUpdate()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Long saveNewOrder(Counters counters) {
+        long statementsBefore = statistics.getPrepareStatementCount();
+        long roundTripsBefore = roundTrips.sum();
+
+        Long id = sessionFactory.fromTransaction(session -> identity ? saveIdentityOrder(session) : saveSequenceOrder(session));
+
+        counters.orders++;
+        counters.statements += statistics.getPrepareStatementCount() - statementsBefore;
+        counters.roundTrips += roundTrips.sum() - roundTripsBefore;
+        return id;
+    }
+
+    private Long saveSequenceOrder(Session session) {
+        var order = new OrderEntity();
+        order.setStatus(OrderStatus.INICIADO);
+        order.setCustomer(session.getReference(CustomerEntity.class, customerId));
+        order.setItems(new HashSet<>());
+        for (int i = 0; i < items; i++) {
+            var item = new OrderItemEntity();
+            item.setOrder(order);
+            item.setProduct(session.getReference(ProductEntity.class, productId));
+            item.setPrice(PRICE);
+            item.setQuantity(1);
+            item.setAppliedAddOns(new HashSet<>());
+            for (Long addOnId : addOnIds) {
+                var applied = new AppliedAddOnEntity();
+                applied.setOrderItem(item);
+                applied.setAddOn(session.getReference(AddOnEntity.class, addOnId));
+                applied.setPrice(ADD_ON_PRICE);
+                applied.setQuantity(1);
+                item.getAppliedAddOns().add(applied);
+            }
+            order.getItems().add(item);
+        }
+        session.persist(order);
+        return order.getId();
+    }
+
+    private Long saveIdentityOrder(Session session) {
+        var order = new IdentityOrder();
+        order.status = OrderStatus.INICIADO;
+        order.customer = session.getReference(CustomerEntity.class, customerId);
+        for (int i = 0; i < items; i++) {
+            var item = new IdentityOrderItem();
+            item.order = order;
+            item.product = session.getReference(ProductEntity.class, productId);
+            item.price = PRICE;
+            item.quantity = 1;
+            for (Long addOnId : addOnIds) {
+                var applied = new IdentityAppliedAddOn();
+                applied.orderItem = item;
+                applied.addOn = session.getReference(AddOnEntity.class, addOnId);
+                applied.price = ADD_ON_PRICE;
+                applied.quantity = 1;
+                item.appliedAddOns.add(applied);
+            }
+            order.items.add(item);
+        }
+        session.persist(order);
+        return order.id;
+    }
+
+    // Conta as idas ao banco: cada execute* e cada executeBatch dos statements abertos pela conexão
+    private Object counting(Class<?> type, Object target) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                roundTrips.increment();
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())
+                    ? counting(method.getReturnType(), result)
+                    : result;
+        });
+    }
+
+    // Cópia das tabelas de pedido com ids IDENTITY, como antes das sequências: o Hibernate precisa
+    // do id gerado a cada INSERT e não agrupa essas linhas em lote
+    @Entity
+    @Table(name = "identity_orders")
+    public static class IdentityOrder {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "customer_id")
+        CustomerEntity customer;
+
+        @Enumerated(EnumType.STRING)
+        OrderStatus status;
+
+        @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+        Set<IdentityOrderItem> items = new HashSet<>();
+    }
+
+    @Entity
+    @Table(name = "identity_order_items")
+    public static class IdentityOrderItem {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "order_id", nullable = false)
+        IdentityOrder order;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "product_id", nullable = false)
+        ProductEntity product;
+
+        @Column(nullable = false)
+        BigDecimal price;
+
+        @Column(nullable = false)
+        int quantity;
+
+        @OneToMany(mappedBy = "orderItem", cascade = CascadeType.ALL)
+        Set<IdentityAppliedAddOn> appliedAddOns = new HashSet<>();
+    }
+
+    @Entity
+    @Table(name = "identity_item_add_ons")
+    public static class IdentityAppliedAddOn {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "order_item_id", nullable = false)
+        IdentityOrderItem orderItem;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "addon_id", nullable = false)
+        AddOnEntity addOn;
+
+        @Column(nullable = false)
+        BigDecimal price;
+
+        @Column(nullable = false)
+        int quantity;
+    }
+}
@@ -0,0 +1,35 @@
+package com.fiap.snackapp.benchmark;
+
+import com.fiap.snackapp.core.domain.vo.CPF;
+import com.fiap.snackapp.core.domain.vo.Email;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueObjectBenchmark {
+
+    private String cpfValue = "12345678900";
+    private String emailValue = "maria.silva@email.com";
+    private CPF cpf = new CPF(cpfValue);
+
+    @Benchmark
+    public CPF newCpf() {
+        return new CPF(cpfValue);
+    }
+
+    @Benchmark
+    public Email newEmail() {
+        return new Email(emailValue);
+    }
+
+    @Benchmark
+    public long cpfAsLong() {
+        return cpf.asLong();
+    }
+}
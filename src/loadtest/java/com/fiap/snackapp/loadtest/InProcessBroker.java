@@ -0,0 +1,47 @@
+package com.fiap.snackapp.loadtest;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Substituto do RabbitMQ: publicações são serializadas e apenas contadas; mensagens
+// recebidas passam pela mesma conversão JSON do container antes de chegar ao listener
+class InProcessBroker extends RabbitTemplate {
+
+    private final Map<String, LongAdder> published = new ConcurrentHashMap<>();
+
+    InProcessBroker(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
+        super(connectionFactory);
+        setMessageConverter(messageConverter);
+    }
+
+    @Override
+    public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+        published.computeIfAbsent(exchange + "/" + routingKey, key -> new LongAdder()).increment();
+        if (correlationData != null) {
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T roundTrip(T payload) {
+        MessageProperties properties = new MessageProperties();
+        Message message = getMessageConverter().toMessage(payload, properties);
+        message.getMessageProperties().setInferredArgumentType(payload.getClass());
+        return (T) getMessageConverter().fromMessage(message);
+    }
+
+    Map<String, Long> publishedCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        published.forEach((destination, count) -> counts.put(destination, count.sum()));
+        return counts;
+    }
+}
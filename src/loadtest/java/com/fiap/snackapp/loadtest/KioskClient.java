@@ -0,0 +1,74 @@
+package com.fiap.snackapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.snackapp.core.application.dto.request.AddOnCreateRequest;
+import com.fiap.snackapp.core.application.dto.request.OrderInitRequest;
+import com.fiap.snackapp.core.application.dto.request.OrderItemsRequest;
+import com.fiap.snackapp.core.application.dto.request.OrderPaymentCreateRequest;
+import com.fiap.snackapp.core.application.dto.request.ProductCreateRequest;
+import com.fiap.snackapp.core.application.dto.response.AddOnResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.application.dto.response.ProductResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+class KioskClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    KioskClient(int port, ObjectMapper objectMapper) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+        this.objectMapper = objectMapper;
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    ProductResponse createProduct(ProductCreateRequest request) throws IOException, InterruptedException {
+        return post("/api/products", request, ProductResponse.class);
+    }
+
+    AddOnResponse createAddOn(AddOnCreateRequest request) throws IOException, InterruptedException {
+        return post("/api/products/add-ons", request, AddOnResponse.class);
+    }
+
+    OrderResponse init(String cpf) throws IOException, InterruptedException {
+        return post("/api/orders/init", new OrderInitRequest(cpf), OrderResponse.class);
+    }
+
+    OrderResponse addItems(Long orderId, OrderItemsRequest request) throws IOException, InterruptedException {
+        return post("/api/orders/" + orderId + "/item", request, OrderResponse.class);
+    }
+
+    void requestPayment(OrderPaymentCreateRequest request) throws IOException, InterruptedException {
+        post("/api/orders/payment", request, Void.class);
+    }
+
+    private <T> T post(String path, Object body, Class<T> responseType) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + path + " retornou " + response.statusCode()
+                    + ": " + new String(response.body()));
+        }
+        if (responseType == Void.class || response.body().length == 0) {
+            return null;
+        }
+        return objectMapper.readValue(response.body(), responseType);
+    }
+}
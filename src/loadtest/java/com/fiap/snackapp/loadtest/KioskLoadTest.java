@@ -0,0 +1,220 @@
+package com.fiap.snackapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.snackapp.SnackOrderAppApplication;
+import com.fiap.snackapp.adapters.driver.messaging.OrderPaymentCreatedListener;
+import com.fiap.snackapp.adapters.driver.messaging.OrderPaymentStatusUpdatedListener;
+import com.fiap.snackapp.core.application.dto.request.AddOnCreateRequest;
+import com.fiap.snackapp.core.application.dto.request.AddOnRequest;
+import com.fiap.snackapp.core.application.dto.request.ItemRequest;
+import com.fiap.snackapp.core.application.dto.request.OrderItemsRequest;
+import com.fiap.snackapp.core.application.dto.request.OrderPaymentCreateRequest;
+import com.fiap.snackapp.core.application.dto.request.ProductCreateRequest;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentStatusUpdatedMessage;
+import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.domain.enums.Category;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import com.fiap.snackapp.loadtest.LatencyReport.Step;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Simula o pico de almoço dos totens: sobe a aplicação em H2 com o broker em memória e
+// dispara o fluxo completo do pedido em taxa constante (modelo aberto)
+public final class KioskLoadTest {
+
+    private static final String[] APPLICATION_ARGS = {
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.main.allow-bean-definition-overriding=true",
+            "--spring.rabbitmq.listener.simple.auto-startup=false",
+            "--logging.level.root=WARN"
+    };
+    private static final long REPORT_INTERVAL_SECONDS = 5;
+    private static final Path OUTPUT = Path.of("target", "loadtest");
+
+    private final LoadTestSettings settings;
+    private final KioskClient client;
+    private final InProcessBroker broker;
+    private final OrderPaymentCreatedListener paymentCreatedListener;
+    private final OrderPaymentStatusUpdatedListener paymentStatusListener;
+    private final LatencyReport report = new LatencyReport();
+    private final List<Long> productIds = new ArrayList<>();
+    private final List<Long> addOnIds = new ArrayList<>();
+
+    private KioskLoadTest(LoadTestSettings settings, ConfigurableApplicationContext context) {
+        int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+        this.settings = settings;
+        this.client = new KioskClient(port, context.getBean(ObjectMapper.class));
+        this.broker = context.getBean(InProcessBroker.class);
+        this.paymentCreatedListener = context.getBean(OrderPaymentCreatedListener.class);
+        this.paymentStatusListener = context.getBean(OrderPaymentStatusUpdatedListener.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        String[] applicationArgs = Stream.concat(
+                        Stream.of(APPLICATION_ARGS),
+                        Stream.of(args).filter(arg -> arg.substring(0, arg.indexOf('=')).contains(".")))
+                .toArray(String[]::new);
+
+        // O restart do devtools reinicia a aplicação em outra thread e duplicaria os argumentos
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                SnackOrderAppApplication.class, LoadTestAmqpConfiguration.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run(applicationArgs)) {
+            new KioskLoadTest(settings, context).run();
+        }
+    }
+
+    private void run() throws IOException, InterruptedException {
+        seedCatalog();
+        System.out.printf("Carga: %d pedidos/s por %ds (+%ds de aquecimento), %d workers, %d itens x %d adicionais%n",
+                settings.rate(), settings.duration().toSeconds(), settings.warmup().toSeconds(),
+                settings.concurrency(), settings.items(), settings.addOns());
+
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency());
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        AtomicLong sequence = new AtomicLong();
+
+        // O início de cada fluxo é o instante planejado, não o de execução: se os workers
+        // atrasarem, a espera na fila entra na latência (evita coordinated omission)
+        scheduler.scheduleAtFixedRate(() -> {
+            long intendedStart = start + sequence.getAndIncrement() * periodNanos;
+            workers.execute(() -> flow(intendedStart));
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+        long warmupSeconds = settings.warmup().toSeconds();
+        long totalSeconds = warmupSeconds + settings.duration().toSeconds();
+        for (long elapsed = REPORT_INTERVAL_SECONDS; elapsed <= totalSeconds; elapsed += REPORT_INTERVAL_SECONDS) {
+            TimeUnit.NANOSECONDS.sleep(start + TimeUnit.SECONDS.toNanos(elapsed) - System.nanoTime());
+            report.printProgress(System.out, elapsed, elapsed <= warmupSeconds);
+        }
+
+        scheduler.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            workers.shutdownNow();
+        }
+        long measuredNanos = System.nanoTime() - start - settings.warmup().toNanos();
+        report.printProgress(System.out, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), false);
+
+        report.printSummary(System.out, measuredNanos / 1e9);
+        System.out.println();
+        System.out.println("Mensagens publicadas: " + broker.publishedCounts());
+        report.write(OUTPUT);
+        System.out.println("Histogramas (.hgrm) em " + OUTPUT.toAbsolutePath());
+    }
+
+    private void flow(long intendedStart) {
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String cpf = "%011d".formatted(random.nextInt(settings.customers()) + 1);
+
+            OrderResponse order = timed(Step.INIT, () -> client.init(cpf));
+            OrderResponse withItems = timed(Step.ADD_ITEMS, () -> client.addItems(order.id(), itemsRequest(random)));
+            timed(Step.PAYMENT, () -> {
+                client.requestPayment(new OrderPaymentCreateRequest(order.id(), withItems.totalPrice(), null));
+                return null;
+            });
+
+            // Respostas do serviço de pagamento, entregues como se viessem das filas
+            String paymentId = "pay-" + order.id();
+            var created = new OrderPaymentCreatedMessageResponse(paymentId, order.id(), withItems.totalPrice(),
+                    "https://qr.loadtest/" + paymentId, OrderStatus.PAGAMENTO_PENDENTE);
+            timed(Step.PAYMENT_CREATED, () -> {
+                paymentCreatedListener.handleOrderPaymentCreated(broker.roundTrip(created), null);
+                return null;
+            });
+
+            OrderStatus outcome = random.nextDouble() < settings.approvalRatio()
+                    ? OrderStatus.PAGAMENTO_APROVADO
+                    : OrderStatus.PAGAMENTO_RECUSADO;
+            var statusUpdated = new OrderPaymentStatusUpdatedMessage(order.id(), paymentId, outcome);
+            timed(Step.PAYMENT_STATUS, () -> {
+                paymentStatusListener.handlePaymentStatusUpdated(broker.roundTrip(statusUpdated), null);
+                return null;
+            });
+
+            report.record(Step.FLOW, System.nanoTime() - intendedStart);
+        } catch (StepFailedException e) {
+            report.error(Step.FLOW, e.getCause());
+        }
+    }
+
+    private OrderItemsRequest itemsRequest(ThreadLocalRandom random) {
+        List<ItemRequest> items = new ArrayList<>(settings.items());
+        for (int i = 0; i < settings.items(); i++) {
+            List<AddOnRequest> addOns = new ArrayList<>(settings.addOns());
+            for (int j = 0; j < settings.addOns(); j++) {
+                addOns.add(new AddOnRequest(addOnIds.get(random.nextInt(addOnIds.size())), 1));
+            }
+            Long productId = productIds.get(random.nextInt(productIds.size()));
+            items.add(new ItemRequest(productId, random.nextInt(1, 3), addOns));
+        }
+        return new OrderItemsRequest(items);
+    }
+
+    private void seedCatalog() throws IOException, InterruptedException {
+        String[][] products = {
+                {"X-Burger", "LANCHE", "25.90"}, {"X-Salada", "LANCHE", "27.90"}, {"X-Bacon", "LANCHE", "29.90"},
+                {"Batata Frita", "ACOMPANHAMENTO", "12.00"}, {"Onion Rings", "ACOMPANHAMENTO", "14.00"},
+                {"Refrigerante", "BEBIDA", "7.50"}, {"Suco", "BEBIDA", "9.00"}, {"Sorvete", "SOBREMESA", "10.00"}
+        };
+        for (String[] product : products) {
+            productIds.add(client.createProduct(new ProductCreateRequest(
+                    product[0], Category.valueOf(product[1]), new BigDecimal(product[2]), product[0])).id());
+        }
+
+        String[][] addOns = {{"Bacon", "3.00"}, {"Queijo", "2.50"}, {"Ovo", "2.00"}, {"Cheddar", "3.50"}};
+        for (String[] addOn : addOns) {
+            addOnIds.add(client.createAddOn(new AddOnCreateRequest(
+                    addOn[0], Category.LANCHE, new BigDecimal(addOn[1]))).id());
+        }
+    }
+
+    private <T> T timed(Step step, StepCall<T> call) {
+        long begin = System.nanoTime();
+        try {
+            T result = call.call();
+            report.record(step, System.nanoTime() - begin);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.error(step, e);
+            throw new StepFailedException(e);
+        } catch (Exception e) {
+            report.error(step, e);
+            throw new StepFailedException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StepCall<T> {
+        T call() throws Exception;
+    }
+
+    private static final class StepFailedException extends RuntimeException {
+        StepFailedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
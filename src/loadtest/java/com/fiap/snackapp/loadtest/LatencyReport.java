@@ -0,0 +1,111 @@
+package com.fiap.snackapp.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+class LatencyReport {
+
+    enum Step {
+        INIT,
+        ADD_ITEMS,
+        PAYMENT,
+        PAYMENT_CREATED,
+        PAYMENT_STATUS,
+        FLOW
+    }
+
+    // Latências em microssegundos; valores acima de 1 minuto são saturados no máximo
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toMicros(1);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Step, Recorder> recorders = new EnumMap<>(Step.class);
+    private final Map<Step, Histogram> totals = new EnumMap<>(Step.class);
+    private final Map<Step, LongAdder> errors = new EnumMap<>(Step.class);
+    private final Map<Step, Histogram> intervals = new EnumMap<>(Step.class);
+    private final Map<Step, Throwable> firstErrors = new ConcurrentHashMap<>();
+
+    LatencyReport() {
+        for (Step step : Step.values()) {
+            recorders.put(step, new Recorder(HIGHEST_TRACKABLE, 3));
+            totals.put(step, new Histogram(HIGHEST_TRACKABLE, 3));
+            errors.put(step, new LongAdder());
+        }
+    }
+
+    void record(Step step, long elapsedNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        recorders.get(step).recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE));
+    }
+
+    void error(Step step, Throwable cause) {
+        errors.get(step).increment();
+        firstErrors.putIfAbsent(step, cause);
+    }
+
+    // Fecha o intervalo corrente; durante o aquecimento as amostras são descartadas
+    Histogram interval(Step step, boolean keep) {
+        Histogram interval = recorders.get(step).getIntervalHistogram(intervals.get(step));
+        intervals.put(step, interval);
+        if (keep) {
+            totals.get(step).add(interval);
+        }
+        return interval;
+    }
+
+    void printProgress(PrintStream out, long elapsedSeconds, boolean warmup) {
+        Histogram flow = interval(Step.FLOW, !warmup);
+        for (Step step : Step.values()) {
+            if (step != Step.FLOW) {
+                interval(step, !warmup);
+            }
+        }
+        out.printf("[%4ds]%s fluxos=%-6d p50=%8.2fms p99=%8.2fms max=%8.2fms%n",
+                elapsedSeconds,
+                warmup ? " (aquecimento)" : "",
+                flow.getTotalCount(),
+                flow.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                flow.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                flow.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    void printSummary(PrintStream out, double measuredSeconds) {
+        out.println();
+        out.printf("%-16s %10s %10s %8s %10s %10s %10s %10s%n",
+                "etapa", "amostras", "req/s", "erros", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (Step step : Step.values()) {
+            Histogram histogram = totals.get(step);
+            out.printf("%-16s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    step.name().toLowerCase(),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / measuredSeconds,
+                    errors.get(step).sum(),
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI);
+        }
+        firstErrors.forEach((step, cause) ->
+                out.printf("Primeiro erro em %s: %s%n", step.name().toLowerCase(), cause));
+    }
+
+    // Um .hgrm por etapa, no formato aceito pelo HdrHistogram plotter
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Step step : Step.values()) {
+            Path file = directory.resolve(step.name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(file.toFile())) {
+                totals.get(step).outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+}
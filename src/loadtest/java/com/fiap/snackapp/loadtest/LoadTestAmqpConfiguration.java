@@ -0,0 +1,28 @@
+package com.fiap.snackapp.loadtest;
+
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@TestConfiguration(proxyBeanMethods = false)
+class LoadTestAmqpConfiguration {
+
+    // Mesmos nomes dos beans de SnackAppPedidoAMQPConfiguration para substituí-los
+    @Bean
+    InProcessBroker rabbitTemplate(ConnectionFactory connectionFactory,
+                                   Jackson2JsonMessageConverter messageConverter) {
+        return new InProcessBroker(connectionFactory, messageConverter);
+    }
+
+    @Bean
+    RabbitAdmin createRabbitAdmin(ConnectionFactory connectionFactory) {
+        return new RabbitAdmin(connectionFactory) {
+            @Override
+            public void initialize() {
+                // Sem broker não há filas nem exchanges para declarar
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.fiap.snackapp.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+record LoadTestSettings(
+        int rate,
+        Duration duration,
+        Duration warmup,
+        int concurrency,
+        int items,
+        int addOns,
+        int customers,
+        double approvalRatio
+) {
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use --chave=valor)");
+            }
+            int separator = arg.indexOf('=');
+            String key = arg.substring(2, separator);
+            // Propriedades do Spring (spring.*, server.* ...) seguem direto para a aplicação
+            if (!key.contains(".")) {
+                options.put(key, arg.substring(separator + 1));
+            }
+        }
+
+        var settings = new LoadTestSettings(
+                Integer.parseInt(options.getOrDefault("rate", "50")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Integer.parseInt(options.getOrDefault("concurrency", "32")),
+                Integer.parseInt(options.getOrDefault("items", "3")),
+                Integer.parseInt(options.getOrDefault("add-ons", "1")),
+                Integer.parseInt(options.getOrDefault("customers", "1000")),
+                Double.parseDouble(options.getOrDefault("approval", "0.9"))
+        );
+        if (settings.rate < 1 || settings.concurrency < 1 || settings.items < 1 || settings.customers < 1) {
+            throw new IllegalArgumentException("rate, concurrency, items e customers devem ser positivos");
+        }
+        return settings;
+    }
+}
@@ -0,0 +1,71 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.adapters.driven.infra.cache.CatalogChangedEvent.CatalogItemType;
+import com.fiap.snackapp.adapters.driven.infra.persistence.adapter.AddOnPersistenceAdapter;
+import com.fiap.snackapp.core.application.dto.request.AddOnUpdateRequest;
+import com.fiap.snackapp.core.application.repository.AddOnRepositoryPort;
+import com.fiap.snackapp.core.domain.enums.Category;
+import com.fiap.snackapp.core.domain.model.AddOnDefinition;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Primary
+@Component
+public class AddOnCatalogCacheAdapter extends CatalogCache<AddOnDefinition> implements AddOnRepositoryPort {
+
+    private final AddOnPersistenceAdapter delegate;
+    private final CatalogChangePublisher publisher;
+
+    public AddOnCatalogCacheAdapter(AddOnPersistenceAdapter delegate, CatalogChangePublisher publisher) {
+        super("add-on", AddOnDefinition::id);
+        this.delegate = delegate;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public AddOnDefinition save(AddOnDefinition addOnDefinition) {
+        return changed(store(delegate.save(addOnDefinition)));
+    }
+
+    @Override
+    public Optional<AddOnDefinition> findById(Long id) {
+        return cachedById(id);
+    }
+
+    @Override
+    public List<AddOnDefinition> findAllByIds(Collection<Long> ids) {
+        return cachedAllByIds(ids);
+    }
+
+    @Override
+    public List<AddOnDefinition> findByFilters(Boolean active, Category category) {
+        return cachedByFilter(
+                addOn -> (active == null || addOn.active() == active)
+                        && (category == null || addOn.category() == category),
+                () -> delegate.findByFilters(active, category));
+    }
+
+    @Override
+    public AddOnDefinition update(Long id, AddOnUpdateRequest addOnUpdateRequest) {
+        return changed(store(delegate.update(id, addOnUpdateRequest)));
+    }
+
+    @Override
+    protected List<AddOnDefinition> loadAll() {
+        return delegate.findByFilters(null, null);
+    }
+
+    @Override
+    protected List<AddOnDefinition> loadAllByIds(Collection<Long> ids) {
+        return delegate.findAllByIds(ids);
+    }
+
+    private AddOnDefinition changed(AddOnDefinition value) {
+        publisher.publish(CatalogItemType.ADD_ON, value.id());
+        return value;
+    }
+}
@@ -0,0 +1,126 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public abstract class CatalogCache<T> implements MeterBinder {
+
+    public static final String CACHE_METRIC = "snackapp.catalog.cache";
+
+    private final String name;
+    private final Function<T, Long> idOf;
+    private final AtomicReference<CatalogSnapshot<T>> snapshot;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    protected CatalogCache(String name, Function<T, Long> idOf) {
+        this.name = name;
+        this.idOf = idOf;
+        this.snapshot = new AtomicReference<>(CatalogSnapshot.empty(idOf));
+    }
+
+    protected abstract List<T> loadAll();
+
+    protected abstract List<T> loadAllByIds(Collection<Long> ids);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        snapshot.set(CatalogSnapshot.of(loadAll(), idOf));
+    }
+
+    public void refresh(Long id) {
+        loadAllByIds(List.of(id)).stream()
+                .findFirst()
+                .ifPresentOrElse(this::store, () -> snapshot.updateAndGet(current -> current.without(id)));
+    }
+
+    // Registrado pelo Spring Boot em todo MeterRegistry, como os demais MeterBinder
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(CACHE_METRIC, hits, LongAdder::sum)
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder(CACHE_METRIC, misses, LongAdder::sum)
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    protected Optional<T> cachedById(Long id) {
+        Optional<T> cached = snapshot.get().get(id);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        if (id == null) {
+            return Optional.empty();
+        }
+        return loadAllByIds(List.of(id)).stream()
+                .findFirst()
+                .map(this::store);
+    }
+
+    protected List<T> cachedAllByIds(Collection<Long> ids) {
+        CatalogSnapshot<T> current = snapshot.get();
+        List<T> found = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+
+        for (Long id : ids) {
+            if (id == null) {
+                continue;
+            }
+            current.get(id).ifPresentOrElse(found::add, () -> missing.add(id));
+        }
+
+        if (missing.isEmpty()) {
+            hits.increment();
+            return found;
+        }
+
+        misses.increment();
+        loadAllByIds(missing).stream()
+                .map(this::store)
+                .forEach(found::add);
+        return found;
+    }
+
+    protected List<T> cachedByFilter(Predicate<T> filter, Supplier<List<T>> fallback) {
+        CatalogSnapshot<T> current = snapshot.get();
+        if (!current.isComplete()) {
+            misses.increment();
+            return fallback.get();
+        }
+
+        hits.increment();
+        return current.values().stream()
+                .filter(filter)
+                .toList();
+    }
+
+    protected T store(T value) {
+        snapshot.updateAndGet(current -> current.with(value));
+        return value;
+    }
+}
@@ -0,0 +1,36 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.adapters.driven.infra.cache.CatalogChangedEvent.CatalogItemType;
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.ConfirmingPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class CatalogChangePublisher {
+
+    public static final String CATALOG_EXCHANGE = "catalog.exchange";
+
+    private final ConfirmingPublisher publisher;
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicLong version = new AtomicLong();
+
+    public void publish(CatalogItemType type, Long id) {
+        var event = new CatalogChangedEvent(type, id, version.incrementAndGet(), origin);
+        // Evento perdido é detectado pela lacuna de versão nas outras réplicas, que recarregam o catálogo
+        publisher.convertAndPublish(CATALOG_EXCHANGE, "", event)
+                .exceptionally(error -> {
+                    log.warn("Falha ao publicar mudança do catálogo {}: {}", event, error.getMessage());
+                    return null;
+                });
+    }
+
+    public String origin() {
+        return origin;
+    }
+}
@@ -0,0 +1,13 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+public record CatalogChangedEvent(
+        CatalogItemType type,
+        Long id,
+        long version,
+        String origin
+) {
+    public enum CatalogItemType {
+        PRODUCT,
+        ADD_ON
+    }
+}
@@ -0,0 +1,38 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogChangedListener {
+
+    private final CatalogChangePublisher publisher;
+    private final ProductCatalogCacheAdapter productCache;
+    private final AddOnCatalogCacheAdapter addOnCache;
+    private final Map<String, Long> lastVersionByOrigin = new ConcurrentHashMap<>();
+
+    @RabbitListener(queues = "#{catalogChangedQueue.name}")
+    public void handleCatalogChanged(CatalogChangedEvent event) {
+        if (publisher.origin().equals(event.origin())) {
+            return;
+        }
+
+        Long previous = lastVersionByOrigin.put(event.origin(), event.version());
+        if (previous != null && event.version() > previous + 1) {
+            // Evento perdido desta origem: não dá para saber o que mudou, recarrega tudo
+            productCache.reload();
+            addOnCache.reload();
+            return;
+        }
+
+        switch (event.type()) {
+            case PRODUCT -> productCache.refresh(event.id());
+            case ADD_ON -> addOnCache.refresh(event.id());
+        }
+    }
+}
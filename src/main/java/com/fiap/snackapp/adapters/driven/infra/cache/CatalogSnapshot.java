@@ -0,0 +1,54 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+final class CatalogSnapshot<T> {
+
+    private final Function<T, Long> idOf;
+    private final TreeMap<Long, T> byId;
+    private final boolean complete;
+
+    private CatalogSnapshot(Function<T, Long> idOf, TreeMap<Long, T> byId, boolean complete) {
+        this.idOf = idOf;
+        this.byId = byId;
+        this.complete = complete;
+    }
+
+    static <T> CatalogSnapshot<T> empty(Function<T, Long> idOf) {
+        return new CatalogSnapshot<>(idOf, new TreeMap<>(), false);
+    }
+
+    static <T> CatalogSnapshot<T> of(Collection<T> values, Function<T, Long> idOf) {
+        TreeMap<Long, T> byId = new TreeMap<>();
+        values.forEach(value -> byId.put(idOf.apply(value), value));
+        return new CatalogSnapshot<>(idOf, byId, true);
+    }
+
+    CatalogSnapshot<T> with(T value) {
+        TreeMap<Long, T> copy = new TreeMap<>(byId);
+        copy.put(idOf.apply(value), value);
+        return new CatalogSnapshot<>(idOf, copy, complete);
+    }
+
+    CatalogSnapshot<T> without(Long id) {
+        TreeMap<Long, T> copy = new TreeMap<>(byId);
+        copy.remove(id);
+        return new CatalogSnapshot<>(idOf, copy, complete);
+    }
+
+    Optional<T> get(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+    }
+
+    Collection<T> values() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+}
@@ -0,0 +1,76 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.adapter.CustomerPersistenceAdapter;
+import com.fiap.snackapp.core.application.repository.CustomerRepositoryPort;
+import com.fiap.snackapp.core.domain.model.CustomerDefinition;
+import com.fiap.snackapp.core.domain.vo.CPF;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Primary
+@Component
+public class CustomerCacheAdapter implements CustomerRepositoryPort, MeterBinder {
+
+    public static final String CACHE_NAME = "customers.by-cpf";
+
+    private static final long MAXIMUM_SIZE = 10_000;
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofHours(12);
+
+    private final CustomerPersistenceAdapter delegate;
+    private final Cache<Long, CustomerDefinition> byCpf = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+            .recordStats()
+            .build();
+
+    public CustomerCacheAdapter(CustomerPersistenceAdapter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CustomerDefinition save(CustomerDefinition customer) {
+        CustomerDefinition saved = delegate.save(customer);
+        byCpf.put(saved.cpf().asLong(), saved);
+        return saved;
+    }
+
+    @Override
+    public CustomerDefinition saveIfAbsent(CustomerDefinition customer) {
+        CustomerDefinition saved = delegate.saveIfAbsent(customer);
+        byCpf.put(saved.cpf().asLong(), saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<CustomerDefinition> findByCpf(CPF cpf) {
+        long key = cpf.asLong();
+        CustomerDefinition cached = byCpf.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        // Ausências não são guardadas: o cliente costuma ser criado logo em seguida
+        Optional<CustomerDefinition> found = delegate.findByCpf(cpf);
+        found.ifPresent(customer -> byCpf.put(key, customer));
+        return found;
+    }
+
+    // cache.gets{result=hit|miss}, cache.size e cache.evictions com a tag cache=customers.by-cpf
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byCpf, CACHE_NAME);
+    }
+
+    public CacheStats stats() {
+        return byCpf.stats();
+    }
+}
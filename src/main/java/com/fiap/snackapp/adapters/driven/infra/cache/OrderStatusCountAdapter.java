@@ -0,0 +1,218 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.adapter.OrderPersistenceAdapter;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
+import com.fiap.snackapp.core.application.repository.OrderRepositoryPort;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import com.fiap.snackapp.core.domain.model.OrderDefinition;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Log4j2
+@Primary
+@Component
+public class OrderStatusCountAdapter implements OrderRepositoryPort {
+
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final OrderPersistenceAdapter delegate;
+    private final OrderStatusCountPublisher countPublisher;
+    private final Map<OrderStatus, LongAdder> counters = new EnumMap<>(OrderStatus.class);
+    // Escritas entre o início do commit e a aplicação do delta; a recontagem só é confiável sem nenhuma
+    private final AtomicInteger committing = new AtomicInteger();
+    private volatile Reconciliation reconciling;
+
+    public OrderStatusCountAdapter(OrderPersistenceAdapter delegate, OrderStatusCountPublisher countPublisher) {
+        this.delegate = delegate;
+        this.countPublisher = countPublisher;
+        for (OrderStatus status : OrderStatus.values()) {
+            counters.put(status, new LongAdder());
+        }
+    }
+
+    @Override
+    public OrderDefinition save(OrderDefinition order) {
+        boolean created = order.getId() == null;
+        return write(() -> delegate.save(order),
+                saved -> created ? Map.of(saved.getStatus(), 1L) : Map.of());
+    }
+
+    @Override
+    public Optional<OrderDefinition> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<OrderDefinition> findAllByIds(Collection<Long> ids) {
+        return delegate.findAllByIds(ids);
+    }
+
+    @Override
+    public boolean updateStatus(Long id, Collection<OrderStatus> expectedStatus, OrderStatus newStatus) {
+        // Com um único predecessor o status anterior já é conhecido; com mais de um (só PAGAMENTO_PENDENTE)
+        // o delegate trava a linha e devolve o status de onde o pedido saiu
+        if (expectedStatus.size() == 1) {
+            OrderStatus previous = expectedStatus.iterator().next();
+            return write(() -> delegate.updateStatus(id, expectedStatus, newStatus),
+                    updated -> updated ? moved(List.of(previous), newStatus) : Map.of());
+        }
+        return !updateStatuses(List.of(id), expectedStatus, newStatus).isEmpty();
+    }
+
+    @Override
+    public Map<Long, OrderStatus> updateStatuses(Collection<Long> ids, Collection<OrderStatus> expectedStatus, OrderStatus newStatus) {
+        return write(() -> delegate.updateStatuses(ids, expectedStatus, newStatus),
+                previous -> moved(previous.values(), newStatus));
+    }
+
+    @Override
+    public Map<Long, OrderStatus> updatePaymentDetails(List<OrderPaymentCreatedMessageResponse> payments) {
+        return delegate.updatePaymentDetails(payments);
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        counters.forEach((status, counter) -> counts.put(status, counter.sum()));
+        return counts;
+    }
+
+    // Transições das outras réplicas, recebidas pelo fanout
+    public void applyRemote(Map<OrderStatus, Long> deltas) {
+        committing.incrementAndGet();
+        try {
+            markOverlap();
+            add(deltas);
+        } finally {
+            committing.decrementAndGet();
+        }
+    }
+
+    // Corrige o que o fanout não entregou. A contagem do banco só substitui a tabela quando nenhum
+    // delta foi aplicado durante a leitura: um commit concorrente pode ou não estar no GROUP BY, e
+    // somá-lo de novo (ou descartá-lo) desalinharia a tabela até a próxima recontagem
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${snackapp.orders.status-count.reconcile-interval:PT5M}",
+            initialDelayString = "${snackapp.orders.status-count.reconcile-interval:PT5M}")
+    public synchronized void reconcile() {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            var reconciliation = new Reconciliation();
+            reconciling = reconciliation;
+            try {
+                boolean busy = committing.get() > 0;
+                Map<OrderStatus, Long> before = countByStatus();
+                Map<OrderStatus, Long> persisted = delegate.countByStatus();
+                if (!busy && !reconciliation.overlapped) {
+                    // Diferença em relação ao instantâneo: deltas aplicados depois da leitura são preservados
+                    counters.forEach((status, counter) ->
+                            counter.add(persisted.getOrDefault(status, 0L) - before.get(status)));
+                    return;
+                }
+            } finally {
+                reconciling = null;
+            }
+        }
+        log.debug("Recontagem de pedidos por status adiada: escritas concorrentes em {} tentativas", RECONCILE_ATTEMPTS);
+    }
+
+    private <T> T write(Supplier<T> operation, Function<T, Map<OrderStatus, Long>> deltasOf) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            T result = operation.get();
+            Map<OrderStatus, Long> deltas = deltasOf.apply(result);
+            if (!deltas.isEmpty()) {
+                TransactionSynchronizationManager.registerSynchronization(new CountSynchronization(deltas));
+            }
+            return result;
+        }
+        // Sem transação o commit acontece dentro do delegate: a escrita inteira conta como em andamento
+        committing.incrementAndGet();
+        try {
+            markOverlap();
+            T result = operation.get();
+            apply(deltasOf.apply(result));
+            return result;
+        } finally {
+            committing.decrementAndGet();
+        }
+    }
+
+    private static Map<OrderStatus, Long> moved(Collection<OrderStatus> previous, OrderStatus newStatus) {
+        Map<OrderStatus, Long> deltas = new EnumMap<>(OrderStatus.class);
+        previous.forEach(status -> {
+            deltas.merge(status, -1L, Long::sum);
+            deltas.merge(newStatus, 1L, Long::sum);
+        });
+        return deltas;
+    }
+
+    private void apply(Map<OrderStatus, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        add(deltas);
+        countPublisher.publish(deltas);
+    }
+
+    private void add(Map<OrderStatus, Long> deltas) {
+        deltas.forEach((status, delta) -> counters.get(status).add(delta));
+    }
+
+    private void markOverlap() {
+        var reconciliation = reconciling;
+        if (reconciliation != null) {
+            reconciliation.overlapped = true;
+        }
+    }
+
+    private static final class Reconciliation {
+        private volatile boolean overlapped;
+    }
+
+    // Transições desfeitas por rollback não podem mexer na contagem: o delta só é aplicado após o
+    // commit, e o intervalo entre os dois fica visível para a recontagem
+    private final class CountSynchronization implements TransactionSynchronization {
+
+        private final Map<OrderStatus, Long> deltas;
+        private boolean committingSeen;
+
+        private CountSynchronization(Map<OrderStatus, Long> deltas) {
+            this.deltas = deltas;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            committingSeen = true;
+            committing.incrementAndGet();
+            markOverlap();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                if (status == STATUS_COMMITTED) {
+                    apply(deltas);
+                }
+            } finally {
+                if (committingSeen) {
+                    committing.decrementAndGet();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+
+import java.util.Map;
+
+public record OrderStatusCountEvent(
+        Map<OrderStatus, Long> deltas,
+        long version,
+        String origin
+) {
+}
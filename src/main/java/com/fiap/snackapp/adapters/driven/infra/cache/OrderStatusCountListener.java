@@ -0,0 +1,32 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class OrderStatusCountListener {
+
+    private final OrderStatusCountPublisher publisher;
+    private final OrderStatusCountAdapter counts;
+    private final Map<String, Long> lastVersionByOrigin = new ConcurrentHashMap<>();
+
+    @RabbitListener(queues = "#{orderStatusCountQueue.name}")
+    public void handleCountChanged(OrderStatusCountEvent event) {
+        if (publisher.origin().equals(event.origin())) {
+            return;
+        }
+
+        counts.applyRemote(event.deltas());
+
+        Long previous = lastVersionByOrigin.put(event.origin(), event.version());
+        if (previous != null && event.version() > previous + 1) {
+            // Variação perdida desta origem: não dá para saber o que mudou, reconta no banco
+            counts.reconcile();
+        }
+    }
+}
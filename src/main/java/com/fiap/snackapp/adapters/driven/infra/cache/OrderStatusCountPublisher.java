@@ -0,0 +1,37 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.ConfirmingPublisher;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class OrderStatusCountPublisher {
+
+    public static final String ORDER_STATUS_COUNT_EXCHANGE = "order.status.count.exchange";
+
+    private final ConfirmingPublisher publisher;
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicLong version = new AtomicLong();
+
+    public void publish(Map<OrderStatus, Long> deltas) {
+        var event = new OrderStatusCountEvent(deltas, version.incrementAndGet(), origin);
+        // Evento perdido é detectado pela lacuna de versão nas outras réplicas, que recontam no banco
+        publisher.convertAndPublish(ORDER_STATUS_COUNT_EXCHANGE, "", event)
+                .exceptionally(error -> {
+                    log.warn("Falha ao publicar variação da contagem de pedidos {}: {}", deltas, error.getMessage());
+                    return null;
+                });
+    }
+
+    public String origin() {
+        return origin;
+    }
+}
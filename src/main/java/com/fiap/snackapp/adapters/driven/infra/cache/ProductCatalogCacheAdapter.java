@@ -0,0 +1,71 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.adapters.driven.infra.cache.CatalogChangedEvent.CatalogItemType;
+import com.fiap.snackapp.adapters.driven.infra.persistence.adapter.ProductPersistenceAdapter;
+import com.fiap.snackapp.core.application.dto.request.ProductUpdateRequest;
+import com.fiap.snackapp.core.application.repository.ProductRepositoryPort;
+import com.fiap.snackapp.core.domain.enums.Category;
+import com.fiap.snackapp.core.domain.model.ProductDefinition;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Primary
+@Component
+public class ProductCatalogCacheAdapter extends CatalogCache<ProductDefinition> implements ProductRepositoryPort {
+
+    private final ProductPersistenceAdapter delegate;
+    private final CatalogChangePublisher publisher;
+
+    public ProductCatalogCacheAdapter(ProductPersistenceAdapter delegate, CatalogChangePublisher publisher) {
+        super("product", ProductDefinition::id);
+        this.delegate = delegate;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public ProductDefinition save(ProductDefinition productDefinition) {
+        return changed(store(delegate.save(productDefinition)));
+    }
+
+    @Override
+    public Optional<ProductDefinition> findById(Long id) {
+        return cachedById(id);
+    }
+
+    @Override
+    public List<ProductDefinition> findAllByIds(Collection<Long> ids) {
+        return cachedAllByIds(ids);
+    }
+
+    @Override
+    public List<ProductDefinition> findByFilters(Boolean active, Category category) {
+        return cachedByFilter(
+                product -> (active == null || product.active() == active)
+                        && (category == null || product.category() == category),
+                () -> delegate.findByFilters(active, category));
+    }
+
+    @Override
+    public ProductDefinition update(Long id, ProductUpdateRequest productUpdateRequest) {
+        return changed(store(delegate.update(id, productUpdateRequest)));
+    }
+
+    @Override
+    protected List<ProductDefinition> loadAll() {
+        return delegate.findByFilters(null, null);
+    }
+
+    @Override
+    protected List<ProductDefinition> loadAllByIds(Collection<Long> ids) {
+        return delegate.findAllByIds(ids);
+    }
+
+    private ProductDefinition changed(ProductDefinition value) {
+        publisher.publish(CatalogItemType.PRODUCT, value.id());
+        return value;
+    }
+}
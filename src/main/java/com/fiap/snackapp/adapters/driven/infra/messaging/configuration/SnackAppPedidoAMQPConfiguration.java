@@ -1,17 +1,35 @@
 package com.fiap.snackapp.adapters.driven.infra.messaging.configuration;
 
+import com.fiap.snackapp.adapters.driven.infra.cache.CatalogChangePublisher;
+import com.fiap.snackapp.adapters.driven.infra.cache.OrderStatusCountPublisher;
+import com.fiap.snackapp.adapters.driven.infra.messaging.listener.QueueDepthAutoscaler;
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.OrderStatusStreamPublisher;
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.PaymentQrCodeReadyPublisher;
+import com.fiap.snackapp.adapters.driven.infra.messaging.retry.TieredRetryRecoverer;
+import org.aopalliance.aop.Advice;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class SnackAppPedidoAMQPConfiguration {
+
+    public static final String PAYMENT_CREATED_LISTENER = "paymentCreatedListener";
+    public static final String PAYMENT_STATUS_LISTENER = "paymentStatusListener";
+    public static final String PAYMENT_CREATED_QUEUE = "payment.created.queue";
+    public static final String PAYMENT_STATUS_QUEUE = "order.payment.status.queue";
+
     @Bean
     public Jackson2JsonMessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -22,9 +40,89 @@ public class SnackAppPedidoAMQPConfiguration {
                                          Jackson2JsonMessageConverter messageConverter) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(messageConverter);
+        // Mensagem sem fila de destino volta para o ConfirmingPublisher em vez de ser descartada
+        rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
 
+    @Bean
+    public SimpleRabbitListenerContainerFactory paymentCreatedContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            QueueDepthAutoscaler autoscaler,
+            TieredRetryRecoverer retryRecoverer,
+            @Value("${snackapp.amqp.listeners.payment-created.min-consumers:1}") int minConsumers,
+            @Value("${snackapp.amqp.listeners.payment-created.max-consumers:8}") int maxConsumers,
+            @Value("${snackapp.amqp.listeners.payment-created.prefetch:20}") int prefetch,
+            @Value("${snackapp.amqp.listeners.payment-created.batch.enabled:false}") boolean batchEnabled,
+            @Value("${snackapp.amqp.listeners.payment-created.batch.size:100}") int batchSize,
+            @Value("${snackapp.amqp.listeners.payment-created.batch.timeout:PT0.1S}") Duration batchTimeout) {
+        Advice timing = autoscaler.register(PAYMENT_CREATED_LISTENER, PAYMENT_CREATED_QUEUE, minConsumers, maxConsumers);
+        if (batchEnabled) {
+            return batchContainerFactory(configurer, connectionFactory, prefetch, minConsumers, batchSize, batchTimeout, timing);
+        }
+        return scaledContainerFactory(configurer, connectionFactory, prefetch, minConsumers, timing,
+                retryRecoverer.interceptor());
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory paymentStatusContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            QueueDepthAutoscaler autoscaler,
+            TieredRetryRecoverer retryRecoverer,
+            @Value("${snackapp.amqp.listeners.payment-status.min-consumers:1}") int minConsumers,
+            @Value("${snackapp.amqp.listeners.payment-status.max-consumers:8}") int maxConsumers,
+            @Value("${snackapp.amqp.listeners.payment-status.prefetch:20}") int prefetch,
+            @Value("${snackapp.amqp.listeners.payment-status.batch.enabled:false}") boolean batchEnabled,
+            @Value("${snackapp.amqp.listeners.payment-status.batch.size:100}") int batchSize,
+            @Value("${snackapp.amqp.listeners.payment-status.batch.timeout:PT0.1S}") Duration batchTimeout) {
+        Advice timing = autoscaler.register(PAYMENT_STATUS_LISTENER, PAYMENT_STATUS_QUEUE, minConsumers, maxConsumers);
+        if (batchEnabled) {
+            return batchContainerFactory(configurer, connectionFactory, prefetch, minConsumers, batchSize, batchTimeout, timing);
+        }
+        return scaledContainerFactory(configurer, connectionFactory, prefetch, minConsumers, timing,
+                retryRecoverer.interceptor());
+    }
+
+    private SimpleRabbitListenerContainerFactory scaledContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                        ConnectionFactory connectionFactory,
+                                                                        int prefetch,
+                                                                        int minConsumers,
+                                                                        Advice timing,
+                                                                        Advice retry) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPrefetchCount(prefetch);
+        // Sem maxConcurrentConsumers: quem muda a quantidade de consumidores é o QueueDepthAutoscaler
+        factory.setConcurrentConsumers(minConsumers);
+        // Falhas saem da fila principal para as filas de espera do TieredRetryRecoverer
+        factory.setAdviceChain(timing, retry);
+        return factory;
+    }
+
+    // Lote de até batchSize mensagens, fechado antes se a fila ficar batchTimeout sem entregar;
+    // o BatchMessageListener confirma ou encaminha cada mensagem individualmente
+    private SimpleRabbitListenerContainerFactory batchContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                       ConnectionFactory connectionFactory,
+                                                                       int prefetch,
+                                                                       int minConsumers,
+                                                                       int batchSize,
+                                                                       Duration batchTimeout,
+                                                                       Advice timing) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setConcurrentConsumers(minConsumers);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(batchTimeout.toMillis());
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setAdviceChain(timing);
+        return factory;
+    }
+
     @Bean
     public DirectExchange paymentExchange() {
         return new DirectExchange("payment.exchange");
@@ -45,7 +143,12 @@ public class SnackAppPedidoAMQPConfiguration {
 
     @Bean
     public Queue paymentCreatedQueue() {
-        return new Queue("payment.created.queue", true);
+        return new Queue(PAYMENT_CREATED_QUEUE, true);
+    }
+
+    @Bean
+    public Declarables paymentCreatedRetryQueues(TieredRetryRecoverer retryRecoverer) {
+        return retryRecoverer.register(PAYMENT_CREATED_QUEUE);
     }
 
     @Bean
@@ -63,7 +166,12 @@ public class SnackAppPedidoAMQPConfiguration {
 
     @Bean
     public Queue paymentStatusUpdatedQueue() {
-        return new Queue("order.payment.status.queue", true);
+        return new Queue(PAYMENT_STATUS_QUEUE, true);
+    }
+
+    @Bean
+    public Declarables paymentStatusRetryQueues(TieredRetryRecoverer retryRecoverer) {
+        return retryRecoverer.register(PAYMENT_STATUS_QUEUE);
     }
 
     @Bean
@@ -74,6 +182,78 @@ public class SnackAppPedidoAMQPConfiguration {
                 .with("order.payment.status.updated");
     }
 
+    @Bean
+    public FanoutExchange catalogExchange() {
+        return new FanoutExchange(CatalogChangePublisher.CATALOG_EXCHANGE);
+    }
+
+    @Bean
+    public Queue catalogChangedQueue() {
+        // Fila exclusiva por instância: cada réplica recebe todas as mudanças do catálogo
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding catalogChangedBinding() {
+        return BindingBuilder
+                .bind(catalogChangedQueue())
+                .to(catalogExchange());
+    }
+
+    @Bean
+    public FanoutExchange orderStatusCountExchange() {
+        return new FanoutExchange(OrderStatusCountPublisher.ORDER_STATUS_COUNT_EXCHANGE);
+    }
+
+    @Bean
+    public Queue orderStatusCountQueue() {
+        // Uma fila por instância: cada réplica mantém a própria tabela de contagem por status
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding orderStatusCountBinding() {
+        return BindingBuilder
+                .bind(orderStatusCountQueue())
+                .to(orderStatusCountExchange());
+    }
+
+    @Bean
+    public FanoutExchange paymentQrCodeReadyExchange() {
+        return new FanoutExchange(PaymentQrCodeReadyPublisher.QR_CODE_READY_EXCHANGE);
+    }
+
+    @Bean
+    public Queue paymentQrCodeReadyQueue() {
+        // Uma fila por instância: o long-poll do kiosk pode estar esperando em qualquer réplica
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding paymentQrCodeReadyBinding() {
+        return BindingBuilder
+                .bind(paymentQrCodeReadyQueue())
+                .to(paymentQrCodeReadyExchange());
+    }
+
+    @Bean
+    public FanoutExchange orderStatusStreamExchange() {
+        return new FanoutExchange(OrderStatusStreamPublisher.ORDER_STATUS_STREAM_EXCHANGE);
+    }
+
+    @Bean
+    public Queue orderStatusStreamQueue() {
+        // Uma fila por instância: cada réplica repassa aos próprios assinantes do SSE
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding orderStatusStreamBinding() {
+        return BindingBuilder
+                .bind(orderStatusStreamQueue())
+                .to(orderStatusStreamExchange());
+    }
+
     @Bean
     public RabbitAdmin createRabbitAdmin(ConnectionFactory conn) {
         return new RabbitAdmin(conn);
@@ -0,0 +1,126 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.dedupe;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.repository.SpringDataProcessedMessageJpaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+@Log4j2
+@Component
+public class ProcessedMessageStore {
+
+    private static final String METRIC = "snackapp.amqp.dedupe";
+
+    private final SpringDataProcessedMessageJpaRepository jpaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final Cache<String, Boolean> recent;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ProcessedMessageStore(SpringDataProcessedMessageJpaRepository jpaRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${snackapp.amqp.dedupe.cache-size:100000}") long cacheSize,
+                                 @Value("${snackapp.amqp.dedupe.retention:P7D}") Duration retention) {
+        this.jpaRepository = jpaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .build();
+        this.hits = Counter.builder(METRIC).tag("result", "duplicate").register(meterRegistry);
+        this.misses = Counter.builder(METRIC).tag("result", "new").register(meterRegistry);
+    }
+
+    // Executa a ação uma única vez por messageId; o marcador é gravado na mesma transação da ação,
+    // então uma falha desfaz os dois e a reentrega volta a processar
+    public boolean processOnce(String messageId, Runnable action) {
+        if (recent.getIfPresent(messageId) != null) {
+            return duplicate(messageId);
+        }
+
+        Boolean processed = transactionTemplate.execute(status -> {
+            if (jpaRepository.insertIfAbsent(messageId, Instant.now()) == 0) {
+                return false;
+            }
+            action.run();
+            return true;
+        });
+
+        recent.put(messageId, Boolean.TRUE);
+        if (!Boolean.TRUE.equals(processed)) {
+            return duplicate(messageId);
+        }
+        misses.increment();
+        return true;
+    }
+
+    // Versão em lote: marcadores e ação em uma única transação. A ação recebe só os ids inéditos e
+    // devolve os que falharam, cujos marcadores são removidos para que a reentrega volte a processar
+    public Set<String> processAllOnce(Collection<String> messageIds, Function<Set<String>, Set<String>> action) {
+        Set<String> candidates = new LinkedHashSet<>();
+        for (String messageId : messageIds) {
+            if (recent.getIfPresent(messageId) != null || !candidates.add(messageId)) {
+                duplicate(messageId);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> claimed = new LinkedHashSet<>();
+        Set<String> failed = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            for (String messageId : candidates) {
+                if (jpaRepository.insertIfAbsent(messageId, now) > 0) {
+                    claimed.add(messageId);
+                } else {
+                    duplicate(messageId);
+                }
+            }
+            if (claimed.isEmpty()) {
+                return Set.<String>of();
+            }
+            Set<String> rejected = action.apply(Collections.unmodifiableSet(claimed));
+            if (!rejected.isEmpty()) {
+                jpaRepository.deleteAllByIdInBatch(rejected);
+            }
+            return rejected;
+        });
+
+        Set<String> result = failed == null ? Set.of() : failed;
+        candidates.stream()
+                .filter(messageId -> !result.contains(messageId))
+                .forEach(messageId -> recent.put(messageId, Boolean.TRUE));
+        misses.increment(claimed.size() - (double) result.size());
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${snackapp.amqp.dedupe.cleanup-interval:PT1H}")
+    public void purgeExpired() {
+        transactionTemplate.executeWithoutResult(status -> jpaRepository.deleteProcessedBefore(Instant.now().minus(retention)));
+    }
+
+    private boolean duplicate(String messageId) {
+        hits.increment();
+        log.debug("Mensagem duplicada ignorada: {}", messageId);
+        return false;
+    }
+}
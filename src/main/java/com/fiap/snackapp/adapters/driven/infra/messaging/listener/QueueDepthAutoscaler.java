@@ -0,0 +1,156 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.listener;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Log4j2
+@Component
+public class QueueDepthAutoscaler {
+
+    static final String CONSUMERS_GAUGE = "snackapp.amqp.listener.consumers";
+    static final String QUEUE_DEPTH_GAUGE = "snackapp.amqp.listener.queue.depth";
+    static final String UTILIZATION_GAUGE = "snackapp.amqp.listener.utilization";
+
+    private final RabbitListenerEndpointRegistry endpointRegistry;
+    private final AmqpAdmin amqpAdmin;
+    private final MeterRegistry meterRegistry;
+    private final long targetDrainNanos;
+    private final Map<String, ScaledListener> listeners = new ConcurrentHashMap<>();
+
+    public QueueDepthAutoscaler(RabbitListenerEndpointRegistry endpointRegistry,
+                                AmqpAdmin amqpAdmin,
+                                MeterRegistry meterRegistry,
+                                @Value("${snackapp.amqp.listeners.target-drain-time:PT5S}") Duration targetDrainTime) {
+        this.endpointRegistry = endpointRegistry;
+        this.amqpAdmin = amqpAdmin;
+        this.meterRegistry = meterRegistry;
+        this.targetDrainNanos = targetDrainTime.toNanos();
+    }
+
+    // Registra a fila do listener e devolve o advice que mede o tempo de processamento de cada mensagem
+    public MethodInterceptor register(String listenerId, String queue, int minConsumers, int maxConsumers) {
+        var listener = new ScaledListener(queue, minConsumers, maxConsumers, System.nanoTime());
+        listeners.put(listenerId, listener);
+
+        Gauge.builder(CONSUMERS_GAUGE, listener, l -> l.consumers).tag("listener", listenerId).register(meterRegistry);
+        Gauge.builder(QUEUE_DEPTH_GAUGE, listener, l -> l.queueDepth).tag("listener", listenerId).register(meterRegistry);
+        Gauge.builder(UTILIZATION_GAUGE, listener, l -> l.utilization).tag("listener", listenerId).register(meterRegistry);
+
+        return invocation -> {
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                listener.record(System.nanoTime() - start, messagesIn(invocation.getArguments()));
+            }
+        };
+    }
+
+    // Listener em lote recebe (Channel, List<Message>): o tempo médio continua sendo por mensagem
+    private static int messagesIn(Object[] arguments) {
+        return arguments != null && arguments.length > 1 && arguments[1] instanceof List<?> batch
+                ? Math.max(1, batch.size())
+                : 1;
+    }
+
+    @Scheduled(fixedDelayString = "${snackapp.amqp.listeners.autoscale-interval:PT10S}")
+    public void rescale() {
+        rescale(System.nanoTime());
+    }
+
+    void rescale(long now) {
+        listeners.forEach((listenerId, listener) -> {
+            MessageListenerContainer container = endpointRegistry.getListenerContainer(listenerId);
+            if (!(container instanceof SimpleMessageListenerContainer simple) || !container.isRunning()) {
+                return;
+            }
+
+            QueueInformation queue = amqpAdmin.getQueueInfo(listener.queue);
+            int desired = queue == null
+                    ? listener.observe(0, 0, now, targetDrainNanos)
+                    : listener.observe(queue.getMessageCount(), queue.getConsumerCount(), now, targetDrainNanos);
+            if (desired != listener.consumers) {
+                log.info("Listener {}: {} -> {} consumidores (fila={}, utilização={})",
+                        listenerId, listener.consumers, desired, listener.queueDepth, String.format("%.2f", listener.utilization));
+                simple.setConcurrentConsumers(desired);
+                listener.consumers = desired;
+            }
+        });
+    }
+
+    static final class ScaledListener {
+
+        private final String queue;
+        private final int minConsumers;
+        private final int maxConsumers;
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder processed = new LongAdder();
+
+        private volatile int consumers;
+        private volatile long queueDepth;
+        private volatile double utilization;
+        private double meanProcessingNanos;
+        private long lastObservation;
+
+        ScaledListener(String queue, int minConsumers, int maxConsumers, long now) {
+            this.queue = queue;
+            this.minConsumers = minConsumers;
+            this.maxConsumers = maxConsumers;
+            this.consumers = minConsumers;
+            this.lastObservation = now;
+        }
+
+        void record(long nanos, int messages) {
+            busyNanos.add(nanos);
+            processed.add(messages);
+        }
+
+        int observe(long depth, int brokerConsumers, long now, long targetDrainNanos) {
+            long busy = busyNanos.sumThenReset();
+            long count = processed.sumThenReset();
+            long elapsed = Math.max(1, now - lastObservation);
+            lastObservation = now;
+
+            queueDepth = depth;
+            utilization = Math.min(1.0, (double) busy / ((double) elapsed * consumers));
+            if (count > 0) {
+                meanProcessingNanos = (double) busy / count;
+            }
+
+            int needed;
+            if (depth == 0) {
+                needed = minConsumers;
+            } else if (meanProcessingNanos == 0) {
+                // Fila acumulando sem nenhuma mensagem medida ainda: sobe um consumidor por ciclo
+                needed = consumers + 1;
+            } else {
+                // A profundidade é da fila inteira, consumida por todas as réplicas: esta assume a parte
+                // proporcional aos seus consumidores entre os que o broker enxerga, e mínimo/máximo
+                // continuam valendo por réplica
+                double share = brokerConsumers > consumers ? (double) consumers / brokerConsumers : 1.0;
+                // Consumidores suficientes para esvaziar essa parte do acumulado dentro do tempo alvo
+                needed = (int) Math.ceil(depth * share * meanProcessingNanos / targetDrainNanos);
+            }
+
+            // Sobe de uma vez para atender o pico; desce um por ciclo para não oscilar
+            int desired = needed >= consumers ? needed : consumers - 1;
+            return Math.clamp(desired, minConsumers, maxConsumers);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.outbox;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.ConfirmingPublisher;
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.OutboxMessageEntity;
+import com.fiap.snackapp.adapters.driven.infra.persistence.repository.SpringDataOutboxJpaRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Log4j2
+@Component
+public class OutboxRelay {
+
+    private final SpringDataOutboxJpaRepository jpaRepository;
+    private final ConfirmingPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+
+    public OutboxRelay(SpringDataOutboxJpaRepository jpaRepository,
+                       ConfirmingPublisher publisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${snackapp.outbox.batch-size:100}") int batchSize,
+                       @Value("${snackapp.outbox.max-batches-per-run:10}") int maxBatchesPerRun,
+                       @Value("${snackapp.outbox.retention:PT24H}") Duration retention) {
+        this.jpaRepository = jpaRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${snackapp.outbox.relay-interval:PT0.2S}")
+    public void relay() {
+        // Lote cheio indica fila acumulada: continua drenando sem esperar o próximo ciclo, mas
+        // devolve a thread do agendador a cada maxBatchesPerRun lotes (broker lento segura cada lote
+        // até o prazo do confirm)
+        int relayed;
+        int batches = 0;
+        do {
+            relayed = relayBatch();
+            batches++;
+        } while (relayed == batchSize && batches < maxBatchesPerRun);
+    }
+
+    int relayBatch() {
+        try {
+            Integer relayed = transactionTemplate.execute(status -> {
+                List<OutboxMessageEntity> pending = jpaRepository.findPending(Limit.of(batchSize));
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+
+                // Publica o lote inteiro sem esperar mensagem a mensagem; só então aguarda os confirms
+                List<CompletableFuture<Void>> confirms = pending.stream()
+                        .map(entity -> publisher.publish(entity.getExchange(), entity.getRoutingKey(), toMessage(entity)))
+                        .toList();
+
+                List<Long> confirmed = new ArrayList<>(pending.size());
+                for (int i = 0; i < pending.size(); i++) {
+                    if (confirms.get(i).handle((ok, error) -> error == null).join()) {
+                        confirmed.add(pending.get(i).getId());
+                    }
+                }
+                if (confirmed.size() < pending.size()) {
+                    // Não confirmadas continuam pendentes e voltam no próximo ciclo
+                    log.warn("Outbox: {} de {} mensagens sem confirmação do broker", pending.size() - confirmed.size(), pending.size());
+                }
+
+                if (!confirmed.isEmpty()) {
+                    jpaRepository.markSent(confirmed, Instant.now());
+                }
+                return confirmed.size();
+            });
+            return relayed == null ? 0 : relayed;
+        } catch (AmqpException e) {
+            // Linhas continuam pendentes e voltam no próximo ciclo; consumidores toleram reentrega
+            log.warn("Falha ao publicar lote do outbox: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${snackapp.outbox.cleanup-interval:PT1H}")
+    public void purgeSent() {
+        transactionTemplate.executeWithoutResult(status -> jpaRepository.deleteSentBefore(Instant.now().minus(retention)));
+    }
+
+    private Message toMessage(OutboxMessageEntity entity) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(entity.getContentType());
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setMessageId("outbox-" + entity.getId());
+        if (entity.getTypeId() != null) {
+            properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, entity.getTypeId());
+        }
+        return new Message(entity.getBody().getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
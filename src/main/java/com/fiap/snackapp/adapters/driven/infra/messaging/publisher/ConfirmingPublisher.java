@@ -0,0 +1,135 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.publisher;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+public class ConfirmingPublisher {
+
+    static final String CONFIRM_TIMER = "snackapp.amqp.publish";
+    static final String IN_FLIGHT_GAUGE = "snackapp.amqp.publish.in.flight";
+
+    static final String ACK = "ack";
+    static final String NACK = "nack";
+    static final String RETURNED = "returned";
+    static final String TIMEOUT = "timeout";
+    static final String ERROR = "error";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final long acquireTimeoutMillis;
+    private final long confirmTimeoutMillis;
+    private final Map<String, Timer> confirmTimers = new ConcurrentHashMap<>();
+
+    public ConfirmingPublisher(RabbitTemplate rabbitTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${snackapp.amqp.publisher.max-in-flight:1000}") int maxInFlight,
+                               @Value("${snackapp.amqp.publisher.acquire-timeout:PT5S}") Duration acquireTimeout,
+                               @Value("${snackapp.amqp.publisher.confirm-timeout:PT10S}") Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+        this.confirmTimeoutMillis = confirmTimeout.toMillis();
+        Gauge.builder(IN_FLIGHT_GAUGE, inFlight, permits -> maxInFlight - permits.availablePermits())
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Void> publish(String exchange, String routingKey, Message message) {
+        return publish(correlation -> rabbitTemplate.send(exchange, routingKey, message, correlation));
+    }
+
+    public CompletableFuture<Void> convertAndPublish(String exchange, String routingKey, Object payload) {
+        return publish(correlation -> rabbitTemplate.convertAndSend(exchange, routingKey, payload, correlation));
+    }
+
+    private CompletableFuture<Void> publish(Sender sender) {
+        acquire();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CorrelationData correlation = new CorrelationData(UUID.randomUUID().toString());
+
+        // O caller não espera o broker: a permissão só volta quando o confirm (ou o prazo) chega
+        CompletableFuture<Void> result = correlation.getFuture()
+                .orTimeout(confirmTimeoutMillis, TimeUnit.MILLISECONDS)
+                .handle((confirm, error) -> {
+                    inFlight.release();
+                    String outcome = outcomeOf(correlation, confirm, error);
+                    sample.stop(confirmTimers.computeIfAbsent(outcome, this::confirmTimer));
+                    if (!ACK.equals(outcome)) {
+                        throw new AmqpException("Publicação não confirmada pelo broker: "
+                                + describe(outcome, confirm, correlation), error);
+                    }
+                    return null;
+                });
+
+        try {
+            sender.send(correlation);
+        } catch (RuntimeException e) {
+            correlation.getFuture().completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private Timer confirmTimer(String outcome) {
+        return Timer.builder(CONFIRM_TIMER)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void acquire() {
+        try {
+            if (!inFlight.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new AmqpTimeoutException("Limite de mensagens aguardando confirmação atingido");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Publicação interrompida", e);
+        }
+    }
+
+    private static String outcomeOf(CorrelationData correlation, CorrelationData.Confirm confirm, Throwable error) {
+        if (error instanceof TimeoutException) {
+            return TIMEOUT;
+        }
+        if (error != null) {
+            return ERROR;
+        }
+        if (!confirm.isAck()) {
+            return NACK;
+        }
+        // Mensagem sem fila de destino: o broker devolve (mandatory) e ainda assim confirma
+        return correlation.getReturned() != null ? RETURNED : ACK;
+    }
+
+    private static String describe(String outcome, CorrelationData.Confirm confirm, CorrelationData correlation) {
+        return switch (outcome) {
+            case RETURNED -> "devolvida (" + correlation.getReturned().getReplyText() + ")";
+            case NACK -> "nack" + (confirm.getReason() != null ? " (" + confirm.getReason() + ")" : "");
+            default -> outcome;
+        };
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        void send(CorrelationData correlation);
+    }
+}
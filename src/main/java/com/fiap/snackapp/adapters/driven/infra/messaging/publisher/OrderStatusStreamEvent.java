@@ -0,0 +1,12 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.publisher;
+
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+
+public record OrderStatusStreamEvent(
+        Long orderId,
+        OrderStatus status,
+        String qrCodeUrl,
+        String paymentId,
+        String origin
+) {
+}
@@ -0,0 +1,34 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.publisher;
+
+import com.fiap.snackapp.core.application.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class OrderStatusStreamPublisher {
+
+    public static final String ORDER_STATUS_STREAM_EXCHANGE = "order.status.stream.exchange";
+
+    private final ConfirmingPublisher publisher;
+    private final String origin = UUID.randomUUID().toString();
+
+    public void publish(OrderStatusChangedEvent event) {
+        var notice = new OrderStatusStreamEvent(event.orderId(), event.status(), event.qrCodeUrl(), event.paymentId(), origin);
+        // Aviso perdido só some da tela: quem precisa do estado exato recarrega via GET
+        publisher.convertAndPublish(ORDER_STATUS_STREAM_EXCHANGE, "", notice)
+                .exceptionally(error -> {
+                    log.warn("Falha ao repassar às réplicas a mudança de status do pedido {}: {}",
+                            event.orderId(), error.getMessage());
+                    return null;
+                });
+    }
+
+    public String origin() {
+        return origin;
+    }
+}
@@ -0,0 +1,9 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.publisher;
+
+public record PaymentQrCodeReadyEvent(
+        Long orderId,
+        String qrCodeUrl,
+        String paymentId,
+        String origin
+) {
+}
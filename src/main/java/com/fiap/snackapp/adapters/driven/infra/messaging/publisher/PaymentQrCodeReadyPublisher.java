@@ -0,0 +1,32 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.publisher;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class PaymentQrCodeReadyPublisher {
+
+    public static final String QR_CODE_READY_EXCHANGE = "payment.qrcode.ready.exchange";
+
+    private final ConfirmingPublisher publisher;
+    private final String origin = UUID.randomUUID().toString();
+
+    public void publish(Long orderId, String qrCodeUrl, String paymentId) {
+        var event = new PaymentQrCodeReadyEvent(orderId, qrCodeUrl, paymentId, origin);
+        // Aviso perdido só atrasa o kiosk: a próxima espera relê o pedido e já encontra o QR code
+        publisher.convertAndPublish(QR_CODE_READY_EXCHANGE, "", event)
+                .exceptionally(error -> {
+                    log.warn("Falha ao avisar as réplicas do QR code do pedido {}: {}", orderId, error.getMessage());
+                    return null;
+                });
+    }
+
+    public String origin() {
+        return origin;
+    }
+}
@@ -0,0 +1,82 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.retry;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.ConfirmingPublisher;
+import com.fiap.snackapp.core.application.exception.ResourceNotFoundException;
+import com.rabbitmq.client.GetResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+
+@Log4j2
+@Component
+public class DeadLetterReplayer {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ConfirmingPublisher publisher;
+    private final TieredRetryRecoverer retryRecoverer;
+    private final MessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+
+    public DeadLetterReplayer(RabbitTemplate rabbitTemplate,
+                              ConfirmingPublisher publisher,
+                              TieredRetryRecoverer retryRecoverer) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.publisher = publisher;
+        this.retryRecoverer = retryRecoverer;
+    }
+
+    // Move até `limit` mensagens da DLQ de volta para a fila original, zerando as tentativas.
+    // Cada mensagem só é removida da DLQ depois do confirm da republicação.
+    public int replay(String queue, int limit) {
+        if (!retryRecoverer.manages(queue)) {
+            throw new ResourceNotFoundException("Fila não encontrada: " + queue);
+        }
+        String deadLetterQueue = TieredRetryRecoverer.deadLetterQueue(queue);
+
+        Integer replayed = rabbitTemplate.execute(channel -> {
+            int count = 0;
+            while (count < limit) {
+                GetResponse response = channel.basicGet(deadLetterQueue, false);
+                if (response == null) {
+                    break;
+                }
+                long deliveryTag = response.getEnvelope().getDeliveryTag();
+                try {
+                    publisher.publish("", queue, toReplay(response)).join();
+                } catch (CompletionException | AmqpException e) {
+                    channel.basicNack(deliveryTag, false, true);
+                    log.warn("Reprocessamento da DLQ {} interrompido após {} mensagem(ns): {}", deadLetterQueue, count, e.getMessage());
+                    break;
+                }
+                channel.basicAck(deliveryTag, false);
+                count++;
+            }
+            return count;
+        });
+        int total = replayed == null ? 0 : replayed;
+        if (total > 0) {
+            retryRecoverer.count(queue, "replayed", total);
+            log.info("{} mensagem(ns) da DLQ {} devolvidas para {}", total, deadLetterQueue, queue);
+        }
+        return total;
+    }
+
+    private Message toReplay(GetResponse response) {
+        MessageProperties properties = propertiesConverter.toMessageProperties(
+                response.getProps(), response.getEnvelope(), StandardCharsets.UTF_8.name());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.getHeaders().remove(TieredRetryRecoverer.RETRY_COUNT_HEADER);
+        properties.getHeaders().remove(TieredRetryRecoverer.EXCEPTION_TYPE_HEADER);
+        properties.getHeaders().remove(RepublishMessageRecoverer.X_EXCEPTION_MESSAGE);
+        return new Message(response.getBody(), properties);
+    }
+}
@@ -0,0 +1,150 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.retry;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.ConfirmingPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.listener.ConditionalRejectingErrorHandler;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Log4j2
+@Component
+public class TieredRetryRecoverer implements MessageRecoverer {
+
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String EXCEPTION_TYPE_HEADER = "x-exception-type";
+    static final String RETRY_COUNTER = "snackapp.amqp.retry";
+
+    private final ConfirmingPublisher publisher;
+    private final MeterRegistry meterRegistry;
+    private final List<Duration> delays;
+    private final Set<String> queues = ConcurrentHashMap.newKeySet();
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final ConditionalRejectingErrorHandler.DefaultExceptionStrategy fatalExceptions =
+            new ConditionalRejectingErrorHandler.DefaultExceptionStrategy();
+
+    public TieredRetryRecoverer(ConfirmingPublisher publisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${snackapp.amqp.retry.initial-interval:PT1S}") Duration initialInterval,
+                                @Value("${snackapp.amqp.retry.multiplier:5}") double multiplier,
+                                @Value("${snackapp.amqp.retry.tiers:3}") int tiers) {
+        this.publisher = publisher;
+        this.meterRegistry = meterRegistry;
+        this.delays = new ArrayList<>(tiers);
+        double delay = initialInterval.toMillis();
+        for (int tier = 0; tier < tiers; tier++) {
+            delays.add(Duration.ofMillis(Math.round(delay)));
+            delay *= multiplier;
+        }
+    }
+
+    public static String retryQueue(String queue, int tier) {
+        return queue + ".retry." + tier;
+    }
+
+    public static String deadLetterQueue(String queue) {
+        return queue + ".dlq";
+    }
+
+    // Uma fila de espera por nível, sem consumidores: o TTL expira e o broker devolve a mensagem
+    // para a fila original pelo exchange padrão. A fila original não muda de argumentos.
+    public Declarables register(String queue) {
+        queues.add(queue);
+        List<Declarable> declarables = new ArrayList<>();
+        for (int tier = 1; tier <= delays.size(); tier++) {
+            declarables.add(QueueBuilder.durable(retryQueue(queue, tier))
+                    .ttl((int) delays.get(tier - 1).toMillis())
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(queue)
+                    .build());
+        }
+        declarables.add(QueueBuilder.durable(deadLetterQueue(queue)).build());
+        return new Declarables(declarables);
+    }
+
+    public boolean manages(String queue) {
+        return queues.contains(queue);
+    }
+
+    // Uma única tentativa por entrega: a falha vai para o recoverer e a thread do listener
+    // segue para a próxima mensagem, sem backoff em memória
+    public RetryOperationsInterceptor interceptor() {
+        return RetryInterceptorBuilder.stateless()
+                .maxAttempts(1)
+                .recoverer(this)
+                .build();
+    }
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        MessageProperties properties = message.getMessageProperties();
+        String queue = properties.getConsumerQueue();
+        Integer previous = properties.getHeader(RETRY_COUNT_HEADER);
+        int attempt = previous == null ? 1 : previous + 1;
+        Throwable root = rootCause(cause);
+
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setHeader(RETRY_COUNT_HEADER, attempt);
+        properties.setHeader(RepublishMessageRecoverer.X_EXCEPTION_MESSAGE, root.getMessage());
+        properties.setHeader(EXCEPTION_TYPE_HEADER, root.getClass().getName());
+
+        // Erro de conversão não melhora com o tempo: vai direto para a DLQ
+        if (fatalExceptions.isFatal(cause) || attempt > delays.size()) {
+            log.warn("Mensagem {} da fila {} enviada para a DLQ após {} tentativa(s): {}",
+                    properties.getMessageId(), queue, attempt, root.getMessage());
+            send(deadLetterQueue(queue), message);
+            count(queue, "dead_letter", 1);
+            return;
+        }
+
+        log.info("Mensagem {} da fila {} agendada para nova tentativa em {}: {}",
+                properties.getMessageId(), queue, delays.get(attempt - 1), root.getMessage());
+        send(retryQueue(queue, attempt), message);
+        count(queue, "retry", 1);
+    }
+
+    void send(String queue, Message message) {
+        try {
+            // Aguarda o confirm: a entrega original só é confirmada depois que a cópia está no broker
+            publisher.publish("", queue, message).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    void count(String queue, String outcome, int amount) {
+        counters.computeIfAbsent(new CounterKey(queue, outcome), this::register).increment(amount);
+    }
+
+    private Counter register(CounterKey key) {
+        return Counter.builder(RETRY_COUNTER)
+                .tag("queue", key.queue())
+                .tag("outcome", key.outcome())
+                .register(meterRegistry);
+    }
+
+    private static Throwable rootCause(Throwable cause) {
+        Throwable root = cause;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root;
+    }
+
+    private record CounterKey(String queue, String outcome) {
+    }
+}
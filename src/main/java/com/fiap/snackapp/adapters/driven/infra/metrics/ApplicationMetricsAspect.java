@@ -0,0 +1,79 @@
+package com.fiap.snackapp.adapters.driven.infra.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ApplicationMetricsAspect {
+
+    static final String USE_CASE_TIMER = "snackapp.usecase";
+    static final String LISTENER_TIMER = "snackapp.listener";
+    static final String PERSISTENCE_TIMER = "snackapp.persistence";
+
+    private static final String SUCCESS = "SUCCESS";
+    private static final String ERROR = "ERROR";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    // O builder com histograma é caro; cada combinação de tags registra o Timer uma única vez
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.fiap.snackapp.core.application.usecases.OrderUseCase.*(..))"
+            + " || execution(* com.fiap.snackapp.core.application.usecases.ProductUseCase.*(..))"
+            + " || execution(* com.fiap.snackapp.core.application.usecases.CustomerUseCase.*(..))")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(USE_CASE_TIMER, joinPoint);
+    }
+
+    @Around("@annotation(org.springframework.amqp.rabbit.annotation.RabbitListener)")
+    public Object timeListener(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(LISTENER_TIMER, joinPoint);
+    }
+
+    @Around("execution(public * com.fiap.snackapp.adapters.driven.infra.persistence.adapter.*PersistenceAdapter.*(..))")
+    public Object timePersistence(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(PERSISTENCE_TIMER, joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = SUCCESS;
+        String exception = NO_EXCEPTION;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = ERROR;
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            var key = new TimerKey(name, AopUtils.getTargetClass(joinPoint.getTarget()),
+                    joinPoint.getSignature().getName(), outcome, exception);
+            sample.stop(timers.computeIfAbsent(key, this::register));
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder(key.name())
+                .tag("class", key.type().getSimpleName())
+                .tag("method", key.method())
+                .tag("outcome", key.outcome())
+                .tag("exception", key.exception())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record TimerKey(String name, Class<?> type, String method, String outcome, String exception) {
+    }
+}
@@ -13,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +36,13 @@ public class AddOnPersistenceAdapter implements AddOnRepositoryPort {
         return jpaRepository.findById(id).map(mapper::toDomain);
     }
 
+    @Override
+    public List<AddOnDefinition> findAllByIds(Collection<Long> ids) {
+        return jpaRepository.findAllById(ids).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
     @Override
     public List<AddOnDefinition> findByFilters(Boolean active, Category category) {
         Specification<AddOnEntity> spec = AddOnSpecifications.byFilters(active, category);
@@ -25,6 +25,16 @@ public class CustomerPersistenceAdapter implements CustomerRepositoryPort {
         return mapper.toDomain(savedEntity);
     }
 
+    @Override
+    public CustomerDefinition saveIfAbsent(CustomerDefinition customerDefinition) {
+        CustomerEntity entity = mapper.toEntity(customerDefinition);
+        // Em caso de conflito no CPF o INSERT não faz nada e a linha já existente é retornada
+        jpaRepository.insertIfAbsent(entity.getName(), entity.getEmail(), entity.getCpf());
+        return jpaRepository.findByCpf(entity.getCpf())
+                .map(mapper::toDomain)
+                .orElseThrow();
+    }
+
     @Override
     public Optional<CustomerDefinition> findByCpf(CPF cpf) {
         return jpaRepository.findByCpf(cpf.toString())
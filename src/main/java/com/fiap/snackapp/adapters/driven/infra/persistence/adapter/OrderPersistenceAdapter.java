@@ -1,33 +1,107 @@
 package com.fiap.snackapp.adapters.driven.infra.persistence.adapter;
 
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.AddOnEntity;
 import com.fiap.snackapp.adapters.driven.infra.persistence.entity.OrderEntity;
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.OrderItemEntity;
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.ProductEntity;
 import com.fiap.snackapp.adapters.driven.infra.persistence.mapper.OrderPersistenceMapper;
 import com.fiap.snackapp.adapters.driven.infra.persistence.repository.SpringDataOrderJpaRepository;
-import com.fiap.snackapp.adapters.driven.infra.persistence.specification.OrderSpecifications;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
+import com.fiap.snackapp.core.application.exception.ResourceNotFoundException;
 import com.fiap.snackapp.core.application.repository.OrderRepositoryPort;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
 import com.fiap.snackapp.core.domain.model.OrderDefinition;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.jpa.domain.Specification;
+import org.hibernate.Session;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class OrderPersistenceAdapter implements OrderRepositoryPort {
 
+    private static final String UPDATE_PAYMENT_DETAILS =
+            "update orders set qr_code_url = ?, payment_id = ? where id = ?";
+
     private final SpringDataOrderJpaRepository jpaRepository;
     private final OrderPersistenceMapper mapper;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional
     public OrderDefinition save(OrderDefinition order) {
-        OrderEntity entity = mapper.toEntity(order);
-        OrderEntity saved = jpaRepository.save(entity);
-        return mapper.toDomain(saved);
+        if (order.getId() == null) {
+            OrderEntity created = mapper.toEntity(order);
+            attachCatalog(created);
+            OrderEntity saved = jpaRepository.save(created);
+            return mapper.toDomain(saved);
+        }
+
+        // Pedido existente: altera apenas o que mudou no agregado gerenciado
+        OrderEntity entity = jpaRepository.findById(order.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado: " + order.getId()));
+        mapper.mergeInto(entity, order);
+        attachCatalog(entity);
+        jpaRepository.flush();
+        return mapper.toDomain(entity);
+    }
+
+    // Itens novos chegam do mapper com produto e adicionais só com o id; passam a apontar para as
+    // entidades gerenciadas do catálogo (uma consulta por tipo), que o pedido nunca altera
+    private void attachCatalog(OrderEntity entity) {
+        List<OrderItemEntity> newItems = entity.getItems().stream()
+                .filter(item -> !entityManager.contains(item.getProduct()))
+                .toList();
+        if (newItems.isEmpty()) {
+            return;
+        }
+
+        Map<Long, ProductEntity> products = load(ProductEntity.class, ProductEntity::getId,
+                newItems.stream().map(item -> item.getProduct().getId()));
+        Map<Long, AddOnEntity> addOns = load(AddOnEntity.class, AddOnEntity::getId,
+                newItems.stream()
+                        .flatMap(item -> item.getAppliedAddOns().stream())
+                        .map(applied -> applied.getAddOn().getId()));
+
+        newItems.forEach(item -> {
+            item.setProduct(require(products, item.getProduct().getId(), "Produto não encontrado: "));
+            item.getAppliedAddOns().forEach(applied ->
+                    applied.setAddOn(require(addOns, applied.getAddOn().getId(), "Adicional não encontrado: ")));
+        });
+    }
+
+    private <T> Map<Long, T> load(Class<T> type, Function<T, Long> idOf, Stream<Long> ids) {
+        List<Long> distinctIds = ids.distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager.unwrap(Session.class).byMultipleIds(type).multiLoad(distinctIds).stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private static <T> T require(Map<Long, T> loaded, Long id, String message) {
+        T entity = loaded.get(id);
+        if (entity == null) {
+            throw new ResourceNotFoundException(message + id);
+        }
+        return entity;
     }
 
     @Override
@@ -37,12 +111,74 @@ public class OrderPersistenceAdapter implements OrderRepositoryPort {
     }
 
     @Override
-    public List<OrderDefinition> findByFilters(List<OrderStatus> orderStatus) {
-        Specification<OrderEntity> spec = OrderSpecifications.byFilters(orderStatus);
-
-        return jpaRepository.findAll(spec)
-                .stream()
+    @Transactional(readOnly = true)
+    public List<OrderDefinition> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findByIdIn(ids).stream()
                 .map(mapper::toDomain)
                 .toList();
     }
+
+    @Override
+    @Transactional
+    public boolean updateStatus(Long id, Collection<OrderStatus> expectedStatus, OrderStatus newStatus) {
+        if (expectedStatus.isEmpty()) {
+            return false;
+        }
+        return jpaRepository.updateStatus(id, expectedStatus, newStatus) > 0;
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, OrderStatus> updateStatuses(Collection<Long> ids, Collection<OrderStatus> expectedStatus, OrderStatus newStatus) {
+        if (ids.isEmpty() || expectedStatus.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, OrderStatus> previous = new HashMap<>();
+        jpaRepository.lockTransitionable(ids, expectedStatus)
+                .forEach(row -> previous.put(row.getId(), row.getStatus()));
+        if (!previous.isEmpty()) {
+            jpaRepository.updateStatusByIds(previous.keySet(), newStatus);
+        }
+        return previous;
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, OrderStatus> updatePaymentDetails(List<OrderPaymentCreatedMessageResponse> payments) {
+        if (payments.isEmpty()) {
+            return Map.of();
+        }
+        // Um único lote JDBC, sem carregar o agregado: só as colunas de pagamento mudam
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_PAYMENT_DETAILS, payments.stream()
+                .map(payment -> new Object[]{payment.qrCodeUrl(), payment.paymentId(), payment.orderId()})
+                .toList());
+
+        // Driver sem contagem por comando (SUCCESS_NO_INFO) é tratado como atualizado; a leitura
+        // seguinte só devolve pedidos que existem
+        Set<Long> updated = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                updated.add(payments.get(i).orderId());
+            }
+        }
+        if (updated.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, OrderStatus> statuses = new HashMap<>();
+        jpaRepository.findStatusesByIdIn(updated)
+                .forEach(row -> statuses.put(row.getId(), row.getStatus()));
+        return statuses;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        jpaRepository.countGroupedByStatus()
+                .forEach(row -> counts.put(row.getStatus(), row.getTotal()));
+        return counts;
+    }
 }
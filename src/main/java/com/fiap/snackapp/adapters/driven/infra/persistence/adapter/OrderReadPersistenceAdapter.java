@@ -0,0 +1,110 @@
+package com.fiap.snackapp.adapters.driven.infra.persistence.adapter;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.projection.OrderItemRow;
+import com.fiap.snackapp.adapters.driven.infra.persistence.projection.OrderSummaryRow;
+import com.fiap.snackapp.adapters.driven.infra.persistence.repository.SpringDataOrderJpaRepository;
+import com.fiap.snackapp.core.application.dto.response.AddonItemResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderItemResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.application.repository.OrderReadRepositoryPort;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Leitura da listagem direto em colunas: duas consultas (pedidos e itens com adicionais),
+// sem entidades nem OrderDefinition no caminho. Os totais seguem a mesma conta do domínio.
+@Component
+@RequiredArgsConstructor
+public class OrderReadPersistenceAdapter implements OrderReadRepositoryPort {
+
+    private final SpringDataOrderJpaRepository jpaRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderResponse> findByFilters(List<OrderStatus> orderStatus, Long afterId, int limit) {
+        if (orderStatus != null && orderStatus.isEmpty()) {
+            return List.of();
+        }
+
+        Collection<OrderStatus> statuses = orderStatus != null ? orderStatus : EnumSet.allOf(OrderStatus.class);
+        List<OrderSummaryRow> orders = jpaRepository.findSummaries(statuses, afterId != null ? afterId : 0L, Limit.of(limit));
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<OrderItemResponse>> itemsByOrder =
+                itemsByOrder(jpaRepository.findItemRows(orders.stream().map(OrderSummaryRow::id).toList()));
+
+        return orders.stream()
+                .map(order -> toResponse(order, itemsByOrder.getOrDefault(order.id(), List.of())))
+                .toList();
+    }
+
+    private Map<Long, List<OrderItemResponse>> itemsByOrder(List<OrderItemRow> rows) {
+        // As linhas chegam ordenadas por item, então os adicionais de um item são contíguos
+        Map<Long, List<OrderItemRow>> rowsByItem = new LinkedHashMap<>();
+        for (OrderItemRow row : rows) {
+            rowsByItem.computeIfAbsent(row.itemId(), id -> new ArrayList<>()).add(row);
+        }
+
+        Map<Long, List<OrderItemResponse>> itemsByOrder = new HashMap<>();
+        for (List<OrderItemRow> itemRows : rowsByItem.values()) {
+            OrderItemRow item = itemRows.getFirst();
+            itemsByOrder.computeIfAbsent(item.orderId(), id -> new ArrayList<>()).add(toItemResponse(item, itemRows));
+        }
+        return itemsByOrder;
+    }
+
+    private OrderItemResponse toItemResponse(OrderItemRow item, List<OrderItemRow> itemRows) {
+        List<AddonItemResponse> addOns = itemRows.stream()
+                .filter(row -> row.addOnId() != null)
+                .map(row -> new AddonItemResponse(
+                        row.addOnId(),
+                        row.addOnName(),
+                        row.addOnCategory(),
+                        row.addOnPrice(),
+                        row.addOnQuantity()
+                ))
+                .toList();
+
+        BigDecimal addOnsTotal = addOns.stream()
+                .map(addOn -> addOn.price().multiply(BigDecimal.valueOf(addOn.quantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return new OrderItemResponse(
+                item.productId(),
+                item.productName(),
+                item.productPrice(),
+                item.quantity(),
+                addOns,
+                item.productPrice().add(addOnsTotal).multiply(BigDecimal.valueOf(item.quantity()))
+        );
+    }
+
+    private OrderResponse toResponse(OrderSummaryRow order, List<OrderItemResponse> items) {
+        BigDecimal total = items.stream()
+                .map(OrderItemResponse::totalPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return new OrderResponse(
+                order.id(),
+                order.status().name(),
+                order.cpf(),
+                items,
+                total,
+                order.qrCodeUrl(),
+                order.paymentId()
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package com.fiap.snackapp.adapters.driven.infra.persistence.adapter;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.OutboxMessageEntity;
+import com.fiap.snackapp.adapters.driven.infra.persistence.repository.SpringDataOutboxJpaRepository;
+import com.fiap.snackapp.core.application.repository.OutboxRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxPersistenceAdapter implements OutboxRepositoryPort {
+
+    private final SpringDataOutboxJpaRepository jpaRepository;
+    private final MessageConverter messageConverter;
+
+    @Override
+    @Transactional
+    public void enqueue(String exchange, String routingKey, Object payload) {
+        // Serializa com o mesmo conversor do RabbitTemplate: o relay publica exatamente o que o convertAndSend publicaria
+        Message message = messageConverter.toMessage(payload, new MessageProperties());
+        MessageProperties properties = message.getMessageProperties();
+
+        jpaRepository.save(OutboxMessageEntity.builder()
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .contentType(properties.getContentType())
+                .typeId(properties.getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME))
+                .body(new String(message.getBody(), StandardCharsets.UTF_8))
+                .createdAt(Instant.now())
+                .build());
+    }
+}
@@ -13,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +36,13 @@ public class ProductPersistenceAdapter implements ProductRepositoryPort {
         return jpaRepository.findById(id).map(mapper::toDomain);
     }
 
+    @Override
+    public List<ProductDefinition> findAllByIds(Collection<Long> ids) {
+        return jpaRepository.findAllById(ids).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
     @Override
     public List<ProductDefinition> findByFilters(Boolean active, Category category) {
         Specification<ProductEntity> spec = ProductSpecifications.byFilters(active, category);
@@ -0,0 +1,40 @@
+package com.fiap.snackapp.adapters.driven.infra.persistence.configuration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "spring.datasource.driver-class-name", havingValue = "org.postgresql.Driver")
+@RequiredArgsConstructor
+public class PostgresSequenceAligner {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "orders_seq", "orders",
+            "order_items_seq", "order_items",
+            "item_add_ons_seq", "item_add_ons",
+            "products_seq", "products",
+            "add_ons_seq", "add_ons",
+            "users_seq", "users"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void alignSequences() {
+        // Tabelas criadas com IDENTITY já possuem ids; a sequence precisa continuar depois do maior deles
+        SEQUENCES.forEach((sequence, table) -> jdbcTemplate.queryForObject(
+                "select setval('" + sequence + "', greatest("
+                        + "(select last_value from " + sequence + "), "
+                        + "(select coalesce(max(id), 0) from " + table + ") + " + ALLOCATION_SIZE + "))",
+                Long.class));
+    }
+}
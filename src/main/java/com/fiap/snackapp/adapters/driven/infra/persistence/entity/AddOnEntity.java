@@ -6,18 +6,21 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "add_ons")
+@BatchSize(size = 100)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class AddOnEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "add_ons_seq")
+    @SequenceGenerator(name = "add_ons_seq", sequenceName = "add_ons_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -15,7 +15,8 @@ import java.math.BigDecimal;
 public class AppliedAddOnEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_add_ons_seq")
+    @SequenceGenerator(name = "item_add_ons_seq", sequenceName = "item_add_ons_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
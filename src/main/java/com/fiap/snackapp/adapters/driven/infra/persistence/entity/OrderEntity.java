@@ -3,12 +3,13 @@ package com.fiap.snackapp.adapters.driven.infra.persistence.entity;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_status_id", columnList = "status, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +18,8 @@ import java.util.Set;
 public class OrderEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = true, fetch = FetchType.LAZY)
@@ -32,5 +34,6 @@ public class OrderEntity {
     private String paymentId ;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private Set<OrderItemEntity> items = new HashSet<>();
 }
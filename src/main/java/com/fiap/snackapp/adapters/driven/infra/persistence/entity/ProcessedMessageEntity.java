@@ -0,0 +1,21 @@
+package com.fiap.snackapp.adapters.driven.infra.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "processed_messages", indexes = @Index(name = "idx_processed_messages_processed_at", columnList = "processedAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedMessageEntity {
+
+    @Id
+    private String messageId;
+
+    @Column(nullable = false)
+    private Instant processedAt;
+}
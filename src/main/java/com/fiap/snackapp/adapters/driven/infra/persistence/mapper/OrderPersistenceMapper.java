@@ -7,6 +7,7 @@ import com.fiap.snackapp.core.domain.vo.Email;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -32,40 +33,60 @@ public class OrderPersistenceMapper {
         entity.setQrCodeUrl(domain.getQrCodeUrl());
 
         Set<OrderItemEntity> itemEntities = domain.getItems().stream()
-                .map(item -> {
-                    ProductEntity productEntity = new ProductEntity();
-                    productEntity.setId(item.productId());
-
-                    OrderItemEntity itemEntity = new OrderItemEntity();
-                    itemEntity.setProduct(productEntity);
-                    itemEntity.setPrice(item.price());
-                    itemEntity.setQuantity(item.quantity());
-                    itemEntity.setOrder(entity);
-
-                    Set<AppliedAddOnEntity> addOnEntities = item.appliedAddOns().stream()
-                            .map(applied -> {
-                                AddOnEntity addOnEntity = new AddOnEntity();
-                                addOnEntity.setId(applied.getAddOnDefinition().id());
-
-                                AppliedAddOnEntity appliedEntity = new AppliedAddOnEntity();
-                                appliedEntity.setAddOn(addOnEntity);
-                                appliedEntity.setOrderItem(itemEntity);
-                                appliedEntity.setPrice(applied.getAddOnDefinition().price());
-                                appliedEntity.setQuantity(applied.getQuantity());
-
-                                return appliedEntity;
-                            })
-                            .collect(Collectors.toSet());
-
-                    itemEntity.setAppliedAddOns(addOnEntities);
-                    return itemEntity;
-                })
+                .map(item -> toItemEntity(item, entity))
                 .collect(Collectors.toSet());
 
         entity.setItems(itemEntities);
         return entity;
     }
 
+    public void mergeInto(OrderEntity entity, OrderDefinition domain) {
+        entity.setStatus(domain.getStatus());
+        entity.setPaymentId(domain.getPaymentId());
+        entity.setQrCodeUrl(domain.getQrCodeUrl());
+
+        Set<Long> keptItemIds = domain.getItems().stream()
+                .map(OrderItemDefinition::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        entity.getItems().removeIf(item -> !keptItemIds.contains(item.getId()));
+
+        domain.getItems().stream()
+                .filter(item -> item.id() == null)
+                .map(item -> toItemEntity(item, entity))
+                .forEach(entity.getItems()::add);
+    }
+
+    // Produto e adicional entram só com o id; o adapter troca pelas entidades gerenciadas do catálogo
+    private OrderItemEntity toItemEntity(OrderItemDefinition item, OrderEntity order) {
+        ProductEntity productEntity = new ProductEntity();
+        productEntity.setId(item.productId());
+
+        OrderItemEntity itemEntity = new OrderItemEntity();
+        itemEntity.setProduct(productEntity);
+        itemEntity.setPrice(item.price());
+        itemEntity.setQuantity(item.quantity());
+        itemEntity.setOrder(order);
+
+        Set<AppliedAddOnEntity> addOnEntities = item.appliedAddOns().stream()
+                .map(applied -> {
+                    AddOnEntity addOnEntity = new AddOnEntity();
+                    addOnEntity.setId(applied.getAddOnDefinition().id());
+
+                    AppliedAddOnEntity appliedEntity = new AppliedAddOnEntity();
+                    appliedEntity.setAddOn(addOnEntity);
+                    appliedEntity.setOrderItem(itemEntity);
+                    appliedEntity.setPrice(applied.getAddOnDefinition().price());
+                    appliedEntity.setQuantity(applied.getQuantity());
+
+                    return appliedEntity;
+                })
+                .collect(Collectors.toSet());
+
+        itemEntity.setAppliedAddOns(addOnEntities);
+        return itemEntity;
+    }
+
     public OrderDefinition toDomain(OrderEntity entity) {
         CustomerDefinition customer = null;
 
@@ -93,6 +114,7 @@ public class OrderPersistenceMapper {
                             .toList();
 
                     return new OrderItemDefinition(
+                            item.getId(),
                             item.getProduct().getId(),
                             item.getProduct().getName(),
                             item.getQuantity(),
@@ -111,4 +133,4 @@ public class OrderPersistenceMapper {
                 entity.getPaymentId()
         );
     }
-}
\ No newline at end of file
+}
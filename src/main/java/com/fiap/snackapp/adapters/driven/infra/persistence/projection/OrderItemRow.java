@@ -0,0 +1,20 @@
+package com.fiap.snackapp.adapters.driven.infra.persistence.projection;
+
+import com.fiap.snackapp.core.domain.enums.Category;
+
+import java.math.BigDecimal;
+
+// Uma linha por adicional do item; itens sem adicionais vêm com as colunas de adicional nulas
+public record OrderItemRow(
+        Long itemId,
+        Long orderId,
+        Long productId,
+        String productName,
+        BigDecimal productPrice,
+        int quantity,
+        Long addOnId,
+        String addOnName,
+        Category addOnCategory,
+        BigDecimal addOnPrice,
+        Integer addOnQuantity
+) { }
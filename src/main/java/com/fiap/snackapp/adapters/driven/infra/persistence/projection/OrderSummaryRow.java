@@ -0,0 +1,11 @@
+package com.fiap.snackapp.adapters.driven.infra.persistence.projection;
+
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+
+public record OrderSummaryRow(
+        Long id,
+        OrderStatus status,
+        String cpf,
+        String qrCodeUrl,
+        String paymentId
+) { }
@@ -2,11 +2,24 @@ package com.fiap.snackapp.adapters.driven.infra.persistence.repository;
 
 import com.fiap.snackapp.adapters.driven.infra.persistence.entity.CustomerEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface SpringDataCustomerJpaRepository extends JpaRepository<CustomerEntity, Long> {
     Optional<CustomerEntity> findByCpf(String cpf);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into users (id, name, email, cpf)
+            values (nextval('users_seq'), :name, :email, :cpf)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("email") String email, @Param("cpf") String cpf);
 }
\ No newline at end of file
@@ -1,9 +1,110 @@
 package com.fiap.snackapp.adapters.driven.infra.persistence.repository;
 
 import com.fiap.snackapp.adapters.driven.infra.persistence.entity.OrderEntity;
+import com.fiap.snackapp.adapters.driven.infra.persistence.projection.OrderItemRow;
+import com.fiap.snackapp.adapters.driven.infra.persistence.projection.OrderSummaryRow;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface SpringDataOrderJpaRepository extends JpaRepository<OrderEntity, Long>,
-                                                      JpaSpecificationExecutor<OrderEntity> {
-}
\ No newline at end of file
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SpringDataOrderJpaRepository extends JpaRepository<OrderEntity, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = {
+            "customer",
+            "items",
+            "items.product",
+            "items.appliedAddOns",
+            "items.appliedAddOns.addOn"
+    })
+    Optional<OrderEntity> findById(Long id);
+
+    @EntityGraph(attributePaths = {
+            "customer",
+            "items",
+            "items.product",
+            "items.appliedAddOns",
+            "items.appliedAddOns.addOn"
+    })
+    List<OrderEntity> findByIdIn(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update OrderEntity o set o.status = :next
+            where o.id = :id
+              and o.status in :expected
+              and exists (select i.id from OrderItemEntity i where i.order.id = :id)
+            """)
+    int updateStatus(@Param("id") Long id,
+                     @Param("expected") Collection<OrderStatus> expected,
+                     @Param("next") OrderStatus next);
+
+    // Trava as linhas elegíveis para que o UPDATE em lote altere exatamente os pedidos lidos;
+    // a ordem por id faz lotes concorrentes travarem na mesma sequência e evita deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select o.id as id, o.status as status from OrderEntity o
+            where o.id in :ids
+              and o.status in :expected
+              and exists (select i.id from OrderItemEntity i where i.order.id = o.id)
+            order by o.id
+            """)
+    List<StatusById> lockTransitionable(@Param("ids") Collection<Long> ids,
+                                        @Param("expected") Collection<OrderStatus> expected);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update OrderEntity o set o.status = :next where o.id in :ids")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("next") OrderStatus next);
+
+    @Query("select o.id as id, o.status as status from OrderEntity o where o.id in :ids")
+    List<StatusById> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.fiap.snackapp.adapters.driven.infra.persistence.projection.OrderSummaryRow(
+                    o.id, o.status, c.cpf, o.qrCodeUrl, o.paymentId)
+            from OrderEntity o
+            left join o.customer c
+            where o.status in :statuses
+              and o.id > :afterId
+            order by o.id
+            """)
+    List<OrderSummaryRow> findSummaries(@Param("statuses") Collection<OrderStatus> statuses,
+                                        @Param("afterId") long afterId,
+                                        Limit limit);
+
+    @Query("""
+            select new com.fiap.snackapp.adapters.driven.infra.persistence.projection.OrderItemRow(
+                    i.id, i.order.id, p.id, p.name, p.price, i.quantity,
+                    ad.id, ad.name, ad.category, a.price, a.quantity)
+            from OrderItemEntity i
+            join i.product p
+            left join i.appliedAddOns a
+            left join a.addOn ad
+            where i.order.id in :orderIds
+            order by i.id, a.id
+            """)
+    List<OrderItemRow> findItemRows(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("select o.status as status, count(o) as total from OrderEntity o group by o.status")
+    List<StatusCount> countGroupedByStatus();
+
+    interface StatusCount {
+        OrderStatus getStatus();
+        long getTotal();
+    }
+
+    interface StatusById {
+        Long getId();
+        OrderStatus getStatus();
+    }
+}
@@ -0,0 +1,33 @@
+package com.fiap.snackapp.adapters.driven.infra.persistence.repository;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.OutboxMessageEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface SpringDataOutboxJpaRepository extends JpaRepository<OutboxMessageEntity, Long> {
+
+    // SKIP LOCKED (-2): réplicas drenam lotes diferentes em vez de esperarem umas pelas outras
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select m from OutboxMessageEntity m where m.sentAt is null order by m.id")
+    List<OutboxMessageEntity> findPending(Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update OutboxMessageEntity m set m.sentAt = :sentAt where m.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") Instant sentAt);
+
+    @Modifying
+    @Query("delete from OutboxMessageEntity m where m.sentAt < :before")
+    int deleteSentBefore(@Param("before") Instant before);
+}
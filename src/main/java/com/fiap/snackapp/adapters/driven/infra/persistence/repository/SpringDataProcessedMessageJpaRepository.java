@@ -0,0 +1,25 @@
+package com.fiap.snackapp.adapters.driven.infra.persistence.repository;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.ProcessedMessageEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface SpringDataProcessedMessageJpaRepository extends JpaRepository<ProcessedMessageEntity, String> {
+
+    // 0 linhas inseridas: a mensagem já foi processada (ou está sendo, por outro consumidor)
+    @Modifying
+    @Query(value = """
+            insert into processed_messages (message_id, processed_at)
+            values (:messageId, :processedAt)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("messageId") String messageId, @Param("processedAt") Instant processedAt);
+
+    @Modifying
+    @Query("delete from ProcessedMessageEntity m where m.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,25 @@
+package com.fiap.snackapp.adapters.driver.api.controller;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.retry.DeadLetterReplayer;
+import com.fiap.snackapp.adapters.driver.api.dto.response.DeadLetterReplayResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dead-letters")
+@RequiredArgsConstructor
+public class DeadLetterController {
+
+    private static final int MAX_REPLAY = 1000;
+
+    private final DeadLetterReplayer deadLetterReplayer;
+
+    @PostMapping("/{queue}/replay")
+    public ResponseEntity<DeadLetterReplayResponse> replay(
+            @PathVariable String queue,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        int replayed = deadLetterReplayer.replay(queue, Math.clamp(limit, 1, MAX_REPLAY));
+        return ResponseEntity.ok(new DeadLetterReplayResponse(queue, replayed));
+    }
+}
@@ -1,18 +1,26 @@
 package com.fiap.snackapp.adapters.driver.api.controller;
 
+import com.fiap.snackapp.adapters.driver.api.stream.OrderStatusStream;
+import com.fiap.snackapp.adapters.driver.api.stream.PaymentQrCodeWaiters;
 import com.fiap.snackapp.core.application.dto.request.OrderInitRequest;
 import com.fiap.snackapp.core.application.dto.request.OrderItemsRequest;
 import com.fiap.snackapp.core.application.dto.request.OrderPaymentCreateRequest;
 import com.fiap.snackapp.core.application.dto.request.OrderStatusUpdateRequest;
+import com.fiap.snackapp.core.application.dto.response.OrderPageResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentQrCodeResponse;
 import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderStatusCountResponse;
 import com.fiap.snackapp.core.application.usecases.OrderUseCase;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -22,6 +30,8 @@ import java.util.List;
 public class OrderController {
 
     private final OrderUseCase orderUseCase;
+    private final OrderStatusStream orderStatusStream;
+    private final PaymentQrCodeWaiters paymentQrCodeWaiters;
 
     @PostMapping("/init")
     public ResponseEntity<OrderResponse> init(
@@ -67,9 +77,31 @@ public class OrderController {
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> listAllOrdersByFilters(
+    public ResponseEntity<OrderPageResponse> listAllOrdersByFilters(
+            @RequestParam(name = "status", required = false) List<OrderStatus> orderStatus,
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "size", required = false) Integer size) {
+        return ResponseEntity.ok(orderUseCase.listAllOrdersByFilters(orderStatus, cursor, size));
+    }
+
+    // Contagem em memória da réplica: as demais chegam pelo fanout e a recontagem no banco corrige perdas
+    @GetMapping("/count")
+    public ResponseEntity<OrderStatusCountResponse> countOrdersByStatus(
             @RequestParam(name = "status", required = false) List<OrderStatus> orderStatus) {
-        return ResponseEntity.ok(orderUseCase.listAllOrdersByFilters(orderStatus));
+        return ResponseEntity.ok(orderUseCase.countOrdersByStatus(orderStatus));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(
+            @RequestParam(name = "status", required = false) List<OrderStatus> orderStatus,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return orderStatusStream.subscribe(orderStatus, lastEventId);
+    }
+
+    @GetMapping("/{orderId}/qr-code")
+    public DeferredResult<ResponseEntity<OrderPaymentQrCodeResponse>> waitForPaymentQrCode(
+            @PathVariable Long orderId) {
+        return paymentQrCodeWaiters.waitFor(orderId);
     }
 
     @GetMapping("/{orderId}")
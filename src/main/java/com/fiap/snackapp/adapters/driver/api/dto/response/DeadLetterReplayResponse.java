@@ -0,0 +1,4 @@
+package com.fiap.snackapp.adapters.driver.api.dto.response;
+
+public record DeadLetterReplayResponse(String queue, int replayed) {
+}
@@ -2,6 +2,7 @@ package com.fiap.snackapp.adapters.driver.api.exception;
 
 import com.fiap.snackapp.adapters.driver.api.dto.response.ErrorResponse;
 import com.fiap.snackapp.adapters.driver.api.dto.response.ValidationErrorDetail;
+import com.fiap.snackapp.core.application.exception.ConcurrentOrderUpdateException;
 import com.fiap.snackapp.core.application.exception.ResourceNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.NonNull;
@@ -35,6 +36,16 @@ public class GlobalApiExceptionHandler extends ResponseEntityExceptionHandler {
                 request.getRequestURI());
     }
 
+    @ExceptionHandler(ConcurrentOrderUpdateException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConcurrentOrderUpdateException(ConcurrentOrderUpdateException ex, HttpServletRequest request) {
+        return new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI());
+    }
+
     @Override
     @SuppressWarnings("java:S2638")
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
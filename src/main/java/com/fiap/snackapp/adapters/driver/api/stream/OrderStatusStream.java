@@ -0,0 +1,256 @@
+package com.fiap.snackapp.adapters.driver.api.stream;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.OrderStatusStreamPublisher;
+import com.fiap.snackapp.core.application.event.OrderStatusChangedEvent;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Log4j2
+@Component
+public class OrderStatusStream {
+
+    static final String STATUS_EVENT = "order-status";
+    static final String RESET_EVENT = "reset";
+
+    private final OrderStatusStreamPublisher streamPublisher;
+    private final int bufferSize;
+    private final int subscriberQueueSize;
+    private final long timeoutMillis;
+
+    // Buffer, sequência e assinantes só são tocados pela thread de despacho: nenhuma conexão
+    // ociosa prende thread, e replay + registro não disputam com a publicação
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("order-status-stream").daemon().factory());
+    // A escrita no socket fica fora do despacho: cada assinante tem uma fila limitada, esvaziada
+    // por uma thread virtual só enquanto houver eventos pendentes
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("order-status-stream-writer-", 0).factory());
+    private final Deque<BufferedEvent> buffer = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    // Ids são "<época>-<sequência>": a época muda a cada início do processo, então um Last-Event-ID
+    // de antes de um reinício ou de outra réplica nunca casa com a sequência local
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private long sequence;
+
+    public OrderStatusStream(
+            OrderStatusStreamPublisher streamPublisher,
+            @Value("${snackapp.orders.stream.buffer-size:1024}") int bufferSize,
+            @Value("${snackapp.orders.stream.subscriber-queue-size:256}") int subscriberQueueSize,
+            @Value("${snackapp.orders.stream.timeout:PT30M}") Duration timeout) {
+        this.streamPublisher = streamPublisher;
+        this.bufferSize = bufferSize;
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public SseEmitter subscribe(Collection<OrderStatus> statuses, String lastEventId) {
+        var subscriber = new Subscriber(newEmitter(timeoutMillis),
+                (statuses == null || statuses.isEmpty()) ? EnumSet.allOf(OrderStatus.class) : EnumSet.copyOf(statuses));
+
+        Runnable remove = () -> {
+            subscriber.closed = true;
+            dispatch(() -> subscribers.remove(subscriber));
+        };
+        subscriber.emitter().onCompletion(remove);
+        subscriber.emitter().onTimeout(remove);
+        subscriber.emitter().onError(error -> remove.run());
+
+        dispatch(() -> {
+            if (lastEventId != null && !replay(subscriber, lastEventId)) {
+                return;
+            }
+            subscribers.add(subscriber);
+        });
+        return subscriber.emitter();
+    }
+
+    // Só a réplica que fez a transição recebe o evento; as demais são avisadas pelo fanout
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        deliver(event);
+        streamPublisher.publish(event);
+    }
+
+    public void deliver(OrderStatusChangedEvent event) {
+        dispatch(() -> {
+            var buffered = new BufferedEvent(++sequence, event);
+            if (buffer.size() == bufferSize) {
+                buffer.removeFirst();
+            }
+            buffer.addLast(buffered);
+            subscribers.removeIf(subscriber -> !subscriber.send(buffered));
+        });
+    }
+
+    // Comentário periódico mantém proxies sem derrubar a conexão e revela clientes que já saíram
+    @Scheduled(fixedDelayString = "${snackapp.orders.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        dispatch(() -> subscribers.removeIf(subscriber -> !subscriber.write(SseEmitter.event().comment("ping"))));
+    }
+
+    // Conexões abertas são encerradas para que os clientes reconectem em outra réplica
+    @PreDestroy
+    void shutdown() {
+        dispatch(() -> {
+            subscribers.forEach(Subscriber::close);
+            subscribers.clear();
+        });
+        dispatcher.shutdown();
+        try {
+            if (!dispatcher.awaitTermination(5, TimeUnit.SECONDS)) {
+                dispatcher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            dispatcher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        writers.shutdownNow();
+    }
+
+    // Callbacks de emitter e escritores podem chegar depois do shutdown: não há mais o que despachar
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Stream de pedidos encerrado, tarefa descartada");
+        }
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private boolean replay(Subscriber subscriber, String lastEventId) {
+        // Cliente ficou fora por mais eventos do que o buffer guarda (ou do que cabe na sua fila), ou o
+        // id é de outra época (reinício, outra réplica): avisa para recarregar via GET em vez de entregar
+        // um histórico com buraco
+        long last = sequenceOf(lastEventId);
+        long oldest = buffer.isEmpty() ? sequence + 1 : buffer.getFirst().id();
+        if (last < 0 || last > sequence || last + 1 < oldest || sequence - last > subscriberQueueSize) {
+            return subscriber.write(SseEmitter.event().id(eventId(sequence)).name(RESET_EVENT).data(""));
+        }
+        for (BufferedEvent buffered : buffer) {
+            if (buffered.id() > last && !subscriber.send(buffered)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // -1 quando o id não é desta época
+    private long sequenceOf(String eventId) {
+        String prefix = epoch + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private record BufferedEvent(long id, OrderStatusChangedEvent event) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<OrderStatus> statuses;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(subscriberQueueSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, Set<OrderStatus> statuses) {
+            this.emitter = emitter;
+            this.statuses = statuses;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        boolean send(BufferedEvent buffered) {
+            if (!statuses.contains(buffered.event().status())) {
+                return !closed;
+            }
+            return write(SseEmitter.event()
+                    .id(eventId(buffered.id()))
+                    .name(STATUS_EVENT)
+                    .data(buffered.event(), MediaType.APPLICATION_JSON));
+        }
+
+        // Chamado pela thread de despacho: só enfileira. Fila cheia indica cliente lento demais; a
+        // conexão é encerrada e o EventSource reconecta com Last-Event-ID, retomando do buffer
+        boolean write(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return false;
+            }
+            if (!pending.offer(event)) {
+                log.debug("Assinante do stream de pedidos com {} eventos pendentes, desconectando", pending.size());
+                close();
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+            return true;
+        }
+
+        void close() {
+            closed = true;
+            pending.clear();
+            emitter.complete();
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        log.debug("Assinante do stream de pedidos desconectado: {}", e.getMessage());
+                        closed = true;
+                        emitter.completeWithError(e);
+                        dispatch(() -> subscribers.remove(this));
+                    }
+                }
+                draining.set(false);
+            } while (!closed && !pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
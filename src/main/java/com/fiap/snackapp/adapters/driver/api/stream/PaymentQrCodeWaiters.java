@@ -0,0 +1,89 @@
+package com.fiap.snackapp.adapters.driver.api.stream;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.PaymentQrCodeReadyPublisher;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentQrCodeResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.application.event.OrderStatusChangedEvent;
+import com.fiap.snackapp.core.application.exception.ResourceNotFoundException;
+import com.fiap.snackapp.core.application.usecases.OrderUseCase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class PaymentQrCodeWaiters {
+
+    private final OrderUseCase orderUseCase;
+    private final PaymentQrCodeReadyPublisher readyPublisher;
+    private final long timeoutMillis;
+    private final Map<Long, Set<DeferredResult<ResponseEntity<OrderPaymentQrCodeResponse>>>> waiting = new ConcurrentHashMap<>();
+
+    public PaymentQrCodeWaiters(
+            OrderUseCase orderUseCase,
+            PaymentQrCodeReadyPublisher readyPublisher,
+            @Value("${snackapp.orders.qr-code.wait-timeout:PT25S}") Duration timeout) {
+        this.orderUseCase = orderUseCase;
+        this.readyPublisher = readyPublisher;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public DeferredResult<ResponseEntity<OrderPaymentQrCodeResponse>> waitFor(Long orderId) {
+        // Sem QR code dentro do prazo o kiosk recebe 204 e refaz a espera
+        DeferredResult<ResponseEntity<OrderPaymentQrCodeResponse>> result =
+                new DeferredResult<>(timeoutMillis, ResponseEntity.noContent().build());
+
+        waiting.compute(orderId, (id, waiters) -> {
+            Set<DeferredResult<ResponseEntity<OrderPaymentQrCodeResponse>>> set =
+                    (waiters == null) ? ConcurrentHashMap.newKeySet() : waiters;
+            set.add(result);
+            return set;
+        });
+        result.onCompletion(() -> remove(orderId, result));
+
+        // Registra antes de consultar: um QR code gravado entre a consulta e o registro não se perde
+        OrderResponse order = orderUseCase.listOrderById(orderId);
+        if (order == null) {
+            result.setErrorResult(new ResourceNotFoundException("Pedido não encontrado: " + orderId));
+        } else if (order.qrCodeUrl() != null) {
+            result.setResult(ResponseEntity.ok(new OrderPaymentQrCodeResponse(order.id(), order.qrCodeUrl(), order.paymentId())));
+        }
+        return result;
+    }
+
+    // Só a réplica que consumiu payment.created recebe o evento; as demais são avisadas pelo fanout
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        if (event.qrCodeUrl() == null) {
+            return;
+        }
+        complete(event.orderId(), event.qrCodeUrl(), event.paymentId());
+        readyPublisher.publish(event.orderId(), event.qrCodeUrl(), event.paymentId());
+    }
+
+    public void complete(Long orderId, String qrCodeUrl, String paymentId) {
+        var waiters = waiting.remove(orderId);
+        if (waiters == null) {
+            return;
+        }
+        var response = ResponseEntity.ok(new OrderPaymentQrCodeResponse(orderId, qrCodeUrl, paymentId));
+        waiters.forEach(waiter -> waiter.setResult(response));
+    }
+
+    int waitingCount() {
+        return waiting.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void remove(Long orderId, DeferredResult<ResponseEntity<OrderPaymentQrCodeResponse>> result) {
+        waiting.computeIfPresent(orderId, (id, waiters) -> {
+            waiters.remove(result);
+            return waiters.isEmpty() ? null : waiters;
+        });
+    }
+}
@@ -0,0 +1,141 @@
+package com.fiap.snackapp.adapters.driver.messaging;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.dedupe.ProcessedMessageStore;
+import com.fiap.snackapp.adapters.driven.infra.messaging.retry.TieredRetryRecoverer;
+import com.rabbitmq.client.Channel;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Log4j2
+public abstract class BatchMessageListener<T> {
+
+    private final ProcessedMessageStore processedMessages;
+    private final TieredRetryRecoverer retryRecoverer;
+    private final MessageConverter messageConverter;
+    private final Class<T> payloadType;
+
+    protected BatchMessageListener(ProcessedMessageStore processedMessages,
+                                   TieredRetryRecoverer retryRecoverer,
+                                   MessageConverter messageConverter,
+                                   Class<T> payloadType) {
+        this.processedMessages = processedMessages;
+        this.retryRecoverer = retryRecoverer;
+        this.messageConverter = messageConverter;
+        this.payloadType = payloadType;
+    }
+
+    // Chave de deduplicação quando a mensagem não tiver message-id
+    protected abstract String fallbackKey(T payload);
+
+    // Aplica o lote e devolve as instâncias recebidas que não puderam ser aplicadas
+    protected abstract List<T> applyAll(List<T> payloads);
+
+    protected abstract void applyOne(T payload);
+
+    protected abstract RuntimeException rejection(T payload);
+
+    protected void consume(List<Message> messages, Channel channel) throws IOException {
+        Map<Message, Throwable> failures = new IdentityHashMap<>();
+        List<Delivery<T>> deliveries = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                T payload = convert(message);
+                String messageId = message.getMessageProperties().getMessageId();
+                deliveries.add(new Delivery<>(message, payload, messageId != null ? messageId : fallbackKey(payload)));
+            } catch (MessageConversionException e) {
+                failures.put(message, new ListenerExecutionFailedException("Payload inválido", e, message));
+            }
+        }
+
+        try {
+            applyBatch(deliveries, failures);
+        } catch (RuntimeException e) {
+            // Falha do lote inteiro (ex.: banco): reaplica mensagem a mensagem para isolar a causa
+            log.warn("Lote de {} mensagens {} falhou, processando individualmente: {}",
+                    deliveries.size(), payloadType.getSimpleName(), e.getMessage());
+            applyOneByOne(deliveries, failures);
+        }
+
+        acknowledge(messages, failures, channel);
+    }
+
+    private void applyBatch(List<Delivery<T>> deliveries, Map<Message, Throwable> failures) {
+        Map<String, List<Delivery<T>>> byKey = deliveries.stream()
+                .collect(Collectors.groupingBy(Delivery::key, LinkedHashMap::new, Collectors.toList()));
+
+        Set<String> failedKeys = processedMessages.processAllOnce(byKey.keySet(), fresh -> {
+            // Ordem de chegada preservada: mensagens de um mesmo pedido são aplicadas em sequência
+            List<T> payloads = new ArrayList<>(fresh.size());
+            Map<T, String> keyOf = new IdentityHashMap<>();
+            fresh.forEach(key -> {
+                T payload = byKey.get(key).getFirst().payload();
+                payloads.add(payload);
+                keyOf.put(payload, key);
+            });
+            return applyAll(payloads).stream()
+                    .map(keyOf::get)
+                    .collect(Collectors.toSet());
+        });
+
+        failedKeys.forEach(key -> byKey.get(key).forEach(delivery ->
+                failures.put(delivery.message(), rejection(delivery.payload()))));
+    }
+
+    private void applyOneByOne(List<Delivery<T>> deliveries, Map<Message, Throwable> failures) {
+        for (Delivery<T> delivery : deliveries) {
+            try {
+                processedMessages.processOnce(delivery.key(), () -> applyOne(delivery.payload()));
+            } catch (RuntimeException e) {
+                failures.put(delivery.message(), e);
+            }
+        }
+    }
+
+    // Sucesso confirma o lote com um único ack; falhas seguem para as filas de retentativa e só
+    // voltam para a fila principal (nack) se nem isso for possível
+    private void acknowledge(List<Message> messages, Map<Message, Throwable> failures, Channel channel) throws IOException {
+        if (failures.isEmpty()) {
+            channel.basicAck(messages.getLast().getMessageProperties().getDeliveryTag(), true);
+            return;
+        }
+        for (Message message : messages) {
+            long deliveryTag = message.getMessageProperties().getDeliveryTag();
+            Throwable failure = failures.get(message);
+            if (failure == null) {
+                channel.basicAck(deliveryTag, false);
+                continue;
+            }
+            try {
+                retryRecoverer.recover(message, failure);
+                channel.basicAck(deliveryTag, false);
+            } catch (RuntimeException e) {
+                log.warn("Mensagem {} devolvida para a fila: {}", message.getMessageProperties().getMessageId(), e.getMessage());
+                channel.basicNack(deliveryTag, false, true);
+            }
+        }
+    }
+
+    private T convert(Message message) {
+        message.getMessageProperties().setInferredArgumentType(payloadType);
+        Object payload = messageConverter.fromMessage(message);
+        if (payloadType.isInstance(payload)) {
+            return payloadType.cast(payload);
+        }
+        throw new MessageConversionException("Payload não é " + payloadType.getSimpleName());
+    }
+
+    private record Delivery<T>(Message message, T payload, String key) {
+    }
+}
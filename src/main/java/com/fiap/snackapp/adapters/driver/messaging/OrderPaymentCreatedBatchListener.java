@@ -0,0 +1,65 @@
+package com.fiap.snackapp.adapters.driver.messaging;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.dedupe.ProcessedMessageStore;
+import com.fiap.snackapp.adapters.driven.infra.messaging.retry.TieredRetryRecoverer;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
+import com.fiap.snackapp.core.application.exception.ResourceNotFoundException;
+import com.fiap.snackapp.core.application.usecases.OrderUseCase;
+import com.rabbitmq.client.Channel;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static com.fiap.snackapp.adapters.driven.infra.messaging.configuration.SnackAppPedidoAMQPConfiguration.PAYMENT_CREATED_LISTENER;
+import static com.fiap.snackapp.adapters.driven.infra.messaging.configuration.SnackAppPedidoAMQPConfiguration.PAYMENT_CREATED_QUEUE;
+
+@Component
+@ConditionalOnProperty(name = "snackapp.amqp.listeners.payment-created.batch.enabled", havingValue = "true")
+public class OrderPaymentCreatedBatchListener extends BatchMessageListener<OrderPaymentCreatedMessageResponse> {
+
+    private final OrderUseCase orderUseCase;
+
+    public OrderPaymentCreatedBatchListener(OrderUseCase orderUseCase,
+                                            ProcessedMessageStore processedMessages,
+                                            TieredRetryRecoverer retryRecoverer,
+                                            MessageConverter messageConverter) {
+        super(processedMessages, retryRecoverer, messageConverter, OrderPaymentCreatedMessageResponse.class);
+        this.orderUseCase = orderUseCase;
+    }
+
+    @RabbitListener(id = PAYMENT_CREATED_LISTENER, queues = PAYMENT_CREATED_QUEUE, containerFactory = "paymentCreatedContainerFactory")
+    public void handleOrderPaymentCreatedBatch(List<Message> messages, Channel channel) throws IOException {
+        consume(messages, channel);
+    }
+
+    // Mesma chave do listener unitário
+    @Override
+    protected String fallbackKey(OrderPaymentCreatedMessageResponse payload) {
+        return "payment-created:" + payload.orderId() + ":" + payload.paymentId();
+    }
+
+    // Pedidos inexistentes voltam como rejeitados, como o ResourceNotFoundException do fluxo unitário
+    @Override
+    protected List<OrderPaymentCreatedMessageResponse> applyAll(List<OrderPaymentCreatedMessageResponse> payloads) {
+        Set<Long> missing = orderUseCase.updateOrdersWithQrCode(payloads);
+        return payloads.stream()
+                .filter(payload -> missing.contains(payload.orderId()))
+                .toList();
+    }
+
+    @Override
+    protected void applyOne(OrderPaymentCreatedMessageResponse payload) {
+        orderUseCase.updateOrderWithQrCode(payload);
+    }
+
+    @Override
+    protected RuntimeException rejection(OrderPaymentCreatedMessageResponse payload) {
+        return new ResourceNotFoundException("Pedido não encontrado: " + payload.orderId());
+    }
+}
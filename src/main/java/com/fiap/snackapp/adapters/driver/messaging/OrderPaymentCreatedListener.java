@@ -1,18 +1,31 @@
 package com.fiap.snackapp.adapters.driver.messaging;
 
+import com.fiap.snackapp.adapters.driven.infra.messaging.dedupe.ProcessedMessageStore;
 import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
 import com.fiap.snackapp.core.application.usecases.OrderUseCase;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import static com.fiap.snackapp.adapters.driven.infra.messaging.configuration.SnackAppPedidoAMQPConfiguration.PAYMENT_CREATED_LISTENER;
+import static com.fiap.snackapp.adapters.driven.infra.messaging.configuration.SnackAppPedidoAMQPConfiguration.PAYMENT_CREATED_QUEUE;
+
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "snackapp.amqp.listeners.payment-created.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class OrderPaymentCreatedListener {
     private final OrderUseCase orderUseCase;
+    private final ProcessedMessageStore processedMessages;
 
-    @RabbitListener(queues = "payment.created.queue")
-    public void handleOrderPaymentCreated(OrderPaymentCreatedMessageResponse orderPaymentCreatedMessageResponse) {
-        orderUseCase.updateOrderWithQrCode(orderPaymentCreatedMessageResponse);
+    @RabbitListener(id = PAYMENT_CREATED_LISTENER, queues = PAYMENT_CREATED_QUEUE, containerFactory = "paymentCreatedContainerFactory")
+    public void handleOrderPaymentCreated(OrderPaymentCreatedMessageResponse orderPaymentCreatedMessageResponse,
+                                          @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        // Sem message-id, o par pedido/pagamento identifica a mensagem
+        String key = messageId != null ? messageId
+                : "payment-created:" + orderPaymentCreatedMessageResponse.orderId() + ":" + orderPaymentCreatedMessageResponse.paymentId();
+        processedMessages.processOnce(key, () -> orderUseCase.updateOrderWithQrCode(orderPaymentCreatedMessageResponse));
     }
 }
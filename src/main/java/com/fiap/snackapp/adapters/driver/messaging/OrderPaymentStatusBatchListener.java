@@ -0,0 +1,60 @@
+package com.fiap.snackapp.adapters.driver.messaging;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.dedupe.ProcessedMessageStore;
+import com.fiap.snackapp.adapters.driven.infra.messaging.retry.TieredRetryRecoverer;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentStatusUpdatedMessage;
+import com.fiap.snackapp.core.application.usecases.OrderUseCase;
+import com.rabbitmq.client.Channel;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.fiap.snackapp.adapters.driven.infra.messaging.configuration.SnackAppPedidoAMQPConfiguration.PAYMENT_STATUS_LISTENER;
+import static com.fiap.snackapp.adapters.driven.infra.messaging.configuration.SnackAppPedidoAMQPConfiguration.PAYMENT_STATUS_QUEUE;
+
+@Component
+@ConditionalOnProperty(name = "snackapp.amqp.listeners.payment-status.batch.enabled", havingValue = "true")
+public class OrderPaymentStatusBatchListener extends BatchMessageListener<OrderPaymentStatusUpdatedMessage> {
+
+    private final OrderUseCase orderUseCase;
+
+    public OrderPaymentStatusBatchListener(OrderUseCase orderUseCase,
+                                           ProcessedMessageStore processedMessages,
+                                           TieredRetryRecoverer retryRecoverer,
+                                           MessageConverter messageConverter) {
+        super(processedMessages, retryRecoverer, messageConverter, OrderPaymentStatusUpdatedMessage.class);
+        this.orderUseCase = orderUseCase;
+    }
+
+    @RabbitListener(id = PAYMENT_STATUS_LISTENER, queues = PAYMENT_STATUS_QUEUE, containerFactory = "paymentStatusContainerFactory")
+    public void handlePaymentStatusUpdatedBatch(List<Message> messages, Channel channel) throws IOException {
+        consume(messages, channel);
+    }
+
+    // Mesma chave do listener unitário
+    @Override
+    protected String fallbackKey(OrderPaymentStatusUpdatedMessage payload) {
+        return "payment-status:" + payload.orderId() + ":" + payload.status();
+    }
+
+    @Override
+    protected List<OrderPaymentStatusUpdatedMessage> applyAll(List<OrderPaymentStatusUpdatedMessage> payloads) {
+        return orderUseCase.applyPaymentStatuses(payloads);
+    }
+
+    @Override
+    protected void applyOne(OrderPaymentStatusUpdatedMessage payload) {
+        orderUseCase.applyPaymentStatus(payload.orderId(), payload.status());
+    }
+
+    @Override
+    protected RuntimeException rejection(OrderPaymentStatusUpdatedMessage payload) {
+        return new IllegalStateException("Transição de status rejeitada para o pedido " + payload.orderId()
+                + ": " + payload.status());
+    }
+}
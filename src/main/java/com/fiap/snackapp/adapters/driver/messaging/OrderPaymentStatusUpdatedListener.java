@@ -1,26 +1,30 @@
 package com.fiap.snackapp.adapters.driver.messaging;
 
-import com.fiap.snackapp.core.application.dto.request.OrderStatusUpdateRequest;
+import com.fiap.snackapp.adapters.driven.infra.messaging.dedupe.ProcessedMessageStore;
 import com.fiap.snackapp.core.application.dto.response.OrderPaymentStatusUpdatedMessage;
 import com.fiap.snackapp.core.application.usecases.OrderUseCase;
-import com.fiap.snackapp.core.domain.enums.OrderStatus;
-import com.fiap.snackapp.core.domain.model.OrderDefinition;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import static com.fiap.snackapp.adapters.driven.infra.messaging.configuration.SnackAppPedidoAMQPConfiguration.PAYMENT_STATUS_LISTENER;
+import static com.fiap.snackapp.adapters.driven.infra.messaging.configuration.SnackAppPedidoAMQPConfiguration.PAYMENT_STATUS_QUEUE;
+
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "snackapp.amqp.listeners.payment-status.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class OrderPaymentStatusUpdatedListener {
     private final OrderUseCase orderUseCase;
+    private final ProcessedMessageStore processedMessages;
 
-    @RabbitListener(queues = "order.payment.status.queue")
-    public void handlePaymentStatusUpdated(OrderPaymentStatusUpdatedMessage message) {
-        OrderDefinition order = orderUseCase.updateOrderStatus(message.orderId(), new OrderStatusUpdateRequest(message.status()));
-        if (order.getStatus().equals(OrderStatus.PAGAMENTO_APROVADO)) {
-            orderUseCase.sendOrderToKitchen(order);
-        } else if (order.getStatus().equals(OrderStatus.PAGAMENTO_RECUSADO)) {
-            orderUseCase.updateOrderStatus(message.orderId(), new OrderStatusUpdateRequest(OrderStatus.CANCELADO));
-        }
+    @RabbitListener(id = PAYMENT_STATUS_LISTENER, queues = PAYMENT_STATUS_QUEUE, containerFactory = "paymentStatusContainerFactory")
+    public void handlePaymentStatusUpdated(OrderPaymentStatusUpdatedMessage message,
+                                           @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        // Sem message-id, o par pedido/status identifica a mensagem
+        String key = messageId != null ? messageId : "payment-status:" + message.orderId() + ":" + message.status();
+        processedMessages.processOnce(key, () -> orderUseCase.applyPaymentStatus(message.orderId(), message.status()));
     }
 }
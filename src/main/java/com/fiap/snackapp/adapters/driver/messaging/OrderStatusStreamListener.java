@@ -0,0 +1,26 @@
+package com.fiap.snackapp.adapters.driver.messaging;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.OrderStatusStreamEvent;
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.OrderStatusStreamPublisher;
+import com.fiap.snackapp.adapters.driver.api.stream.OrderStatusStream;
+import com.fiap.snackapp.core.application.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OrderStatusStreamListener {
+
+    private final OrderStatusStreamPublisher publisher;
+    private final OrderStatusStream stream;
+
+    // Fila exclusiva por réplica: o painel pode estar conectado em qualquer instância
+    @RabbitListener(queues = "#{orderStatusStreamQueue.name}")
+    public void handleStatusChanged(OrderStatusStreamEvent event) {
+        if (publisher.origin().equals(event.origin())) {
+            return;
+        }
+        stream.deliver(new OrderStatusChangedEvent(event.orderId(), event.status(), event.qrCodeUrl(), event.paymentId()));
+    }
+}
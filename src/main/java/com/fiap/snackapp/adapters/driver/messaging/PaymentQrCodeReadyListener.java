@@ -0,0 +1,25 @@
+package com.fiap.snackapp.adapters.driver.messaging;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.PaymentQrCodeReadyEvent;
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.PaymentQrCodeReadyPublisher;
+import com.fiap.snackapp.adapters.driver.api.stream.PaymentQrCodeWaiters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PaymentQrCodeReadyListener {
+
+    private final PaymentQrCodeReadyPublisher publisher;
+    private final PaymentQrCodeWaiters waiters;
+
+    // Fila exclusiva por réplica: a espera do kiosk pode estar em qualquer instância
+    @RabbitListener(queues = "#{paymentQrCodeReadyQueue.name}")
+    public void handleQrCodeReady(PaymentQrCodeReadyEvent event) {
+        if (publisher.origin().equals(event.origin())) {
+            return;
+        }
+        waiters.complete(event.orderId(), event.qrCodeUrl(), event.paymentId());
+    }
+}
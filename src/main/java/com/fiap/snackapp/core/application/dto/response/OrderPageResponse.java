@@ -0,0 +1,8 @@
+package com.fiap.snackapp.core.application.dto.response;
+
+import java.util.List;
+
+public record OrderPageResponse(
+        List<OrderResponse> items,
+        Long next
+) { }
@@ -0,0 +1,8 @@
+package com.fiap.snackapp.core.application.dto.response;
+
+public record OrderPaymentQrCodeResponse(
+        Long orderId,
+        String qrCodeUrl,
+        String paymentId
+) {
+}
@@ -0,0 +1,10 @@
+package com.fiap.snackapp.core.application.dto.response;
+
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+
+import java.util.Map;
+
+public record OrderStatusCountResponse(
+        Map<OrderStatus, Long> counts,
+        long total
+) { }
@@ -0,0 +1,11 @@
+package com.fiap.snackapp.core.application.event;
+
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+
+public record OrderStatusChangedEvent(
+        Long orderId,
+        OrderStatus status,
+        String qrCodeUrl,
+        String paymentId
+) {
+}
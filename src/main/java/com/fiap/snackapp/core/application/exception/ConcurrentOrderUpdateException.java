@@ -0,0 +1,7 @@
+package com.fiap.snackapp.core.application.exception;
+
+public class ConcurrentOrderUpdateException extends RuntimeException {
+    public ConcurrentOrderUpdateException(String message) {
+        super(message);
+    }
+}
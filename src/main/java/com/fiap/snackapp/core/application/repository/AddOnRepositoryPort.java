@@ -4,12 +4,14 @@ import com.fiap.snackapp.core.application.dto.request.AddOnUpdateRequest;
 import com.fiap.snackapp.core.domain.model.AddOnDefinition;
 import com.fiap.snackapp.core.domain.enums.Category;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface AddOnRepositoryPort {
     AddOnDefinition save(AddOnDefinition addOnDefinition);
     Optional<AddOnDefinition> findById(Long id);
+    List<AddOnDefinition> findAllByIds(Collection<Long> ids);
     List<AddOnDefinition> findByFilters(Boolean active, Category category);
     AddOnDefinition update(Long id, AddOnUpdateRequest addOnUpdateRequest);
 }
\ No newline at end of file
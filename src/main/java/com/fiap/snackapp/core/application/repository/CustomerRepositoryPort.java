@@ -9,4 +9,5 @@ import java.util.Optional;
 public interface CustomerRepositoryPort {
     CustomerDefinition save(CustomerDefinition user);
     Optional<CustomerDefinition> findByCpf(CPF cpf);
+    CustomerDefinition saveIfAbsent(CustomerDefinition customer);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.fiap.snackapp.core.application.repository;
+
+import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+
+import java.util.List;
+
+public interface OrderReadRepositoryPort {
+    List<OrderResponse> findByFilters(List<OrderStatus> orderStatus, Long afterId, int limit);
+}
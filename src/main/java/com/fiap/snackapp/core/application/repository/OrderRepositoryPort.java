@@ -1,13 +1,20 @@
 package com.fiap.snackapp.core.application.repository;
 
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
 import com.fiap.snackapp.core.domain.model.OrderDefinition;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface OrderRepositoryPort {
     OrderDefinition save(OrderDefinition order);
     Optional<OrderDefinition> findById(Long id);
-    List<OrderDefinition> findByFilters(List<OrderStatus> orderStatus);
-}
\ No newline at end of file
+    List<OrderDefinition> findAllByIds(Collection<Long> ids);
+    boolean updateStatus(Long id, Collection<OrderStatus> expectedStatus, OrderStatus newStatus);
+    Map<Long, OrderStatus> updateStatuses(Collection<Long> ids, Collection<OrderStatus> expectedStatus, OrderStatus newStatus);
+    Map<Long, OrderStatus> updatePaymentDetails(List<OrderPaymentCreatedMessageResponse> payments);
+    Map<OrderStatus, Long> countByStatus();
+}
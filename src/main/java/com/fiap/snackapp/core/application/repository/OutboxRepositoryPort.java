@@ -0,0 +1,5 @@
+package com.fiap.snackapp.core.application.repository;
+
+public interface OutboxRepositoryPort {
+    void enqueue(String exchange, String routingKey, Object payload);
+}
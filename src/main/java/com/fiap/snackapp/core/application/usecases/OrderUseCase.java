@@ -3,27 +3,40 @@ package com.fiap.snackapp.core.application.usecases;
 import com.fiap.snackapp.core.application.dto.request.OrderItemsRequest;
 import com.fiap.snackapp.core.application.dto.request.OrderPaymentCreateRequest;
 import com.fiap.snackapp.core.application.dto.request.OrderStatusUpdateRequest;
+import com.fiap.snackapp.core.application.dto.response.OrderPageResponse;
 import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentStatusUpdatedMessage;
 import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderStatusCountResponse;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
-import com.fiap.snackapp.core.domain.model.OrderDefinition;
 
 import java.util.List;
+import java.util.Set;
 
 public interface OrderUseCase {
     OrderResponse initOrder(String cpf);
 
     OrderResponse addItems(Long orderId, OrderItemsRequest request);
 
-    OrderDefinition updateOrderStatus(Long orderId, OrderStatusUpdateRequest request);
+    void updateOrderStatus(Long orderId, OrderStatusUpdateRequest request);
 
-    List<OrderResponse> listAllOrdersByFilters(List<OrderStatus> orderStatus);
+    void applyStatusTransitions(Long orderId, List<OrderStatus> transitions);
+
+    void applyPaymentStatus(Long orderId, OrderStatus paymentStatus);
+
+    List<OrderPaymentStatusUpdatedMessage> applyPaymentStatuses(List<OrderPaymentStatusUpdatedMessage> messages);
+
+    OrderPageResponse listAllOrdersByFilters(List<OrderStatus> orderStatus, Long cursor, Integer size);
 
     OrderResponse listOrderById(Long orderId);
 
+    OrderStatusCountResponse countOrdersByStatus(List<OrderStatus> orderStatus);
+
     void requestOrderPaymentCreation(OrderPaymentCreateRequest orderPaymentCreateRequest);
 
     void updateOrderWithQrCode(OrderPaymentCreatedMessageResponse orderPaymentCreatedMessageResponse);
 
-    void sendOrderToKitchen(OrderDefinition order);
+    Set<Long> updateOrdersWithQrCode(List<OrderPaymentCreatedMessageResponse> responses);
+
+    void sendOrderToKitchen(Long orderId);
 }
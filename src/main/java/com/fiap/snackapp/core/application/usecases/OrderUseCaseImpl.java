@@ -1,25 +1,44 @@
 package com.fiap.snackapp.core.application.usecases;
 
 import com.fiap.snackapp.core.application.dto.request.*;
+import com.fiap.snackapp.core.application.dto.response.OrderPageResponse;
 import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentStatusUpdatedMessage;
 import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderStatusCountResponse;
+import com.fiap.snackapp.core.application.event.OrderStatusChangedEvent;
+import com.fiap.snackapp.core.application.exception.ConcurrentOrderUpdateException;
 import com.fiap.snackapp.core.application.exception.ResourceNotFoundException;
 import com.fiap.snackapp.core.application.mapper.OrderItemMapper;
 import com.fiap.snackapp.core.application.mapper.OrderMapper;
 import com.fiap.snackapp.core.application.repository.AddOnRepositoryPort;
 import com.fiap.snackapp.core.application.repository.CustomerRepositoryPort;
+import com.fiap.snackapp.core.application.repository.OrderReadRepositoryPort;
 import com.fiap.snackapp.core.application.repository.OrderRepositoryPort;
+import com.fiap.snackapp.core.application.repository.OutboxRepositoryPort;
 import com.fiap.snackapp.core.application.repository.ProductRepositoryPort;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
 import com.fiap.snackapp.core.domain.model.*;
 import com.fiap.snackapp.core.domain.vo.CPF;
 import com.fiap.snackapp.core.domain.vo.Email;
 import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,14 +46,18 @@ import java.util.stream.Collectors;
 public class OrderUseCaseImpl implements OrderUseCase {
 
     private final OrderRepositoryPort orderRepository;
+    private final OrderReadRepositoryPort orderReadRepository;
     private final CustomerRepositoryPort customerRepository;
     private final ProductRepositoryPort productRepository;
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
     private final AddOnRepositoryPort addOnRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxRepositoryPort outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String ORDER_NOT_FOUND = "Pedido não encontrado: ";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Override
     public OrderResponse initOrder(String cpf) {
@@ -42,7 +65,7 @@ public class OrderUseCaseImpl implements OrderUseCase {
         CPF inputCpf = new CPF(cpf);
 
         customer = customerRepository.findByCpf(inputCpf)
-                .orElseGet(() -> customerRepository.save(new CustomerDefinition(null, "Cliente", new Email("default@email.com"), inputCpf)));
+                .orElseGet(() -> customerRepository.saveIfAbsent(new CustomerDefinition(null, "Cliente", new Email("default@email.com"), inputCpf)));
 
         OrderDefinition order = orderMapper.toOrderDomain(customer);
         OrderDefinition savedOrder = orderRepository.save(order);
@@ -55,8 +78,11 @@ public class OrderUseCaseImpl implements OrderUseCase {
         OrderDefinition order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException(ORDER_NOT_FOUND + orderId));
 
+        Map<Long, ProductDefinition> products = findProducts(request.items());
+        Map<Long, AddOnDefinition> addOns = findAddOns(request.items());
+
         for (ItemRequest itemReq : request.items()) {
-            ProductDefinition product = productRepository.findById(itemReq.productId())
+            ProductDefinition product = Optional.ofNullable(products.get(itemReq.productId()))
                     .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado: " + itemReq.productId()));
 
             List<AppliedAddOn> appliedAddOns =
@@ -64,7 +90,7 @@ public class OrderUseCaseImpl implements OrderUseCase {
                             ? new ArrayList<>()
                             : itemReq.addOns().stream()
                             .map(addOnReq -> {
-                                AddOnDefinition addOn = addOnRepository.findById(addOnReq.addOnId())
+                                AddOnDefinition addOn = Optional.ofNullable(addOns.get(addOnReq.addOnId()))
                                         .orElseThrow(() -> new ResourceNotFoundException("Adicional não encontrado: " + addOnReq.addOnId()));
                                 return new AppliedAddOn(
                                         new AddOnDefinition(addOn.id(), addOn.name(), addOn.category(), addOn.price()),
@@ -81,12 +107,40 @@ public class OrderUseCaseImpl implements OrderUseCase {
         return orderMapper.toResponse(updated);
     }
 
+    private Map<Long, ProductDefinition> findProducts(List<ItemRequest> items) {
+        Set<Long> productIds = items.stream()
+                .map(ItemRequest::productId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return productRepository.findAllByIds(productIds).stream()
+                .collect(Collectors.toMap(ProductDefinition::id, Function.identity()));
+    }
+
+    private Map<Long, AddOnDefinition> findAddOns(List<ItemRequest> items) {
+        Set<Long> addOnIds = items.stream()
+                .filter(item -> item.addOns() != null)
+                .flatMap(item -> item.addOns().stream())
+                .map(AddOnRequest::addOnId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        if (addOnIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return addOnRepository.findAllByIds(addOnIds).stream()
+                .collect(Collectors.toMap(AddOnDefinition::id, Function.identity()));
+    }
+
     @Override
+    @Transactional
     public void requestOrderPaymentCreation(OrderPaymentCreateRequest orderPaymentCreateRequest) {
         updateOrderStatus(orderPaymentCreateRequest.orderId(),
                 new OrderStatusUpdateRequest(OrderStatus.PAGAMENTO_PENDENTE));
 
-        rabbitTemplate.convertAndSend(
+        // Gravada na mesma transação da mudança de status; o OutboxRelay publica depois do commit
+        outboxRepository.enqueue(
                 "payment.exchange",
                 "payment.create",
                 orderPaymentCreateRequest
@@ -100,40 +154,160 @@ public class OrderUseCaseImpl implements OrderUseCase {
         order.setQrCodeUrl(response.qrCodeUrl());
         order.setPaymentId(response.paymentId());
         orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(), order.getStatus(), order.getQrCodeUrl(), order.getPaymentId()));
     }
 
     @Override
-    public void sendOrderToKitchen(OrderDefinition order) {
-        OrderToKitchenRequest orderToKitchen = orderMapper.toKitchenRequest(order);
-        rabbitTemplate.convertAndSend("kitchen.order.received", orderToKitchen);
+    @Transactional
+    public Set<Long> updateOrdersWithQrCode(List<OrderPaymentCreatedMessageResponse> responses) {
+        Map<Long, OrderStatus> updated = orderRepository.updatePaymentDetails(responses);
+        Set<Long> missing = new LinkedHashSet<>();
+        for (OrderPaymentCreatedMessageResponse response : responses) {
+            OrderStatus status = updated.get(response.orderId());
+            if (status == null) {
+                missing.add(response.orderId());
+                continue;
+            }
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                    response.orderId(), status, response.qrCodeUrl(), response.paymentId()));
+        }
+        return missing;
     }
 
     @Override
-    public OrderDefinition updateOrderStatus(Long orderId, OrderStatusUpdateRequest request) {
+    @Transactional
+    public void sendOrderToKitchen(Long orderId) {
         OrderDefinition order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException(ORDER_NOT_FOUND + orderId));
+        OrderToKitchenRequest orderToKitchen = orderMapper.toKitchenRequest(order);
+        outboxRepository.enqueue("", "kitchen.order.received", orderToKitchen);
+    }
+
+    @Override
+    public void updateOrderStatus(Long orderId, OrderStatusUpdateRequest request) {
+        transition(orderId, List.of(request.status()));
+    }
+
+    @Override
+    @Transactional
+    public void applyStatusTransitions(Long orderId, List<OrderStatus> transitions) {
+        transition(orderId, transitions);
+    }
+
+    @Override
+    @Transactional
+    public void applyPaymentStatus(Long orderId, OrderStatus paymentStatus) {
+        // Recusa cancela o pedido no mesmo UPDATE; aprovação grava a mensagem da cozinha na mesma transação
+        transition(orderId, paymentTransitions(paymentStatus));
+
+        if (paymentStatus == OrderStatus.PAGAMENTO_APROVADO) {
+            sendOrderToKitchen(orderId);
+        }
+    }
 
-        if (order.getItems().isEmpty()) {
-            throw new IllegalStateException("Não é possível mudar status de um pedido sem itens.");
+    @Override
+    @Transactional
+    public List<OrderPaymentStatusUpdatedMessage> applyPaymentStatuses(List<OrderPaymentStatusUpdatedMessage> messages) {
+        List<OrderPaymentStatusUpdatedMessage> rejected = new ArrayList<>();
+        List<OrderPaymentStatusUpdatedMessage> pending = messages;
+
+        // Cada rodada leva no máximo uma mensagem por pedido, preservando a ordem de chegada
+        while (!pending.isEmpty()) {
+            Map<Long, OrderPaymentStatusUpdatedMessage> round = new LinkedHashMap<>();
+            List<OrderPaymentStatusUpdatedMessage> next = new ArrayList<>();
+            for (OrderPaymentStatusUpdatedMessage message : pending) {
+                if (round.putIfAbsent(message.orderId(), message) != null) {
+                    next.add(message);
+                }
+            }
+
+            Map<OrderStatus, List<Long>> byStatus = round.values().stream()
+                    .collect(Collectors.groupingBy(OrderPaymentStatusUpdatedMessage::status,
+                            () -> new EnumMap<>(OrderStatus.class),
+                            Collectors.mapping(OrderPaymentStatusUpdatedMessage::orderId, Collectors.toList())));
+            byStatus.forEach((status, orderIds) -> {
+                Set<Long> updated = applyInBulk(orderIds, paymentTransitions(status));
+                orderIds.stream()
+                        .filter(orderId -> !updated.contains(orderId))
+                        .map(round::get)
+                        .forEach(rejected::add);
+                if (status == OrderStatus.PAGAMENTO_APROVADO && !updated.isEmpty()) {
+                    orderRepository.findAllByIds(updated).forEach(order ->
+                            outboxRepository.enqueue("", "kitchen.order.received", orderMapper.toKitchenRequest(order)));
+                }
+            });
+            pending = next;
+        }
+        return rejected;
+    }
+
+    // Um UPDATE para todos os pedidos do grupo; devolve os que de fato mudaram de status
+    private Set<Long> applyInBulk(List<Long> orderIds, List<OrderStatus> transitions) {
+        Set<Long> updated = orderRepository.updateStatuses(orderIds,
+                predecessorsOf(transitions.getFirst()), transitions.getLast()).keySet();
+        orderIds.stream()
+                .filter(updated::contains)
+                .forEach(orderId -> transitions.forEach(status ->
+                        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, status, null, null))));
+        return updated;
+    }
+
+    private List<OrderStatus> paymentTransitions(OrderStatus paymentStatus) {
+        return paymentStatus == OrderStatus.PAGAMENTO_RECUSADO
+                ? List.of(OrderStatus.PAGAMENTO_RECUSADO, OrderStatus.CANCELADO)
+                : List.of(paymentStatus);
+    }
+
+    // A cadeia é validada em memória e aplicada com um único UPDATE condicional do primeiro
+    // predecessor direto para o último status
+    private void transition(Long orderId, List<OrderStatus> transitions) {
+        if (transitions == null || transitions.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um status para a transição.");
+        }
+        for (int i = 1; i < transitions.size(); i++) {
+            if (!isNextValid(transitions.get(i - 1), transitions.get(i))) {
+                throw new IllegalStateException("Transição de status inválida: "
+                        + transitions.get(i - 1) + " → " + transitions.get(i));
+            }
         }
 
-        OrderStatus current = order.getStatus();
-        OrderStatus next = request.status();
+        OrderStatus first = transitions.getFirst();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (orderRepository.updateStatus(orderId, predecessorsOf(first), transitions.getLast())) {
+                transitions.forEach(status ->
+                        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, status, null, null)));
+                return;
+            }
+
+            // Nenhuma linha alterada: recarrega o pedido apenas para identificar o motivo
+            OrderDefinition order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException(ORDER_NOT_FOUND + orderId));
 
-        if (!isNextValid(current, next)) {
-            throw new IllegalStateException("Transição de status inválida: " + current + " → " + next);
+            if (order.getItems().isEmpty()) {
+                throw new IllegalStateException("Não é possível mudar status de um pedido sem itens.");
+            }
+            if (!isNextValid(order.getStatus(), first)) {
+                throw new IllegalStateException("Transição de status inválida: " + order.getStatus() + " → " + first);
+            }
+            // O status mudou entre o UPDATE e a leitura e agora admite a transição: tenta mais uma vez
         }
 
-        order.setStatus(next);
-        return orderRepository.save(order);
+        throw new ConcurrentOrderUpdateException(
+                "O pedido " + orderId + " foi alterado concorrentemente. Tente novamente.");
     }
 
     @Override
-    public List<OrderResponse> listAllOrdersByFilters(List<OrderStatus> orderStatus) {
-        return orderRepository.findByFilters(orderStatus)
-                .stream()
-                .map(orderMapper::toResponse)
-                .toList();
+    public OrderPageResponse listAllOrdersByFilters(List<OrderStatus> orderStatus, Long cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+
+        // Busca um registro a mais para saber se existe próxima página
+        List<OrderResponse> orders = orderReadRepository.findByFilters(orderStatus, cursor, pageSize + 1);
+        boolean hasNext = orders.size() > pageSize;
+        List<OrderResponse> page = hasNext ? orders.subList(0, pageSize) : orders;
+        Long next = hasNext ? page.getLast().id() : null;
+
+        return new OrderPageResponse(page, next);
     }
 
     @Override
@@ -143,6 +317,33 @@ public class OrderUseCaseImpl implements OrderUseCase {
         return result.map(orderMapper::toResponse).orElse(null);
     }
 
+    @Override
+    public OrderStatusCountResponse countOrdersByStatus(List<OrderStatus> orderStatus) {
+        Map<OrderStatus, Long> counts = orderRepository.countByStatus();
+        List<OrderStatus> requested = (orderStatus == null || orderStatus.isEmpty())
+                ? List.of(OrderStatus.values())
+                : orderStatus;
+
+        Map<OrderStatus, Long> result = new EnumMap<>(OrderStatus.class);
+        requested.forEach(status -> result.put(status, counts.getOrDefault(status, 0L)));
+        long total = result.values().stream().mapToLong(Long::longValue).sum();
+
+        return new OrderStatusCountResponse(result, total);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private Set<OrderStatus> predecessorsOf(OrderStatus next) {
+        return Arrays.stream(OrderStatus.values())
+                .filter(current -> isNextValid(current, next))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(OrderStatus.class)));
+    }
+
     private boolean isNextValid(OrderStatus current, OrderStatus next) {
         return switch (current) {
             case INICIADO -> next == OrderStatus.PAGAMENTO_PENDENTE;
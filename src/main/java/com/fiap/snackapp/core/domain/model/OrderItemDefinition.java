@@ -4,12 +4,17 @@ import java.math.BigDecimal;
 import java.util.List;
 
 public record OrderItemDefinition(
+        Long id,
         Long productId,
         String productName,
         Integer quantity,
         BigDecimal price,
         List<AppliedAddOn> appliedAddOns
 ) {
+    public OrderItemDefinition(Long productId, String productName, Integer quantity, BigDecimal price, List<AppliedAddOn> appliedAddOns) {
+        this(null, productId, productName, quantity, price, appliedAddOns);
+    }
+
     public BigDecimal getTotalPrice() {
 
         BigDecimal addOnsTotal = appliedAddOns.stream()
@@ -18,4 +23,4 @@ public record OrderItemDefinition(
 
         return price.add(addOnsTotal).multiply(BigDecimal.valueOf(quantity));
     }
-}
\ No newline at end of file
+}
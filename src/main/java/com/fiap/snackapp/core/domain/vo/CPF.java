@@ -7,6 +7,10 @@ public record CPF(String value) {
         }
     }
 
+    public long asLong() {
+        return Long.parseLong(value);
+    }
+
     @Override
     public String toString() {
         return value;
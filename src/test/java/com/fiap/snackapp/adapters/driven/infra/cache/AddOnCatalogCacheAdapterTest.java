@@ -0,0 +1,67 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.adapters.driven.infra.cache.CatalogChangedEvent.CatalogItemType;
+import com.fiap.snackapp.adapters.driven.infra.persistence.adapter.AddOnPersistenceAdapter;
+import com.fiap.snackapp.core.application.dto.request.AddOnUpdateRequest;
+import com.fiap.snackapp.core.domain.enums.Category;
+import com.fiap.snackapp.core.domain.model.AddOnDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AddOnCatalogCacheAdapterTest {
+
+    @Mock
+    private AddOnPersistenceAdapter delegate;
+
+    @Mock
+    private CatalogChangePublisher publisher;
+
+    @InjectMocks
+    private AddOnCatalogCacheAdapter cache;
+
+    private final AddOnDefinition bacon = new AddOnDefinition(1L, "Bacon", Category.LANCHE, BigDecimal.valueOf(3), true);
+    private final AddOnDefinition onion = new AddOnDefinition(2L, "Cebola", Category.LANCHE, BigDecimal.ONE, false);
+
+    @BeforeEach
+    void warmUp() {
+        when(delegate.findByFilters(null, null)).thenReturn(List.of(bacon, onion));
+        cache.reload();
+        clearInvocations(delegate);
+    }
+
+    @Test
+    @DisplayName("deve servir leituras do snapshot sem acessar o banco")
+    void shouldServeReadsFromSnapshot() {
+        assertThat(cache.findById(2L)).contains(onion);
+        assertThat(cache.findAllByIds(Set.of(1L, 2L))).containsExactlyInAnyOrder(bacon, onion);
+        assertThat(cache.findByFilters(true, Category.LANCHE)).containsExactly(bacon);
+        assertThat(cache.hitCount()).isEqualTo(3);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("deve trocar o snapshot ao atualizar adicional")
+    void shouldSwapSnapshotOnUpdate() {
+        var request = new AddOnUpdateRequest(null, null, null, true);
+        var activated = new AddOnDefinition(2L, "Cebola", Category.LANCHE, BigDecimal.ONE, true);
+        when(delegate.update(2L, request)).thenReturn(activated);
+
+        cache.update(2L, request);
+
+        assertThat(cache.findByFilters(true, null)).containsExactly(bacon, activated);
+        verify(publisher).publish(CatalogItemType.ADD_ON, 2L);
+    }
+}
@@ -0,0 +1,67 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.adapters.driven.infra.cache.CatalogChangedEvent.CatalogItemType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogChangedListenerTest {
+
+    private static final String OWN_ORIGIN = "node-a";
+    private static final String OTHER_ORIGIN = "node-b";
+
+    @Mock
+    private CatalogChangePublisher publisher;
+
+    @Mock
+    private ProductCatalogCacheAdapter productCache;
+
+    @Mock
+    private AddOnCatalogCacheAdapter addOnCache;
+
+    @InjectMocks
+    private CatalogChangedListener listener;
+
+    @BeforeEach
+    void setUp() {
+        when(publisher.origin()).thenReturn(OWN_ORIGIN);
+    }
+
+    @Test
+    @DisplayName("deve ignorar eventos publicados pela própria instância")
+    void shouldIgnoreOwnEvents() {
+        listener.handleCatalogChanged(new CatalogChangedEvent(CatalogItemType.PRODUCT, 1L, 1, OWN_ORIGIN));
+
+        verifyNoInteractions(productCache, addOnCache);
+    }
+
+    @Test
+    @DisplayName("deve atualizar apenas o item alterado")
+    void shouldRefreshChangedItem() {
+        listener.handleCatalogChanged(new CatalogChangedEvent(CatalogItemType.PRODUCT, 1L, 1, OTHER_ORIGIN));
+        listener.handleCatalogChanged(new CatalogChangedEvent(CatalogItemType.ADD_ON, 7L, 2, OTHER_ORIGIN));
+
+        verify(productCache).refresh(1L);
+        verify(addOnCache).refresh(7L);
+        verify(productCache, never()).reload();
+        verify(addOnCache, never()).reload();
+    }
+
+    @Test
+    @DisplayName("deve recarregar o catálogo inteiro ao detectar evento perdido")
+    void shouldReloadOnVersionGap() {
+        listener.handleCatalogChanged(new CatalogChangedEvent(CatalogItemType.PRODUCT, 1L, 1, OTHER_ORIGIN));
+        listener.handleCatalogChanged(new CatalogChangedEvent(CatalogItemType.PRODUCT, 2L, 3, OTHER_ORIGIN));
+
+        verify(productCache).reload();
+        verify(addOnCache).reload();
+        verify(productCache, never()).refresh(2L);
+    }
+}
@@ -0,0 +1,96 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.adapter.CustomerPersistenceAdapter;
+import com.fiap.snackapp.core.domain.model.CustomerDefinition;
+import com.fiap.snackapp.core.domain.vo.CPF;
+import com.fiap.snackapp.core.domain.vo.Email;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerCacheAdapterTest {
+
+    @Mock
+    private CustomerPersistenceAdapter delegate;
+
+    @InjectMocks
+    private CustomerCacheAdapter cache;
+
+    private final CPF cpf = new CPF("01234567890");
+    private final CustomerDefinition customer =
+            new CustomerDefinition(1L, "Maria", new Email("maria@email.com"), cpf);
+
+    @Test
+    @DisplayName("deve consultar o banco apenas na primeira busca pelo CPF")
+    void shouldHitDatabaseOnlyOnce() {
+        when(delegate.findByCpf(cpf)).thenReturn(Optional.of(customer));
+
+        assertThat(cache.findByCpf(cpf)).contains(customer);
+        assertThat(cache.findByCpf(new CPF("01234567890"))).contains(customer);
+
+        verify(delegate, times(1)).findByCpf(cpf);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("deve publicar acertos e falhas do cache como métricas")
+    void shouldPublishHitRatioMetrics() {
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        when(delegate.findByCpf(cpf)).thenReturn(Optional.of(customer));
+
+        cache.findByCpf(cpf);
+        cache.findByCpf(cpf);
+        cache.findByCpf(cpf);
+
+        assertThat(registry.get("cache.gets").tags("cache", CustomerCacheAdapter.CACHE_NAME, "result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.gets").tags("cache", CustomerCacheAdapter.CACHE_NAME, "result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("não deve guardar CPF inexistente")
+    void shouldNotCacheAbsentCustomer() {
+        when(delegate.findByCpf(cpf)).thenReturn(Optional.empty());
+
+        assertThat(cache.findByCpf(cpf)).isEmpty();
+        assertThat(cache.findByCpf(cpf)).isEmpty();
+
+        verify(delegate, times(2)).findByCpf(cpf);
+    }
+
+    @Test
+    @DisplayName("deve guardar o cliente salvo")
+    void shouldCacheSavedCustomer() {
+        var newCustomer = new CustomerDefinition(null, "Maria", new Email("maria@email.com"), cpf);
+        when(delegate.save(newCustomer)).thenReturn(customer);
+
+        cache.save(newCustomer);
+
+        assertThat(cache.findByCpf(cpf)).contains(customer);
+        verify(delegate, never()).findByCpf(any());
+    }
+
+    @Test
+    @DisplayName("deve guardar o cliente retornado pelo insert-or-get")
+    void shouldCacheCustomerFromSaveIfAbsent() {
+        var newCustomer = new CustomerDefinition(null, "Cliente", new Email("default@email.com"), cpf);
+        when(delegate.saveIfAbsent(newCustomer)).thenReturn(customer);
+
+        assertThat(cache.saveIfAbsent(newCustomer)).isEqualTo(customer);
+        assertThat(cache.findByCpf(cpf)).contains(customer);
+        verify(delegate, never()).findByCpf(any());
+    }
+}
@@ -0,0 +1,203 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.adapter.OrderPersistenceAdapter;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import com.fiap.snackapp.core.domain.model.OrderDefinition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusCountAdapterTest {
+
+    @Mock
+    private OrderPersistenceAdapter delegate;
+
+    @Mock
+    private OrderStatusCountPublisher countPublisher;
+
+    @InjectMocks
+    private OrderStatusCountAdapter adapter;
+
+    @Test
+    @DisplayName("deve reconstruir a tabela a partir da contagem agrupada do banco")
+    void shouldRebuildFromDatabase() {
+        when(delegate.countByStatus()).thenReturn(Map.of(OrderStatus.INICIADO, 3L, OrderStatus.CONCLUIDO, 7L));
+
+        adapter.reconcile();
+
+        var counts = adapter.countByStatus();
+        assertThat(counts).containsEntry(OrderStatus.INICIADO, 3L)
+                .containsEntry(OrderStatus.CONCLUIDO, 7L)
+                .containsEntry(OrderStatus.PAGAMENTO_PENDENTE, 0L)
+                .hasSize(OrderStatus.values().length);
+    }
+
+    @Test
+    @DisplayName("deve contar apenas pedidos novos, sem consultar o banco")
+    void shouldCountNewOrder() {
+        var order = new OrderDefinition(null, null, OrderStatus.INICIADO, new ArrayList<>(), null, null);
+        var saved = new OrderDefinition(1L, null, OrderStatus.INICIADO, new ArrayList<>(), null, null);
+        when(delegate.save(order)).thenReturn(saved);
+        when(delegate.save(saved)).thenReturn(saved);
+
+        adapter.save(order);
+        adapter.save(saved);
+
+        assertThat(adapter.countByStatus()).containsEntry(OrderStatus.INICIADO, 1L);
+        verify(delegate, never()).countByStatus();
+    }
+
+    @Test
+    @DisplayName("deve mover a contagem do predecessor que de fato casou")
+    void shouldMoveCountFromMatchedPredecessor() {
+        when(delegate.countByStatus()).thenReturn(Map.of(OrderStatus.INICIADO, 1L, OrderStatus.PAGAMENTO_RECUSADO, 1L));
+        adapter.reconcile();
+        var expected = EnumSet.of(OrderStatus.INICIADO, OrderStatus.PAGAMENTO_RECUSADO);
+        when(delegate.updateStatuses(List.of(1L), expected, OrderStatus.PAGAMENTO_PENDENTE))
+                .thenReturn(Map.of(1L, OrderStatus.PAGAMENTO_RECUSADO));
+
+        var updated = adapter.updateStatus(1L, expected, OrderStatus.PAGAMENTO_PENDENTE);
+
+        assertThat(updated).isTrue();
+        verify(delegate, never()).updateStatus(any(), any(), any());
+        assertThat(adapter.countByStatus())
+                .containsEntry(OrderStatus.INICIADO, 1L)
+                .containsEntry(OrderStatus.PAGAMENTO_RECUSADO, 0L)
+                .containsEntry(OrderStatus.PAGAMENTO_PENDENTE, 1L);
+    }
+
+    @Test
+    @DisplayName("deve mover a contagem de cada pedido atualizado em lote a partir do status anterior")
+    void shouldMoveCountsForBulkUpdate() {
+        when(delegate.countByStatus()).thenReturn(Map.of(OrderStatus.PAGAMENTO_PENDENTE, 3L));
+        adapter.reconcile();
+        when(delegate.updateStatuses(List.of(1L, 2L, 3L), Set.of(OrderStatus.PAGAMENTO_PENDENTE), OrderStatus.CANCELADO))
+                .thenReturn(Map.of(1L, OrderStatus.PAGAMENTO_PENDENTE, 3L, OrderStatus.PAGAMENTO_PENDENTE));
+
+        var updated = adapter.updateStatuses(List.of(1L, 2L, 3L), Set.of(OrderStatus.PAGAMENTO_PENDENTE), OrderStatus.CANCELADO);
+
+        assertThat(updated).containsOnlyKeys(1L, 3L);
+        assertThat(adapter.countByStatus())
+                .containsEntry(OrderStatus.PAGAMENTO_PENDENTE, 1L)
+                .containsEntry(OrderStatus.CANCELADO, 2L);
+    }
+
+    @Test
+    @DisplayName("não deve alterar contagens quando nenhuma transição acontece")
+    void shouldKeepCountsWhenTransitionFails() {
+        when(delegate.updateStatus(any(), any(), any())).thenReturn(false);
+
+        assertThat(adapter.updateStatus(1L, List.of(OrderStatus.PAGAMENTO_PENDENTE), OrderStatus.PAGAMENTO_APROVADO))
+                .isFalse();
+        assertThat(adapter.updateStatus(1L, List.of(), OrderStatus.INICIADO)).isFalse();
+
+        assertThat(adapter.countByStatus().values()).containsOnly(0L);
+        verify(delegate, times(1)).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("deve aplicar as contagens só depois do commit quando houver transação ativa")
+    void shouldApplyCountsAfterCommit() {
+        when(delegate.countByStatus()).thenReturn(Map.of(OrderStatus.PAGAMENTO_PENDENTE, 1L));
+        adapter.reconcile();
+        when(delegate.updateStatus(1L, Set.of(OrderStatus.PAGAMENTO_PENDENTE), OrderStatus.PAGAMENTO_APROVADO))
+                .thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            adapter.updateStatus(1L, Set.of(OrderStatus.PAGAMENTO_PENDENTE), OrderStatus.PAGAMENTO_APROVADO);
+
+            assertThat(adapter.countByStatus()).containsEntry(OrderStatus.PAGAMENTO_PENDENTE, 1L)
+                    .containsEntry(OrderStatus.PAGAMENTO_APROVADO, 0L);
+
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(adapter.countByStatus()).containsEntry(OrderStatus.PAGAMENTO_PENDENTE, 0L)
+                .containsEntry(OrderStatus.PAGAMENTO_APROVADO, 1L);
+        verify(countPublisher).publish(Map.of(OrderStatus.PAGAMENTO_PENDENTE, -1L, OrderStatus.PAGAMENTO_APROVADO, 1L));
+    }
+
+    @Test
+    @DisplayName("não deve contar nem publicar transições desfeitas por rollback")
+    void shouldIgnoreRolledBackTransitions() {
+        when(delegate.updateStatus(1L, Set.of(OrderStatus.PAGAMENTO_PENDENTE), OrderStatus.PAGAMENTO_APROVADO))
+                .thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            adapter.updateStatus(1L, Set.of(OrderStatus.PAGAMENTO_PENDENTE), OrderStatus.PAGAMENTO_APROVADO);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(adapter.countByStatus().values()).containsOnly(0L);
+        verifyNoInteractions(countPublisher);
+    }
+
+    @Test
+    @DisplayName("deve aplicar as variações publicadas pelas outras réplicas")
+    void shouldApplyRemoteDeltas() {
+        adapter.applyRemote(Map.of(OrderStatus.INICIADO, -1L, OrderStatus.PAGAMENTO_PENDENTE, 1L));
+
+        assertThat(adapter.countByStatus()).containsEntry(OrderStatus.INICIADO, -1L)
+                .containsEntry(OrderStatus.PAGAMENTO_PENDENTE, 1L);
+        verifyNoInteractions(countPublisher);
+    }
+
+    @Test
+    @DisplayName("deve refazer a recontagem quando um commit acontece durante a leitura do banco")
+    void shouldRetryReconcileWhenCommitOverlapsRead() {
+        when(delegate.countByStatus()).thenReturn(Map.of(OrderStatus.PAGAMENTO_PENDENTE, 1L));
+        adapter.reconcile();
+        when(delegate.updateStatus(1L, Set.of(OrderStatus.PAGAMENTO_PENDENTE), OrderStatus.PAGAMENTO_APROVADO))
+                .thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            adapter.updateStatus(1L, Set.of(OrderStatus.PAGAMENTO_PENDENTE), OrderStatus.PAGAMENTO_APROVADO);
+            // A primeira leitura não enxerga o commit, que termina enquanto ela roda; a segunda já enxerga
+            when(delegate.countByStatus())
+                    .thenAnswer(invocation -> {
+                        complete(TransactionSynchronization.STATUS_COMMITTED);
+                        return Map.of(OrderStatus.PAGAMENTO_PENDENTE, 1L);
+                    })
+                    .thenReturn(Map.of(OrderStatus.PAGAMENTO_APROVADO, 1L));
+
+            adapter.reconcile();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(adapter.countByStatus()).containsEntry(OrderStatus.PAGAMENTO_PENDENTE, 0L)
+                .containsEntry(OrderStatus.PAGAMENTO_APROVADO, 1L);
+        verify(delegate, times(3)).countByStatus();
+    }
+
+    private void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> {
+            sync.beforeCommit(false);
+            sync.afterCompletion(status);
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusCountListenerTest {
+
+    private static final String OWN_ORIGIN = "node-a";
+    private static final String OTHER_ORIGIN = "node-b";
+    private static final Map<OrderStatus, Long> DELTAS = Map.of(OrderStatus.INICIADO, -1L, OrderStatus.PAGAMENTO_PENDENTE, 1L);
+
+    @Mock
+    private OrderStatusCountPublisher publisher;
+
+    @Mock
+    private OrderStatusCountAdapter counts;
+
+    @InjectMocks
+    private OrderStatusCountListener listener;
+
+    @BeforeEach
+    void setUp() {
+        when(publisher.origin()).thenReturn(OWN_ORIGIN);
+    }
+
+    @Test
+    @DisplayName("deve ignorar variações publicadas pela própria instância")
+    void shouldIgnoreOwnEvents() {
+        listener.handleCountChanged(new OrderStatusCountEvent(DELTAS, 1, OWN_ORIGIN));
+
+        verifyNoInteractions(counts);
+    }
+
+    @Test
+    @DisplayName("deve aplicar variações de outra réplica em sequência sem recontar")
+    void shouldApplyRemoteDeltas() {
+        listener.handleCountChanged(new OrderStatusCountEvent(DELTAS, 1, OTHER_ORIGIN));
+        listener.handleCountChanged(new OrderStatusCountEvent(DELTAS, 2, OTHER_ORIGIN));
+
+        verify(counts, times(2)).applyRemote(DELTAS);
+        verify(counts, never()).reconcile();
+    }
+
+    @Test
+    @DisplayName("deve recontar no banco quando perceber lacuna de versão")
+    void shouldReconcileOnVersionGap() {
+        listener.handleCountChanged(new OrderStatusCountEvent(DELTAS, 1, OTHER_ORIGIN));
+        listener.handleCountChanged(new OrderStatusCountEvent(DELTAS, 3, OTHER_ORIGIN));
+
+        verify(counts).reconcile();
+    }
+}
@@ -0,0 +1,175 @@
+package com.fiap.snackapp.adapters.driven.infra.cache;
+
+import com.fiap.snackapp.adapters.driven.infra.cache.CatalogChangedEvent.CatalogItemType;
+import com.fiap.snackapp.adapters.driven.infra.persistence.adapter.ProductPersistenceAdapter;
+import com.fiap.snackapp.core.application.dto.request.ProductUpdateRequest;
+import com.fiap.snackapp.core.domain.enums.Category;
+import com.fiap.snackapp.core.domain.model.ProductDefinition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogCacheAdapterTest {
+
+    @Mock
+    private ProductPersistenceAdapter delegate;
+
+    @Mock
+    private CatalogChangePublisher publisher;
+
+    @InjectMocks
+    private ProductCatalogCacheAdapter cache;
+
+    private final ProductDefinition burger =
+            new ProductDefinition(1L, "X-Burger", Category.LANCHE, BigDecimal.valueOf(25), "X-Burger", true);
+    private final ProductDefinition soda =
+            new ProductDefinition(2L, "Refrigerante", Category.BEBIDA, BigDecimal.valueOf(6), "Lata", true);
+    private final ProductDefinition pudding =
+            new ProductDefinition(3L, "Pudim", Category.SOBREMESA, BigDecimal.valueOf(9), "Pudim", false);
+
+    @Nested
+    @DisplayName("com catálogo pré-carregado")
+    class WarmCacheTests {
+
+        @BeforeEach
+        void warmUp() {
+            when(delegate.findByFilters(null, null)).thenReturn(List.of(pudding, burger, soda));
+            cache.reload();
+            clearInvocations(delegate);
+        }
+
+        @Test
+        @DisplayName("deve buscar por id sem acessar o banco")
+        void shouldFindByIdFromSnapshot() {
+            assertThat(cache.findById(1L)).contains(burger);
+            assertThat(cache.hitCount()).isEqualTo(1);
+            assertThat(cache.missCount()).isZero();
+            verifyNoInteractions(delegate);
+        }
+
+        @Test
+        @DisplayName("deve buscar vários ids sem acessar o banco")
+        void shouldFindAllByIdsFromSnapshot() {
+            assertThat(cache.findAllByIds(Set.of(1L, 2L))).containsExactlyInAnyOrder(burger, soda);
+            verifyNoInteractions(delegate);
+        }
+
+        @Test
+        @DisplayName("deve filtrar por ativo e categoria sem acessar o banco, ordenado por id")
+        void shouldFilterFromSnapshot() {
+            assertThat(cache.findByFilters(true, null)).containsExactly(burger, soda);
+            assertThat(cache.findByFilters(null, Category.SOBREMESA)).containsExactly(pudding);
+            assertThat(cache.findByFilters(false, Category.LANCHE)).isEmpty();
+            verifyNoInteractions(delegate);
+        }
+
+        @Test
+        @DisplayName("deve buscar no banco apenas os ids ausentes e guardá-los")
+        void shouldLoadOnlyMissingIds() {
+            var fries = new ProductDefinition(4L, "Batata", Category.ACOMPANHAMENTO, BigDecimal.TEN, "Batata", true);
+            when(delegate.findAllByIds(List.of(4L))).thenReturn(List.of(fries));
+
+            assertThat(cache.findAllByIds(List.of(1L, 4L))).containsExactlyInAnyOrder(burger, fries);
+            assertThat(cache.findById(4L)).contains(fries);
+            assertThat(cache.missCount()).isEqualTo(1);
+            verify(delegate).findAllByIds(List.of(4L));
+        }
+
+        @Test
+        @DisplayName("deve publicar acertos e falhas como métricas do cache")
+        void shouldPublishHitAndMissMetrics() {
+            var registry = new SimpleMeterRegistry();
+            cache.bindTo(registry);
+            when(delegate.findAllByIds(List.of(99L))).thenReturn(List.of());
+
+            cache.findById(1L);
+            cache.findById(2L);
+            cache.findById(99L);
+
+            assertThat(registry.get(CatalogCache.CACHE_METRIC).tags("cache", "product", "result", "hit")
+                    .functionCounter().count()).isEqualTo(2);
+            assertThat(registry.get(CatalogCache.CACHE_METRIC).tags("cache", "product", "result", "miss")
+                    .functionCounter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("deve retornar vazio para id inexistente")
+        void shouldReturnEmptyForUnknownId() {
+            when(delegate.findAllByIds(List.of(99L))).thenReturn(List.of());
+
+            assertThat(cache.findById(99L)).isEmpty();
+            assertThat(cache.missCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("deve trocar o snapshot ao atualizar produto")
+        void shouldSwapSnapshotOnUpdate() {
+            var request = new ProductUpdateRequest(null, null, BigDecimal.valueOf(30), null, false);
+            var updated = new ProductDefinition(1L, "X-Burger", Category.LANCHE, BigDecimal.valueOf(30), "X-Burger", false);
+            when(delegate.update(1L, request)).thenReturn(updated);
+
+            cache.update(1L, request);
+
+            assertThat(cache.findById(1L)).contains(updated);
+            assertThat(cache.findByFilters(true, null)).containsExactly(soda);
+            verify(publisher).publish(CatalogItemType.PRODUCT, 1L);
+        }
+
+        @Test
+        @DisplayName("deve incluir produto salvo no snapshot")
+        void shouldAddSavedProduct() {
+            var newProduct = new ProductDefinition("Suco", Category.BEBIDA, BigDecimal.valueOf(8), "Suco");
+            var saved = new ProductDefinition(5L, "Suco", Category.BEBIDA, BigDecimal.valueOf(8), "Suco", true);
+            when(delegate.save(newProduct)).thenReturn(saved);
+
+            assertThat(cache.save(newProduct)).isEqualTo(saved);
+            assertThat(cache.findByFilters(true, Category.BEBIDA)).containsExactly(soda, saved);
+            verify(publisher).publish(CatalogItemType.PRODUCT, 5L);
+        }
+
+        @Test
+        @DisplayName("deve recarregar apenas o id alterado em outra instância")
+        void shouldRefreshSingleId() {
+            var deactivated = new ProductDefinition(2L, "Refrigerante", Category.BEBIDA, BigDecimal.valueOf(6), "Lata", false);
+            when(delegate.findAllByIds(List.of(2L))).thenReturn(List.of(deactivated));
+
+            cache.refresh(2L);
+
+            assertThat(cache.findByFilters(true, null)).containsExactly(burger);
+            verify(delegate, never()).findByFilters(null, null);
+        }
+
+        @Test
+        @DisplayName("deve remover do snapshot id que não existe mais")
+        void shouldEvictMissingIdOnRefresh() {
+            when(delegate.findAllByIds(List.of(3L))).thenReturn(List.of());
+
+            cache.refresh(3L);
+
+            assertThat(cache.findByFilters(null, Category.SOBREMESA)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("deve delegar filtros ao banco antes do pré-carregamento")
+    void shouldDelegateFiltersBeforeWarmUp() {
+        when(delegate.findByFilters(true, Category.LANCHE)).thenReturn(List.of(burger));
+
+        assertThat(cache.findByFilters(true, Category.LANCHE)).containsExactly(burger);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+}
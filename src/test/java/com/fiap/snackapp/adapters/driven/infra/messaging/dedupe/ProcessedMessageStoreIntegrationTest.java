@@ -0,0 +1,184 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.dedupe;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.ProcessedMessageEntity;
+import com.fiap.snackapp.adapters.driven.infra.persistence.repository.SpringDataProcessedMessageJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Modo PostgreSQL do H2 para o INSERT ... ON CONFLICT DO NOTHING; sem transação do teste,
+// o store abre e confirma a própria transação
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:dedupe;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProcessedMessageStoreIntegrationTest {
+
+    @Autowired
+    private SpringDataProcessedMessageJpaRepository jpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProcessedMessageStore store;
+
+    @BeforeEach
+    void setUp() {
+        jpaRepository.deleteAllInBatch();
+        meterRegistry = new SimpleMeterRegistry();
+        store = newStore();
+    }
+
+    private ProcessedMessageStore newStore() {
+        return new ProcessedMessageStore(jpaRepository, transactionManager, meterRegistry, 100, Duration.ofHours(1));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("snackapp.amqp.dedupe").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Deve executar a ação apenas na primeira entrega do message-id")
+    void shouldRunActionOnlyOnce() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(store.processOnce("msg-1", runs::incrementAndGet)).isTrue();
+        assertThat(store.processOnce("msg-1", runs::incrementAndGet)).isFalse();
+        assertThat(store.processOnce("msg-2", runs::incrementAndGet)).isTrue();
+
+        assertThat(runs).hasValue(2);
+        assertThat(jpaRepository.findAll()).extracting(ProcessedMessageEntity::getMessageId)
+                .containsExactlyInAnyOrder("msg-1", "msg-2");
+        assertThat(count("new")).isEqualTo(2);
+        assertThat(count("duplicate")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer duplicata pela tabela quando o conjunto em memória não tiver o id")
+    void shouldDetectDuplicateFromTableAfterRestart() {
+        AtomicInteger runs = new AtomicInteger();
+        store.processOnce("msg-1", runs::incrementAndGet);
+
+        // Nova instância simula outra réplica ou reinício do serviço
+        assertThat(newStore().processOnce("msg-1", runs::incrementAndGet)).isFalse();
+
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Deve desfazer o marcador quando a ação falhar, permitindo reprocessar a reentrega")
+    void shouldRollbackMarkerWhenActionFails() {
+        assertThatThrownBy(() -> store.processOnce("msg-1", () -> {
+            throw new IllegalStateException("falha");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(jpaRepository.count()).isZero();
+
+        AtomicInteger runs = new AtomicInteger();
+        assertThat(store.processOnce("msg-1", runs::incrementAndGet)).isTrue();
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Deve processar uma única vez entregas concorrentes do mesmo message-id")
+    void shouldProcessConcurrentDeliveriesOnce() throws Exception {
+        int threads = 8;
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                // Instâncias separadas: o conjunto em memória não ajuda, só a chave primária
+                ProcessedMessageStore replica = newStore();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return replica.processOnce("msg-1", runs::incrementAndGet);
+                }));
+            }
+            start.countDown();
+
+            int processed = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get(10, TimeUnit.SECONDS)) {
+                    processed++;
+                }
+            }
+            assertThat(processed).isEqualTo(1);
+            assertThat(runs).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reivindicar o lote em uma transação, ignorando duplicatas e liberando os rejeitados")
+    void shouldClaimBatchAndReleaseRejected() {
+        store.processOnce("msg-1", () -> { });
+        List<Set<String>> claims = new ArrayList<>();
+
+        Set<String> failed = store.processAllOnce(List.of("msg-1", "msg-2", "msg-3", "msg-2"), claimed -> {
+            claims.add(Set.copyOf(claimed));
+            return Set.of("msg-3");
+        });
+
+        assertThat(failed).containsExactly("msg-3");
+        assertThat(claims).containsExactly(Set.of("msg-2", "msg-3"));
+        assertThat(jpaRepository.findAll()).extracting(ProcessedMessageEntity::getMessageId)
+                .containsExactlyInAnyOrder("msg-1", "msg-2");
+        assertThat(count("duplicate")).isEqualTo(2);
+        assertThat(count("new")).isEqualTo(2);
+
+        // O rejeitado volta a ser elegível na reentrega
+        assertThat(store.processOnce("msg-3", () -> { })).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve desfazer todos os marcadores do lote quando a ação falhar")
+    void shouldRollbackBatchWhenActionFails() {
+        List<String> batch = List.of("msg-1", "msg-2");
+
+        assertThatThrownBy(() -> store.processAllOnce(batch, claimed -> {
+            throw new IllegalStateException("falha");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(jpaRepository.count()).isZero();
+        assertThat(store.processAllOnce(batch, claimed -> Set.of())).isEmpty();
+        assertThat(jpaRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve remover apenas marcadores mais antigos que a retenção")
+    void shouldPurgeExpiredMarkers() {
+        jpaRepository.saveAndFlush(new ProcessedMessageEntity("old", Instant.now().minus(Duration.ofHours(2))));
+        jpaRepository.saveAndFlush(new ProcessedMessageEntity("recent", Instant.now()));
+
+        store.purgeExpired();
+
+        assertThat(jpaRepository.findAll()).extracting(ProcessedMessageEntity::getMessageId)
+                .containsExactly("recent");
+    }
+}
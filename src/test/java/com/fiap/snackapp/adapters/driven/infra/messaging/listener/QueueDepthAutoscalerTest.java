@@ -0,0 +1,146 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.listener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueueDepthAutoscalerTest {
+
+    private static final String LISTENER = "paymentStatusListener";
+    private static final String QUEUE = "order.payment.status.queue";
+
+    @Mock
+    private RabbitListenerEndpointRegistry endpointRegistry;
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    @Mock
+    private SimpleMessageListenerContainer container;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private QueueDepthAutoscaler autoscaler;
+    private MethodInterceptor timing;
+
+    @BeforeEach
+    void setUp() {
+        autoscaler = new QueueDepthAutoscaler(endpointRegistry, amqpAdmin, meterRegistry, Duration.ofSeconds(1));
+        timing = autoscaler.register(LISTENER, QUEUE, 1, 4);
+    }
+
+    private void running() {
+        when(endpointRegistry.getListenerContainer(LISTENER)).thenReturn(container);
+        when(container.isRunning()).thenReturn(true);
+    }
+
+    private void queueDepth(int depth) {
+        queueDepth(depth, 1);
+    }
+
+    private void queueDepth(int depth, int brokerConsumers) {
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, depth, brokerConsumers));
+    }
+
+    private void process(int messages, long millis) throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.proceed()).thenAnswer(i -> {
+            Thread.sleep(millis);
+            return null;
+        });
+        for (int i = 0; i < messages; i++) {
+            timing.invoke(invocation);
+        }
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("listener", LISTENER).gauge().value();
+    }
+
+    @Test
+    @DisplayName("deve subir consumidores conforme fila e tempo de processamento, até o máximo")
+    void shouldScaleUpToCoverBacklog() throws Throwable {
+        running();
+        queueDepth(10_000);
+        process(3, 10);
+
+        autoscaler.rescale();
+
+        verify(container).setConcurrentConsumers(4);
+        assertThat(gauge(QueueDepthAutoscaler.CONSUMERS_GAUGE)).isEqualTo(4);
+        assertThat(gauge(QueueDepthAutoscaler.QUEUE_DEPTH_GAUGE)).isEqualTo(10_000);
+        assertThat(gauge(QueueDepthAutoscaler.UTILIZATION_GAUGE)).isBetween(0.0, 1.0).isPositive();
+    }
+
+    @Test
+    @DisplayName("deve dimensionar apenas a parte da fila que cabe a esta réplica")
+    void shouldScaleOnlyThisReplicaShare() throws Throwable {
+        running();
+        // Quatro consumidores no broker, um deles local: esta réplica responde por um quarto da fila
+        queueDepth(200, 4);
+        process(3, 10);
+
+        autoscaler.rescale();
+
+        verify(container, never()).setConcurrentConsumers(anyInt());
+        assertThat(gauge(QueueDepthAutoscaler.CONSUMERS_GAUGE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("deve subir um consumidor por ciclo enquanto não há tempo medido")
+    void shouldStepUpWithoutMeasurements() {
+        running();
+        queueDepth(50);
+
+        autoscaler.rescale();
+        autoscaler.rescale();
+
+        verify(container).setConcurrentConsumers(2);
+        verify(container).setConcurrentConsumers(3);
+    }
+
+    @Test
+    @DisplayName("deve descer um consumidor por ciclo quando a fila esvazia")
+    void shouldStepDownGradually() throws Throwable {
+        running();
+        queueDepth(10_000);
+        process(1, 10);
+        autoscaler.rescale();
+
+        queueDepth(0);
+        autoscaler.rescale();
+        autoscaler.rescale();
+
+        verify(container).setConcurrentConsumers(3);
+        verify(container).setConcurrentConsumers(2);
+        assertThat(gauge(QueueDepthAutoscaler.CONSUMERS_GAUGE)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("não deve consultar a fila quando o container está parado")
+    void shouldSkipStoppedContainers() {
+        when(endpointRegistry.getListenerContainer(LISTENER)).thenReturn(container);
+        when(container.isRunning()).thenReturn(false);
+
+        autoscaler.rescale();
+
+        verifyNoInteractions(amqpAdmin);
+        verify(container, never()).setConcurrentConsumers(anyInt());
+    }
+}
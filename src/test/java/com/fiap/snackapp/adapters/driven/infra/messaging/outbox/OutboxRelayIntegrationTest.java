@@ -0,0 +1,151 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.outbox;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.ConfirmingPublisher;
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.OutboxMessageEntity;
+import com.fiap.snackapp.adapters.driven.infra.persistence.repository.SpringDataOutboxJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Sem transação do teste: o relay abre e confirma (ou desfaz) a própria transação por lote
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private SpringDataOutboxJpaRepository jpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ConfirmingPublisher publisher = mock(ConfirmingPublisher.class);
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        jpaRepository.deleteAllInBatch();
+        relay = new OutboxRelay(jpaRepository, publisher, transactionManager, 2, 10, Duration.ofHours(1));
+    }
+
+    private void confirmAll() {
+        when(publisher.publish(anyString(), anyString(), any(Message.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    private OutboxMessageEntity pending(String routingKey, String body) {
+        return jpaRepository.saveAndFlush(OutboxMessageEntity.builder()
+                .exchange("payment.exchange")
+                .routingKey(routingKey)
+                .contentType("application/json")
+                .typeId("com.fiap.Payload")
+                .body(body)
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @Test
+    @DisplayName("deve publicar o lote em ordem e marcar como enviado após os confirms")
+    void shouldPublishBatchAndMarkSent() {
+        confirmAll();
+        var first = pending("payment.create", "{\"orderId\":1}");
+        pending("payment.create", "{\"orderId\":2}");
+
+        assertThat(relay.relayBatch()).isEqualTo(2);
+
+        var captor = ArgumentCaptor.forClass(Message.class);
+        verify(publisher, times(2)).publish(eq("payment.exchange"), eq("payment.create"), captor.capture());
+
+        var message = captor.getAllValues().getFirst();
+        assertThat(new String(message.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"orderId\":1}");
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo("application/json");
+        assertThat(message.getMessageProperties().getMessageId()).isEqualTo("outbox-" + first.getId());
+        assertThat(message.getMessageProperties().<String>getHeader("__TypeId__")).isEqualTo("com.fiap.Payload");
+        assertThat(jpaRepository.findAll()).allSatisfy(entity -> assertThat(entity.getSentAt()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("deve manter pendentes apenas as mensagens que o broker não confirmou")
+    void shouldKeepUnconfirmedPending() {
+        var confirmed = pending("payment.create", "{\"orderId\":1}");
+        var rejected = pending("payment.create", "{\"orderId\":2}");
+        when(publisher.publish(anyString(), anyString(), any(Message.class)))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new AmqpException("nack")));
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        assertThat(jpaRepository.findById(confirmed.getId()).orElseThrow().getSentAt()).isNotNull();
+        assertThat(jpaRepository.findById(rejected.getId()).orElseThrow().getSentAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("deve drenar lotes seguidos enquanto houver acúmulo")
+    void shouldDrainBacklogInBatches() {
+        confirmAll();
+        IntStream.rangeClosed(1, 5).forEach(i -> pending("payment.create", "{\"orderId\":" + i + "}"));
+
+        relay.relay();
+
+        verify(publisher, times(5)).publish(anyString(), anyString(), any(Message.class));
+        assertThat(jpaRepository.findAll()).allSatisfy(entity -> assertThat(entity.getSentAt()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("deve limitar os lotes por ciclo para liberar o agendador")
+    void shouldCapBatchesPerRun() {
+        confirmAll();
+        IntStream.rangeClosed(1, 5).forEach(i -> pending("payment.create", "{\"orderId\":" + i + "}"));
+        var cappedRelay = new OutboxRelay(jpaRepository, publisher, transactionManager, 2, 2, Duration.ofHours(1));
+
+        cappedRelay.relay();
+
+        verify(publisher, times(4)).publish(anyString(), anyString(), any(Message.class));
+        assertThat(jpaRepository.findAll()).filteredOn(entity -> entity.getSentAt() == null).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("não deve publicar quando não há pendências")
+    void shouldSkipBrokerWhenNothingPending() {
+        assertThat(relay.relayBatch()).isZero();
+
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    @DisplayName("deve remover apenas mensagens enviadas além da retenção")
+    void shouldPurgeOldSentMessages() {
+        var old = pending("payment.create", "{}");
+        old.setSentAt(Instant.now().minus(Duration.ofHours(2)));
+        jpaRepository.saveAndFlush(old);
+        var recent = pending("payment.create", "{}");
+        recent.setSentAt(Instant.now());
+        jpaRepository.saveAndFlush(recent);
+        var unsent = pending("payment.create", "{}");
+
+        relay.purgeSent();
+
+        assertThat(jpaRepository.findAll()).extracting(OutboxMessageEntity::getId)
+                .containsExactlyInAnyOrder(recent.getId(), unsent.getId());
+    }
+}
@@ -0,0 +1,177 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.publisher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ConfirmingPublisherTest {
+
+    private static final Message MESSAGE = new Message("{}".getBytes(), new MessageProperties());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService brokerThread = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        brokerThread.shutdownNow();
+    }
+
+    // Substituto do broker: decide como (e se) cada publicação é confirmada
+    private static final class StandInBroker extends RabbitTemplate {
+
+        private final Consumer<CorrelationData> confirmer;
+
+        StandInBroker(Consumer<CorrelationData> confirmer) {
+            super(mock(ConnectionFactory.class));
+            setMessageConverter(new Jackson2JsonMessageConverter());
+            this.confirmer = confirmer;
+        }
+
+        @Override
+        public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+            confirmer.accept(correlationData);
+        }
+    }
+
+    private ConfirmingPublisher publisher(Consumer<CorrelationData> confirmer, int maxInFlight, Duration confirmTimeout) {
+        return new ConfirmingPublisher(new StandInBroker(confirmer), meterRegistry, maxInFlight,
+                Duration.ofMillis(50), confirmTimeout);
+    }
+
+    private static void ack(CorrelationData correlation) {
+        correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+    }
+
+    private long confirms(String outcome) {
+        var timer = meterRegistry.find(ConfirmingPublisher.CONFIRM_TIMER).tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get(ConfirmingPublisher.IN_FLIGHT_GAUGE).gauge().value();
+    }
+
+    @Test
+    @DisplayName("deve completar quando o broker confirma e liberar a vaga")
+    void shouldCompleteOnAck() {
+        var publisher = publisher(ConfirmingPublisherTest::ack, 10, Duration.ofSeconds(5));
+
+        publisher.publish("payment.exchange", "payment.create", MESSAGE).join();
+        publisher.convertAndPublish("payment.exchange", "payment.create", "payload").join();
+
+        assertThat(confirms(ConfirmingPublisher.ACK)).isEqualTo(2);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("deve falhar quando o broker responde com nack")
+    void shouldFailOnNack() {
+        var publisher = publisher(correlation -> correlation.getFuture()
+                .complete(new CorrelationData.Confirm(false, "fila cheia")), 10, Duration.ofSeconds(5));
+
+        var result = publisher.publish("payment.exchange", "payment.create", MESSAGE);
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(AmqpException.class).hasMessageContaining("nack (fila cheia)");
+        assertThat(confirms(ConfirmingPublisher.NACK)).isEqualTo(1);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("deve falhar quando a mensagem é devolvida por não ter rota")
+    void shouldFailOnReturn() {
+        var publisher = publisher(correlation -> {
+            correlation.setReturned(new ReturnedMessage(MESSAGE, 312, "NO_ROUTE", "", "kitchen.order.received"));
+            ack(correlation);
+        }, 10, Duration.ofSeconds(5));
+
+        var result = publisher.publish("", "kitchen.order.received", MESSAGE);
+
+        assertThatThrownBy(result::join).hasMessageContaining("devolvida (NO_ROUTE)");
+        assertThat(confirms(ConfirmingPublisher.RETURNED)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("deve falhar e liberar a vaga quando o envio lança exceção")
+    void shouldFailWhenSendThrows() {
+        var publisher = publisher(correlation -> {
+            throw new AmqpException("conexão recusada");
+        }, 1, Duration.ofSeconds(5));
+
+        assertThatThrownBy(publisher.publish("x", "y", MESSAGE)::join).hasRootCauseMessage("conexão recusada");
+        assertThatThrownBy(publisher.publish("x", "y", MESSAGE)::join).hasRootCauseMessage("conexão recusada");
+        assertThat(confirms(ConfirmingPublisher.ERROR)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("deve expirar confirms que não chegam e liberar a vaga")
+    void shouldTimeOutMissingConfirms() {
+        var publisher = publisher(correlation -> { }, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(publisher.publish("x", "y", MESSAGE)::join).hasMessageContaining("timeout");
+
+        assertThat(confirms(ConfirmingPublisher.TIMEOUT)).isEqualTo(1);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("deve segurar o publicador quando o limite de mensagens em voo é atingido")
+    void shouldApplyBackpressure() {
+        List<CorrelationData> held = new ArrayList<>();
+        var publisher = publisher(held::add, 2, Duration.ofSeconds(5));
+
+        publisher.publish("x", "y", MESSAGE);
+        publisher.publish("x", "y", MESSAGE);
+        assertThat(inFlight()).isEqualTo(2);
+
+        assertThatThrownBy(() -> publisher.publish("x", "y", MESSAGE)).isInstanceOf(AmqpTimeoutException.class);
+
+        ack(held.getFirst());
+        publisher.publish("x", "y", MESSAGE);
+        assertThat(held).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("deve sustentar ao menos 10 mil mensagens/s com confirms assíncronos")
+    void shouldSustainTenThousandMessagesPerSecond() {
+        var publisher = publisher(correlation -> brokerThread.execute(() -> ack(correlation)), 1000, Duration.ofSeconds(5));
+        publishAll(publisher, 20_000);
+
+        int messages = 100_000;
+        long start = System.nanoTime();
+        publishAll(publisher, messages);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(messages / seconds).isGreaterThanOrEqualTo(10_000);
+        assertThat(inFlight()).isZero();
+    }
+
+    private static void publishAll(ConfirmingPublisher publisher, int messages) {
+        List<CompletableFuture<Void>> confirms = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            confirms.add(publisher.publish("payment.exchange", "payment.create", MESSAGE));
+        }
+        CompletableFuture.allOf(confirms.toArray(CompletableFuture[]::new)).join();
+    }
+}
@@ -0,0 +1,132 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.retry;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.ConfirmingPublisher;
+import com.fiap.snackapp.core.application.exception.ResourceNotFoundException;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayerTest {
+
+    private static final String QUEUE = "order.payment.status.queue";
+    private static final String DLQ = "order.payment.status.queue.dlq";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConfirmingPublisher publisher;
+
+    @Mock
+    private Channel channel;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DeadLetterReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        var recoverer = new TieredRetryRecoverer(publisher, meterRegistry, Duration.ofSeconds(1), 5, 3);
+        recoverer.register(QUEUE);
+        replayer = new DeadLetterReplayer(rabbitTemplate, publisher, recoverer);
+    }
+
+    private void withChannel() {
+        when(rabbitTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<ChannelCallback<?>>getArgument(0).doInRabbit(channel));
+    }
+
+    private static GetResponse deadLetter(long deliveryTag, String messageId) {
+        var props = new AMQP.BasicProperties.Builder()
+                .messageId(messageId)
+                .contentType("application/json")
+                .headers(Map.of(
+                        TieredRetryRecoverer.RETRY_COUNT_HEADER, 4,
+                        TieredRetryRecoverer.EXCEPTION_TYPE_HEADER, "java.lang.IllegalStateException",
+                        RepublishMessageRecoverer.X_EXCEPTION_MESSAGE, "falha"))
+                .build();
+        return new GetResponse(new Envelope(deliveryTag, false, "", DLQ), props, "{}".getBytes(), 0);
+    }
+
+    @Test
+    @DisplayName("Deve devolver mensagens da DLQ para a fila original zerando as tentativas")
+    void shouldReplayMessagesToOriginalQueue() throws Exception {
+        withChannel();
+        when(channel.basicGet(DLQ, false)).thenReturn(deadLetter(1, "msg-1"), deadLetter(2, "msg-2"), null);
+        when(publisher.publish(eq(""), eq(QUEUE), any(Message.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        int replayed = replayer.replay(QUEUE, 10);
+
+        assertThat(replayed).isEqualTo(2);
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(publisher, times(2)).publish(eq(""), eq(QUEUE), captor.capture());
+        assertThat(captor.getAllValues()).extracting(message -> message.getMessageProperties().getMessageId())
+                .containsExactly("msg-1", "msg-2");
+        assertThat(captor.getAllValues().getFirst().getMessageProperties().getHeaders())
+                .doesNotContainKeys(TieredRetryRecoverer.RETRY_COUNT_HEADER,
+                        TieredRetryRecoverer.EXCEPTION_TYPE_HEADER,
+                        RepublishMessageRecoverer.X_EXCEPTION_MESSAGE);
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        assertThat(meterRegistry.get("snackapp.amqp.retry").tags("queue", QUEUE, "outcome", "replayed")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de mensagens por chamada")
+    void shouldRespectLimit() throws Exception {
+        withChannel();
+        when(channel.basicGet(DLQ, false)).thenReturn(deadLetter(1, "msg-1"));
+        when(publisher.publish(eq(""), eq(QUEUE), any(Message.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(replayer.replay(QUEUE, 1)).isEqualTo(1);
+        verify(channel, times(1)).basicGet(DLQ, false);
+    }
+
+    @Test
+    @DisplayName("Deve manter a mensagem na DLQ e parar quando a republicação não for confirmada")
+    void shouldKeepMessageWhenRepublishFails() throws Exception {
+        withChannel();
+        when(channel.basicGet(DLQ, false)).thenReturn(deadLetter(1, "msg-1"));
+        when(publisher.publish(eq(""), eq(QUEUE), any(Message.class)))
+                .thenReturn(CompletableFuture.failedFuture(new AmqpException("nack")));
+
+        assertThat(replayer.replay(QUEUE, 10)).isZero();
+        verify(channel).basicNack(1, false, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve lançar não encontrado para fila sem DLQ")
+    void shouldRejectUnknownQueue() {
+        assertThatThrownBy(() -> replayer.replay("fila.inexistente", 10))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Fila não encontrada: fila.inexistente");
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
@@ -0,0 +1,178 @@
+package com.fiap.snackapp.adapters.driven.infra.messaging.retry;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.ConfirmingPublisher;
+import com.fiap.snackapp.core.application.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.aop.ProxyMethodInvocation;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TieredRetryRecovererTest {
+
+    private static final String QUEUE = "payment.created.queue";
+
+    @Mock
+    private ConfirmingPublisher publisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TieredRetryRecoverer recoverer;
+
+    @BeforeEach
+    void setUp() {
+        recoverer = new TieredRetryRecoverer(publisher, meterRegistry, Duration.ofSeconds(1), 5, 3);
+    }
+
+    private Message delivery(Integer previousRetries) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(QUEUE);
+        properties.setMessageId("msg-1");
+        if (previousRetries != null) {
+            properties.setHeader(TieredRetryRecoverer.RETRY_COUNT_HEADER, previousRetries);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+
+    private ListenerExecutionFailedException failure(Throwable cause) {
+        return new ListenerExecutionFailedException("falha no listener", cause, delivery(null));
+    }
+
+    private void confirmAll() {
+        when(publisher.publish(eq(""), any(), any(Message.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    private Message published(String queue) {
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(publisher).publish(eq(""), eq(queue), captor.capture());
+        return captor.getValue();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("snackapp.amqp.retry").tags("queue", QUEUE, "outcome", outcome).counter().count();
+    }
+
+    @Test
+    @DisplayName("Deve declarar filas de espera com TTL exponencial que devolvem para a fila original, e a DLQ")
+    void shouldDeclareTieredQueues() {
+        var queues = recoverer.register(QUEUE).getDeclarablesByType(Queue.class);
+
+        assertThat(queues).extracting(Queue::getName).containsExactly(
+                "payment.created.queue.retry.1",
+                "payment.created.queue.retry.2",
+                "payment.created.queue.retry.3",
+                "payment.created.queue.dlq");
+        assertThat(queues).extracting(queue -> queue.getArguments().get("x-message-ttl"))
+                .containsExactly(1000, 5000, 25000, null);
+        assertThat(queues.getFirst().getArguments())
+                .containsEntry("x-dead-letter-exchange", "")
+                .containsEntry("x-dead-letter-routing-key", QUEUE);
+        assertThat(queues.getLast().getArguments()).isEmpty();
+        assertThat(queues).allMatch(Queue::isDurable);
+        assertThat(recoverer.manages(QUEUE)).isTrue();
+        assertThat(recoverer.manages("outra.fila")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve enviar a primeira falha para o primeiro nível de espera")
+    void shouldSendFirstFailureToFirstTier() {
+        confirmAll();
+
+        recoverer.recover(delivery(null), failure(new ResourceNotFoundException("Pedido não encontrado: 10")));
+
+        Message retried = published("payment.created.queue.retry.1");
+        MessageProperties properties = retried.getMessageProperties();
+        assertThat((Integer) properties.getHeader(TieredRetryRecoverer.RETRY_COUNT_HEADER)).isEqualTo(1);
+        assertThat((String) properties.getHeader(TieredRetryRecoverer.EXCEPTION_TYPE_HEADER))
+                .isEqualTo(ResourceNotFoundException.class.getName());
+        assertThat(properties.getMessageId()).isEqualTo("msg-1");
+        assertThat(properties.getDeliveryMode()).isEqualTo(MessageDeliveryMode.PERSISTENT);
+        assertThat(count("retry")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve subir de nível a cada nova falha")
+    void shouldEscalateTier() {
+        confirmAll();
+
+        recoverer.recover(delivery(2), failure(new IllegalStateException("falha")));
+
+        assertThat((Integer) published("payment.created.queue.retry.3").getMessageProperties()
+                .getHeader(TieredRetryRecoverer.RETRY_COUNT_HEADER)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve enviar para a DLQ depois do último nível")
+    void shouldDeadLetterAfterLastTier() {
+        confirmAll();
+
+        recoverer.recover(delivery(3), failure(new IllegalStateException("falha")));
+
+        published("payment.created.queue.dlq");
+        assertThat(count("dead_letter")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve enviar erro de conversão direto para a DLQ")
+    void shouldDeadLetterFatalErrorsImmediately() {
+        confirmAll();
+
+        recoverer.recover(delivery(null), failure(new MessageConversionException("json inválido")));
+
+        published("payment.created.queue.dlq");
+    }
+
+    @Test
+    @DisplayName("Deve propagar a falha quando o broker não confirmar a cópia, para a entrega original voltar à fila")
+    void shouldPropagateWhenRepublishIsNotConfirmed() {
+        when(publisher.publish(eq(""), any(), any(Message.class)))
+                .thenReturn(CompletableFuture.failedFuture(new AmqpException("nack")));
+
+        var message = delivery(null);
+        var cause = failure(new IllegalStateException("falha"));
+        assertThatThrownBy(() -> recoverer.recover(message, cause))
+                .isInstanceOf(AmqpException.class)
+                .hasMessage("nack");
+    }
+
+    @Test
+    @DisplayName("Interceptor deve fazer uma única tentativa e entregar a falha ao recoverer sem lançar exceção")
+    void interceptorShouldRecoverWithoutRetryingInThread() throws Throwable {
+        confirmAll();
+        Message message = delivery(null);
+        // Mesmo tipo que o container entrega ao advice chain
+        ProxyMethodInvocation invocation = mock(ProxyMethodInvocation.class);
+        when(invocation.invocableClone()).thenReturn(invocation);
+        when(invocation.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        when(invocation.getArguments()).thenReturn(new Object[]{null, message});
+        when(invocation.proceed()).thenThrow(failure(new IllegalStateException("falha")));
+
+        long start = System.nanoTime();
+        recoverer.interceptor().invoke(invocation);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        verify(invocation, times(1)).proceed();
+        published("payment.created.queue.retry.1");
+    }
+}
@@ -0,0 +1,123 @@
+package com.fiap.snackapp.adapters.driven.infra.metrics;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.dedupe.ProcessedMessageStore;
+import com.fiap.snackapp.adapters.driven.infra.persistence.adapter.CustomerPersistenceAdapter;
+import com.fiap.snackapp.adapters.driven.infra.persistence.mapper.CustomerPersistenceMapper;
+import com.fiap.snackapp.adapters.driven.infra.persistence.repository.SpringDataCustomerJpaRepository;
+import com.fiap.snackapp.adapters.driver.messaging.OrderPaymentStatusUpdatedListener;
+import com.fiap.snackapp.core.application.dto.request.CustomerCreateRequest;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentStatusUpdatedMessage;
+import com.fiap.snackapp.core.application.mapper.CustomerMapper;
+import com.fiap.snackapp.core.application.repository.CustomerRepositoryPort;
+import com.fiap.snackapp.core.application.usecases.CustomerUseCase;
+import com.fiap.snackapp.core.application.usecases.CustomerUseCaseImpl;
+import com.fiap.snackapp.core.application.usecases.OrderUseCase;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import com.fiap.snackapp.core.domain.vo.CPF;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApplicationMetricsAspectTest {
+
+    private PrometheusMeterRegistry registry;
+    private ApplicationMetricsAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        aspect = new ApplicationMetricsAspect(registry);
+    }
+
+    private <T> T proxy(T target) {
+        var factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("deve registrar tempo do caso de uso com outcome SUCCESS")
+    void shouldTimeSuccessfulUseCase() {
+        var mapper = mock(CustomerMapper.class);
+        CustomerUseCase useCase = proxy(new CustomerUseCaseImpl(mock(CustomerRepositoryPort.class), mapper));
+
+        useCase.createUser(new CustomerCreateRequest("Maria", "maria@email.com", "12345678900"));
+
+        Timer timer = registry.get(ApplicationMetricsAspect.USE_CASE_TIMER)
+                .tags("class", "CustomerUseCaseImpl", "method", "createUser", "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(registry.scrape())
+                .contains("snackapp_usecase_seconds_bucket{")
+                .contains("method=\"createUser\"");
+    }
+
+    @Test
+    @DisplayName("deve acumular chamadas repetidas no mesmo Timer")
+    void shouldReuseTimerAcrossCalls() {
+        var adapter = proxy(new CustomerPersistenceAdapter(
+                mock(SpringDataCustomerJpaRepository.class), mock(CustomerPersistenceMapper.class)));
+
+        adapter.findByCpf(new CPF("12345678900"));
+        adapter.findByCpf(new CPF("12345678900"));
+
+        var timers = registry.get(ApplicationMetricsAspect.PERSISTENCE_TIMER).tags("method", "findByCpf").timers();
+        assertThat(timers).singleElement().extracting(Timer::count).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("deve registrar outcome ERROR e o tipo da exceção sem engoli-la")
+    void shouldTagFailureWithExceptionType() {
+        var mapper = mock(CustomerMapper.class);
+        when(mapper.toDomain(any())).thenThrow(new IllegalArgumentException("CPF inválido"));
+        CustomerUseCase useCase = proxy(new CustomerUseCaseImpl(mock(CustomerRepositoryPort.class), mapper));
+        var request = new CustomerCreateRequest("Maria", "maria@email.com", "123");
+
+        assertThatThrownBy(() -> useCase.createUser(request))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Timer timer = registry.get(ApplicationMetricsAspect.USE_CASE_TIMER)
+                .tags("method", "createUser", "outcome", "ERROR", "exception", "IllegalArgumentException")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("deve registrar tempo dos handlers de @RabbitListener")
+    void shouldTimeRabbitListener() {
+        var listener = proxy(new OrderPaymentStatusUpdatedListener(mock(OrderUseCase.class), mock(ProcessedMessageStore.class)));
+
+        listener.handlePaymentStatusUpdated(new OrderPaymentStatusUpdatedMessage(1L, "pay-1", OrderStatus.PAGAMENTO_RECUSADO), "msg-1");
+
+        Timer timer = registry.get(ApplicationMetricsAspect.LISTENER_TIMER)
+                .tags("class", "OrderPaymentStatusUpdatedListener", "method", "handlePaymentStatusUpdated",
+                        "outcome", "SUCCESS")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("deve registrar tempo das chamadas aos adapters de persistência")
+    void shouldTimePersistenceAdapter() {
+        var adapter = proxy(new CustomerPersistenceAdapter(
+                mock(SpringDataCustomerJpaRepository.class), mock(CustomerPersistenceMapper.class)));
+
+        assertThat(adapter.findByCpf(new CPF("12345678900"))).isEmpty();
+
+        Timer timer = registry.get(ApplicationMetricsAspect.PERSISTENCE_TIMER)
+                .tags("class", "CustomerPersistenceAdapter", "method", "findByCpf", "outcome", "SUCCESS")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+}
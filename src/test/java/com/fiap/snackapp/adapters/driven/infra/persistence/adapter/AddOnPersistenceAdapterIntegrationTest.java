@@ -109,6 +109,19 @@ class AddOnPersistenceAdapterIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("findAllByIds")
+    class FindAllByIdsTests {
+        @Test
+        @DisplayName("deve retornar apenas adicionais existentes")
+        void shouldReturnExistingAddOns() {
+            var result = addOnRepositoryPort.findAllByIds(List.of(baconId, cebolaId, 999999L));
+
+            assertThat(result).extracting(AddOnDefinition::id)
+                    .containsExactlyInAnyOrder(baconId, cebolaId);
+        }
+    }
+
     @Nested
     @DisplayName("findByFilters")
     class FindByFiltersTests {
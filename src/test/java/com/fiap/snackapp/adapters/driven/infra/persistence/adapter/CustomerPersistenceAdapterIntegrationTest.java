@@ -12,14 +12,26 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+// Modo PostgreSQL do H2 para suportar o INSERT ... ON CONFLICT DO NOTHING usado no insert-or-get
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:customers;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Import(CustomerPersistenceMapper.class) // ajuste se seu mapper não for bean Spring
 class CustomerPersistenceAdapterIntegrationTest {
 
@@ -94,4 +106,63 @@ class CustomerPersistenceAdapterIntegrationTest {
 
         assertThat(result).isEmpty();
     }
+
+    @Test
+    @DisplayName("saveIfAbsent: deve inserir cliente novo")
+    void saveIfAbsent_ShouldInsertNewCustomer() {
+        var customer = new CustomerDefinition(null, "Maria", new Email("maria@email.com"), new CPF("98765432100"));
+
+        CustomerDefinition saved = customerRepositoryPort.saveIfAbsent(customer);
+
+        assertThat(saved.id()).isNotNull();
+        assertThat(saved.name()).isEqualTo("Maria");
+        assertThat(customerRepositoryPort.findByCpf(new CPF("98765432100"))).contains(saved);
+    }
+
+    @Test
+    @DisplayName("saveIfAbsent: deve retornar cliente existente sem sobrescrever")
+    void saveIfAbsent_ShouldReturnExistingCustomer() {
+        var customer = new CustomerDefinition(null, "Cliente", new Email("default@email.com"), new CPF(cpfValue));
+
+        CustomerDefinition result = customerRepositoryPort.saveIfAbsent(customer);
+
+        assertThat(result.name()).isEqualTo("João");
+        assertThat(jpaRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("saveIfAbsent: chamadas concorrentes para o mesmo CPF devem criar um único cliente")
+    void saveIfAbsent_ShouldBeRaceFree() throws Exception {
+        int calls = 300;
+        var cpf = new CPF("11122233344");
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+
+        try {
+            List<Future<CustomerDefinition>> futures = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                Callable<CustomerDefinition> call = () -> {
+                    start.await();
+                    return customerRepositoryPort.saveIfAbsent(
+                            new CustomerDefinition(null, "Cliente", new Email("default@email.com"), cpf));
+                };
+                futures.add(executor.submit(call));
+            }
+            start.countDown();
+
+            List<Long> ids = new ArrayList<>();
+            for (Future<CustomerDefinition> future : futures) {
+                ids.add(future.get().id());
+            }
+
+            assertThat(ids).hasSize(calls).containsOnly(ids.getFirst());
+            assertThat(jpaRepository.findAll())
+                    .filteredOn(entity -> entity.getCpf().equals(cpf.value()))
+                    .hasSize(1);
+        } finally {
+            executor.shutdownNow();
+            jpaRepository.deleteAllInBatch();
+        }
+    }
 }
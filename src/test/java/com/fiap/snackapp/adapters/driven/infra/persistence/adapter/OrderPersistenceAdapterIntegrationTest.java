@@ -1,12 +1,19 @@
 package com.fiap.snackapp.adapters.driven.infra.persistence.adapter;
 
-import com.fiap.snackapp.adapters.driven.infra.persistence.entity.OrderEntity;
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.*;
 import com.fiap.snackapp.adapters.driven.infra.persistence.mapper.OrderPersistenceMapper;
 import com.fiap.snackapp.adapters.driven.infra.persistence.repository.SpringDataOrderJpaRepository;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
 import com.fiap.snackapp.core.application.repository.OrderRepositoryPort;
+import com.fiap.snackapp.core.domain.enums.Category;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import com.fiap.snackapp.core.domain.model.AddOnDefinition;
+import com.fiap.snackapp.core.domain.model.AppliedAddOn;
 import com.fiap.snackapp.core.domain.model.OrderDefinition;
+import com.fiap.snackapp.core.domain.model.OrderItemDefinition;
 import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,14 +21,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
-@DataJpaTest
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
 @Import(OrderPersistenceMapper.class)
 class OrderPersistenceAdapterIntegrationTest {
 
@@ -34,6 +48,9 @@ class OrderPersistenceAdapterIntegrationTest {
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private OrderRepositoryPort orderRepositoryPort;
 
     private Long orderIniciadoId;
@@ -41,7 +58,7 @@ class OrderPersistenceAdapterIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        orderRepositoryPort = new OrderPersistenceAdapter(jpaRepository, mapper);
+        orderRepositoryPort = new OrderPersistenceAdapter(jpaRepository, mapper, entityManager, jdbcTemplate);
 
         jpaRepository.deleteAllInBatch();
         jpaRepository.flush();
@@ -119,61 +136,429 @@ class OrderPersistenceAdapterIntegrationTest {
     }
 
     @Nested
-    @DisplayName("findByFilters")
-    class FindByFiltersTests {
+    @DisplayName("quantidade de consultas")
+    class QueryCountTests {
+
+        private static final int ORDERS = 100;
+        private static final int MAX_LIST_STATEMENTS = 10;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        void seedOrders() {
+            jpaRepository.deleteAllInBatch();
+
+            var customer = new CustomerEntity("Maria", "maria@email.com", "98765432100");
+            var burger = new ProductEntity("X-Burger", Category.LANCHE, BigDecimal.valueOf(25), "X-Burger");
+            var soda = new ProductEntity("Refrigerante", Category.BEBIDA, BigDecimal.valueOf(6), "Refrigerante");
+            var bacon = new AddOnEntity("Bacon", Category.LANCHE, BigDecimal.valueOf(3));
+            var cheese = new AddOnEntity("Queijo", Category.LANCHE, BigDecimal.valueOf(2));
+            List.of(customer, burger, soda, bacon, cheese).forEach(entityManager::persist);
+
+            for (int i = 0; i < ORDERS; i++) {
+                var order = new OrderEntity();
+                order.setStatus(OrderStatus.PAGAMENTO_PENDENTE);
+                order.setCustomer(customer);
+                order.setItems(new HashSet<>());
+                for (var product : List.of(burger, soda)) {
+                    var item = new OrderItemEntity();
+                    item.setOrder(order);
+                    item.setProduct(product);
+                    item.setPrice(product.getPrice());
+                    item.setQuantity(1);
+                    item.setAppliedAddOns(new HashSet<>());
+                    for (var addOn : List.of(bacon, cheese)) {
+                        var applied = new AppliedAddOnEntity();
+                        applied.setOrderItem(item);
+                        applied.setAddOn(addOn);
+                        applied.setPrice(addOn.getPrice());
+                        applied.setQuantity(1);
+                        item.getAppliedAddOns().add(applied);
+                    }
+                    order.getItems().add(item);
+                }
+                entityManager.persist(order);
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+        }
 
         @Test
-        @DisplayName("filtro: 1 status (INICIADO)")
-        void shouldFilterBySingleStatus() {
-            var result = orderRepositoryPort.findByFilters(List.of(OrderStatus.INICIADO));
+        @DisplayName("listar 100 pedidos não deve gerar N+1 consultas")
+        void shouldListOrdersWithBoundedStatements() {
+            var ids = jpaRepository.findAll().stream().map(OrderEntity::getId).toList();
+            entityManager.clear();
+            statistics.clear();
+
+            var result = orderRepositoryPort.findAllByIds(ids);
+
+            assertThat(result).hasSize(ORDERS);
+            assertThat(result).allSatisfy(order -> {
+                assertThat(order.getCustomer().name()).isEqualTo("Maria");
+                assertThat(order.getItems()).hasSize(2);
+                assertThat(order.getItems()).allSatisfy(item -> assertThat(item.appliedAddOns()).hasSize(2));
+            });
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_LIST_STATEMENTS);
+        }
+
+        @Test
+        @DisplayName("buscar pedido por id deve carregar o agregado em uma consulta")
+        void shouldLoadAggregateInSingleStatement() {
+            var anyOrderId = jpaRepository.findAll().getFirst().getId();
+            entityManager.clear();
+            statistics.clear();
+
+            var result = orderRepositoryPort.findById(anyOrderId);
 
-            assertThat(result).hasSize(1);
-            assertThat(result.getFirst().getId()).isEqualTo(orderIniciadoId);
-            assertThat(result.getFirst().getStatus()).isEqualTo(OrderStatus.INICIADO);
+            assertThat(result).isPresent();
+            assertThat(result.get().getTotalPrice()).isEqualByComparingTo(BigDecimal.valueOf(41));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("atualização incremental")
+    class IncrementalSaveTests {
+
+        private static final int ITEMS = 20;
+
+        private Statistics statistics;
+        private Long orderId;
+        private ProductEntity burger;
+        private AddOnEntity bacon;
+
+        @BeforeEach
+        void seedOrder() {
+            burger = new ProductEntity("X-Burger", Category.LANCHE, BigDecimal.valueOf(25), "X-Burger");
+            bacon = new AddOnEntity("Bacon", Category.LANCHE, BigDecimal.valueOf(3));
+            List.of(burger, bacon).forEach(entityManager::persist);
+
+            var order = new OrderEntity();
+            order.setStatus(OrderStatus.INICIADO);
+            order.setItems(new HashSet<>());
+            for (int i = 0; i < ITEMS; i++) {
+                var item = new OrderItemEntity();
+                item.setOrder(order);
+                item.setProduct(burger);
+                item.setPrice(burger.getPrice());
+                item.setQuantity(1);
+                item.setAppliedAddOns(new HashSet<>());
+                order.getItems().add(item);
+            }
+            entityManager.persist(order);
+            entityManager.flush();
+            entityManager.clear();
+            orderId = order.getId();
+
+            statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
         }
 
         @Test
-        @DisplayName("filtro: múltiplos status (INICIADO e CONCLUIDO)")
-        void shouldFilterByMultipleStatus() {
-            var result = orderRepositoryPort.findByFilters(List.of(OrderStatus.INICIADO, OrderStatus.CONCLUIDO));
+        @DisplayName("mudar status de pedido com 20 itens deve gerar um único UPDATE")
+        void shouldUpdateOnlyOrderRowOnStatusChange() {
+            var order = orderRepositoryPort.findById(orderId).orElseThrow();
+            order.setStatus(OrderStatus.PAGAMENTO_PENDENTE);
+            entityManager.clear();
+            statistics.clear();
+
+            var saved = orderRepositoryPort.save(order);
+
+            assertThat(saved.getStatus()).isEqualTo(OrderStatus.PAGAMENTO_PENDENTE);
+            assertThat(saved.getItems()).hasSize(ITEMS);
+            assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+            assertThat(statistics.getEntityInsertCount()).isZero();
+            assertThat(statistics.getEntityDeleteCount()).isZero();
+        }
 
-            assertThat(result).hasSize(2);
-            assertThat(result).extracting(OrderDefinition::getStatus)
-                    .containsExactlyInAnyOrder(OrderStatus.INICIADO, OrderStatus.CONCLUIDO);
+        @Test
+        @DisplayName("adicionar item deve inserir apenas o novo item")
+        void shouldInsertOnlyNewItem() {
+            var order = orderRepositoryPort.findById(orderId).orElseThrow();
+            var addOn = new AddOnDefinition(bacon.getId(), bacon.getName(), bacon.getCategory(), bacon.getPrice());
+            order.addItem(new OrderItemDefinition(burger.getId(), burger.getName(), 2, burger.getPrice(),
+                    List.of(new AppliedAddOn(addOn, 1))));
+            entityManager.clear();
+            statistics.clear();
+
+            var saved = orderRepositoryPort.save(order);
+
+            assertThat(saved.getItems()).hasSize(ITEMS + 1);
+            assertThat(saved.getItems()).allSatisfy(item -> {
+                assertThat(item.id()).isNotNull();
+                assertThat(item.productName()).isEqualTo("X-Burger");
+                assertThat(item.price()).isEqualByComparingTo("25");
+            });
+            assertThat(saved.getTotalPrice()).isEqualByComparingTo("556");
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+            assertThat(statistics.getEntityUpdateCount()).isZero();
+            assertThat(statistics.getEntityDeleteCount()).isZero();
         }
 
         @Test
-        @DisplayName("filtro: todos os status (INICIADO, PENDENTE, CONCLUIDO)")
-        void shouldFilterByAllStatus() {
-            var result = orderRepositoryPort.findByFilters(
-                    List.of(OrderStatus.INICIADO, OrderStatus.PAGAMENTO_PENDENTE, OrderStatus.CONCLUIDO)
-            );
+        @DisplayName("item novo deve ler nome e preço do catálogo sem alterá-lo")
+        void shouldReadNewItemFromCatalogWithoutChangingIt() {
+            var order = orderRepositoryPort.findById(orderId).orElseThrow();
+            var addOn = new AddOnDefinition(bacon.getId(), "Outro nome", Category.BEBIDA, BigDecimal.ONE);
+            order.addItem(new OrderItemDefinition(burger.getId(), "Outro nome", 1, BigDecimal.ONE,
+                    List.of(new AppliedAddOn(addOn, 1))));
+            entityManager.clear();
+
+            var saved = orderRepositoryPort.save(order);
+            entityManager.clear();
+
+            var added = saved.getItems().stream()
+                    .filter(item -> !item.appliedAddOns().isEmpty())
+                    .findFirst().orElseThrow();
+            assertThat(added.productName()).isEqualTo("X-Burger");
+            assertThat(added.price()).isEqualByComparingTo("25");
+            assertThat(added.appliedAddOns().getFirst().getAddOnDefinition().name()).isEqualTo("Bacon");
+            var product = entityManager.find(ProductEntity.class, burger.getId());
+            assertThat(product.getName()).isEqualTo("X-Burger");
+            assertThat(product.getPrice()).isEqualByComparingTo("25");
+            assertThat(entityManager.find(AddOnEntity.class, bacon.getId()).getCategory()).isEqualTo(Category.LANCHE);
+        }
+    }
 
-            assertThat(result).hasSize(3);
+    @Nested
+    @DisplayName("updateStatus")
+    class UpdateStatusTests {
+
+        private Long orderWithItemsId;
+
+        @BeforeEach
+        void seedOrderWithItems() {
+            var burger = new ProductEntity("X-Burger", Category.LANCHE, BigDecimal.valueOf(25), "X-Burger");
+            entityManager.persist(burger);
+
+            var order = new OrderEntity();
+            order.setStatus(OrderStatus.INICIADO);
+            order.setItems(new HashSet<>());
+            var item = new OrderItemEntity();
+            item.setOrder(order);
+            item.setProduct(burger);
+            item.setPrice(burger.getPrice());
+            item.setQuantity(1);
+            item.setAppliedAddOns(new HashSet<>());
+            order.getItems().add(item);
+            entityManager.persist(order);
+            entityManager.flush();
+            entityManager.clear();
+            orderWithItemsId = order.getId();
         }
 
         @Test
-        @DisplayName("filtro: null deve retornar todos")
-        void shouldReturnAllWhenNullFilter() {
-            var result = orderRepositoryPort.findByFilters(null);
+        @DisplayName("deve atualizar status quando o atual é um predecessor permitido")
+        void shouldUpdateWhenCurrentIsExpected() {
+            var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            var updated = orderRepositoryPort.updateStatus(orderWithItemsId,
+                    List.of(OrderStatus.INICIADO, OrderStatus.PAGAMENTO_RECUSADO), OrderStatus.PAGAMENTO_PENDENTE);
+
+            assertThat(updated).isTrue();
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(orderRepositoryPort.findById(orderWithItemsId).orElseThrow().getStatus())
+                    .isEqualTo(OrderStatus.PAGAMENTO_PENDENTE);
+        }
 
-            assertThat(result).hasSize(3);
+        @Test
+        @DisplayName("não deve atualizar quando o status atual não é esperado")
+        void shouldNotUpdateWhenCurrentIsNotExpected() {
+            var updated = orderRepositoryPort.updateStatus(orderWithItemsId,
+                    List.of(OrderStatus.PAGAMENTO_PENDENTE), OrderStatus.PAGAMENTO_APROVADO);
+
+            assertThat(updated).isFalse();
+            assertThat(orderRepositoryPort.findById(orderWithItemsId).orElseThrow().getStatus())
+                    .isEqualTo(OrderStatus.INICIADO);
         }
 
         @Test
-        @DisplayName("filtro: lista vazia retorna nada")
-        void shouldReturnEmptyWhenEmptyFilter() {
-            var result = orderRepositoryPort.findByFilters(List.of());
+        @DisplayName("não deve atualizar pedido sem itens")
+        void shouldNotUpdateOrderWithoutItems() {
+            var updated = orderRepositoryPort.updateStatus(orderIniciadoId,
+                    List.of(OrderStatus.INICIADO), OrderStatus.PAGAMENTO_PENDENTE);
+
+            assertThat(updated).isFalse();
+            assertThat(orderRepositoryPort.findById(orderIniciadoId).orElseThrow().getStatus())
+                    .isEqualTo(OrderStatus.INICIADO);
+        }
 
-            assertThat(result).isEmpty();
+        @Test
+        @DisplayName("não deve consultar o banco sem predecessores")
+        void shouldReturnFalseWithoutExpectedStatus() {
+            assertThat(orderRepositoryPort.updateStatus(orderWithItemsId, List.of(), OrderStatus.INICIADO)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("updateStatuses")
+    class UpdateStatusesTests {
+
+        private ProductEntity burger;
+
+        @BeforeEach
+        void seedProduct() {
+            burger = new ProductEntity("X-Burger", Category.LANCHE, BigDecimal.valueOf(25), "X-Burger");
+            entityManager.persist(burger);
+        }
+
+        private Long orderWithItem(OrderStatus status) {
+            var order = new OrderEntity();
+            order.setStatus(status);
+            order.setItems(new HashSet<>());
+            var item = new OrderItemEntity();
+            item.setOrder(order);
+            item.setProduct(burger);
+            item.setPrice(burger.getPrice());
+            item.setQuantity(1);
+            item.setAppliedAddOns(new HashSet<>());
+            order.getItems().add(item);
+            entityManager.persist(order);
+            return order.getId();
         }
 
         @Test
-        @DisplayName("filtro: status que não existe retorna vazio")
-        void shouldReturnEmptyWhenStatusNotFound() {
-            var result = orderRepositoryPort.findByFilters(List.of(OrderStatus.PAGAMENTO_APROVADO));
+        @DisplayName("deve atualizar em lote apenas os pedidos elegíveis e devolver o status anterior")
+        void shouldUpdateOnlyEligibleOrders() {
+            var pendente1 = orderWithItem(OrderStatus.PAGAMENTO_PENDENTE);
+            var pendente2 = orderWithItem(OrderStatus.PAGAMENTO_PENDENTE);
+            var aprovado = orderWithItem(OrderStatus.PAGAMENTO_APROVADO);
+            entityManager.flush();
+            entityManager.clear();
+            var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // orderIniciadoId não tem itens e 999999 não existe
+            var updated = orderRepositoryPort.updateStatuses(
+                    List.of(pendente1, pendente2, aprovado, orderIniciadoId, 999999L),
+                    List.of(OrderStatus.PAGAMENTO_PENDENTE, OrderStatus.INICIADO),
+                    OrderStatus.CANCELADO);
+
+            assertThat(updated).containsExactlyInAnyOrderEntriesOf(Map.of(
+                    pendente1, OrderStatus.PAGAMENTO_PENDENTE,
+                    pendente2, OrderStatus.PAGAMENTO_PENDENTE));
+            // Um SELECT ... FOR UPDATE e um único UPDATE para o lote
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(orderRepositoryPort.findAllByIds(List.of(pendente1, pendente2, aprovado, orderIniciadoId)))
+                    .extracting(OrderDefinition::getId, OrderDefinition::getStatus)
+                    .containsExactlyInAnyOrder(
+                            tuple(pendente1, OrderStatus.CANCELADO),
+                            tuple(pendente2, OrderStatus.CANCELADO),
+                            tuple(aprovado, OrderStatus.PAGAMENTO_APROVADO),
+                            tuple(orderIniciadoId, OrderStatus.INICIADO));
+        }
 
-            assertThat(result).isEmpty();
+        @Test
+        @DisplayName("não deve consultar o banco sem ids ou sem predecessores")
+        void shouldSkipEmptyInput() {
+            var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            assertThat(orderRepositoryPort.updateStatuses(List.of(), List.of(OrderStatus.INICIADO), OrderStatus.PAGAMENTO_PENDENTE)).isEmpty();
+            assertThat(orderRepositoryPort.updateStatuses(List.of(orderIniciadoId), List.of(), OrderStatus.INICIADO)).isEmpty();
+            assertThat(orderRepositoryPort.findAllByIds(List.of())).isEmpty();
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("updatePaymentDetails")
+    class UpdatePaymentDetailsTests {
+        @Test
+        @DisplayName("deve gravar QR Code e pagamento em lote e devolver o status apenas dos pedidos existentes")
+        void shouldUpdateExistingOrdersOnly() {
+            var updated = orderRepositoryPort.updatePaymentDetails(List.of(
+                    new OrderPaymentCreatedMessageResponse("pay-1", orderIniciadoId, BigDecimal.TEN, "qr-1", OrderStatus.PAGAMENTO_PENDENTE),
+                    new OrderPaymentCreatedMessageResponse("pay-2", 999999L, BigDecimal.TEN, "qr-2", OrderStatus.PAGAMENTO_PENDENTE),
+                    new OrderPaymentCreatedMessageResponse("pay-3", orderConcluidoId, BigDecimal.TEN, "qr-3", OrderStatus.PAGAMENTO_PENDENTE)));
+
+            assertThat(updated).containsExactlyInAnyOrderEntriesOf(Map.of(
+                    orderIniciadoId, OrderStatus.INICIADO,
+                    orderConcluidoId, OrderStatus.CONCLUIDO));
+
+            entityManager.clear();
+            var order = orderRepositoryPort.findById(orderIniciadoId).orElseThrow();
+            assertThat(order.getQrCodeUrl()).isEqualTo("qr-1");
+            assertThat(order.getPaymentId()).isEqualTo("pay-1");
+            // Só as colunas de pagamento mudam
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.INICIADO);
+        }
+
+        @Test
+        @DisplayName("não deve consultar o banco para lote vazio")
+        void shouldSkipEmptyBatch() {
+            assertThat(orderRepositoryPort.updatePaymentDetails(List.of())).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("countByStatus")
+    class CountByStatusTests {
+        @Test
+        @DisplayName("deve contar pedidos por status com uma única consulta agrupada")
+        void shouldCountGroupedByStatus() {
+            var extra = new OrderEntity();
+            extra.setStatus(OrderStatus.INICIADO);
+            extra.setItems(new HashSet<>());
+            jpaRepository.saveAndFlush(extra);
+            entityManager.clear();
+
+            var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            var counts = orderRepositoryPort.countByStatus();
+
+            assertThat(counts).containsExactlyInAnyOrderEntriesOf(Map.of(
+                    OrderStatus.INICIADO, 2L,
+                    OrderStatus.PAGAMENTO_PENDENTE, 1L,
+                    OrderStatus.CONCLUIDO, 1L));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("inserção em lote")
+    class BatchInsertTests {
+
+        private static final int ITEMS = 15;
+        private static final int ADD_ONS_PER_ITEM = 2;
+        private static final int MAX_INSERT_STATEMENTS = 10;
+
+        @Test
+        @DisplayName("salvar pedido com 15 itens e 30 adicionais não deve gerar um INSERT por linha")
+        void shouldBatchInsertsOfLargeOrder() {
+            var burger = new ProductEntity("X-Burger", Category.LANCHE, BigDecimal.valueOf(25), "X-Burger");
+            var bacon = new AddOnEntity("Bacon", Category.LANCHE, BigDecimal.valueOf(3));
+            var cheese = new AddOnEntity("Queijo", Category.LANCHE, BigDecimal.valueOf(2));
+            List.of(burger, bacon, cheese).forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+
+            var addOns = List.of(
+                    new AppliedAddOn(new AddOnDefinition(bacon.getId(), "Bacon", Category.LANCHE, bacon.getPrice()), 1),
+                    new AppliedAddOn(new AddOnDefinition(cheese.getId(), "Queijo", Category.LANCHE, cheese.getPrice()), 1));
+            var order = new OrderDefinition(null, null, OrderStatus.INICIADO, new ArrayList<>(), null, null);
+            for (int i = 0; i < ITEMS; i++) {
+                order.addItem(new OrderItemDefinition(burger.getId(), "X-Burger", 1, burger.getPrice(), addOns));
+            }
+
+            var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            var saved = orderRepositoryPort.save(order);
+            jpaRepository.flush();
+
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + ITEMS + ITEMS * ADD_ONS_PER_ITEM);
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_INSERT_STATEMENTS);
+
+            entityManager.clear();
+            var reloaded = orderRepositoryPort.findById(saved.getId()).orElseThrow();
+            assertThat(reloaded.getItems()).hasSize(ITEMS);
+            assertThat(reloaded.getItems()).allSatisfy(item -> assertThat(item.appliedAddOns()).hasSize(ADD_ONS_PER_ITEM));
+            assertThat(reloaded.getTotalPrice()).isEqualByComparingTo(BigDecimal.valueOf(30L * ITEMS));
         }
     }
 }
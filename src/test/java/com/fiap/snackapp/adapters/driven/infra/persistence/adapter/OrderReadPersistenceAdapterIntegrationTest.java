@@ -0,0 +1,194 @@
+package com.fiap.snackapp.adapters.driven.infra.persistence.adapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.snackapp.adapters.driven.infra.persistence.entity.*;
+import com.fiap.snackapp.adapters.driven.infra.persistence.mapper.OrderPersistenceMapper;
+import com.fiap.snackapp.adapters.driven.infra.persistence.repository.SpringDataOrderJpaRepository;
+import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.application.mapper.OrderItemMapper;
+import com.fiap.snackapp.core.application.mapper.OrderMapper;
+import com.fiap.snackapp.core.application.repository.OrderReadRepositoryPort;
+import com.fiap.snackapp.core.domain.enums.Category;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import com.fiap.snackapp.core.domain.model.OrderDefinition;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import(OrderPersistenceMapper.class)
+class OrderReadPersistenceAdapterIntegrationTest {
+
+    @Autowired
+    private SpringDataOrderJpaRepository jpaRepository;
+
+    @Autowired
+    private OrderPersistenceMapper persistenceMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrderMapper orderMapper = new OrderMapper(new OrderItemMapper());
+
+    private OrderReadRepositoryPort readAdapter;
+    private OrderPersistenceAdapter domainAdapter;
+    private Statistics statistics;
+
+    private Long pendingId;
+    private Long startedId;
+    private Long doneId;
+
+    @BeforeEach
+    void setUp() {
+        readAdapter = new OrderReadPersistenceAdapter(jpaRepository);
+        domainAdapter = new OrderPersistenceAdapter(jpaRepository, persistenceMapper, entityManager, jdbcTemplate);
+
+        var customer = new CustomerEntity("Maria", "maria@email.com", "98765432100");
+        var burger = new ProductEntity("X-Burger", Category.LANCHE, BigDecimal.valueOf(25), "X-Burger");
+        var soda = new ProductEntity("Refrigerante", Category.BEBIDA, BigDecimal.valueOf(6), "Refrigerante");
+        var bacon = new AddOnEntity("Bacon", Category.LANCHE, BigDecimal.valueOf(3));
+        var cheese = new AddOnEntity("Queijo", Category.LANCHE, BigDecimal.valueOf(2));
+        List.of(customer, burger, soda, bacon, cheese).forEach(entityManager::persist);
+
+        var pending = order(OrderStatus.PAGAMENTO_PENDENTE, customer);
+        pending.setQrCodeUrl("https://qr.code/1");
+        pending.setPaymentId("pay-1");
+        item(pending, burger, 2, Map.of(bacon, 1, cheese, 2));
+        item(pending, soda, 1, Map.of());
+
+        var started = order(OrderStatus.INICIADO, null);
+
+        var done = order(OrderStatus.CONCLUIDO, customer);
+        item(done, burger, 1, Map.of(bacon, 1));
+
+        List.of(pending, started, done).forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+
+        pendingId = pending.getId();
+        startedId = started.getId();
+        doneId = done.getId();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private OrderEntity order(OrderStatus status, CustomerEntity customer) {
+        var order = new OrderEntity();
+        order.setStatus(status);
+        order.setCustomer(customer);
+        order.setItems(new HashSet<>());
+        return order;
+    }
+
+    private void item(OrderEntity order, ProductEntity product, int quantity, Map<AddOnEntity, Integer> addOns) {
+        var item = new OrderItemEntity();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setPrice(product.getPrice());
+        item.setQuantity(quantity);
+        item.setAppliedAddOns(new HashSet<>());
+        addOns.forEach((addOn, addOnQuantity) -> {
+            var applied = new AppliedAddOnEntity();
+            applied.setOrderItem(item);
+            applied.setAddOn(addOn);
+            applied.setPrice(addOn.getPrice());
+            applied.setQuantity(addOnQuantity);
+            item.getAppliedAddOns().add(applied);
+        });
+        order.getItems().add(item);
+    }
+
+    @Test
+    @DisplayName("deve gerar o mesmo JSON que o caminho pelo modelo de domínio")
+    void shouldMatchDomainPathJson() throws Exception {
+        for (List<OrderStatus> filter : List.of(
+                List.of(OrderStatus.PAGAMENTO_PENDENTE), List.of(OrderStatus.INICIADO, OrderStatus.CONCLUIDO))) {
+            var projected = readAdapter.findByFilters(filter, null, 10);
+            var hydrated = domainAdapter.findAllByIds(projected.stream().map(OrderResponse::id).toList()).stream()
+                    .sorted(Comparator.comparing(OrderDefinition::getId))
+                    .map(orderMapper::toResponse)
+                    .toList();
+
+            // A ordem dos itens no caminho de domínio vem de um Set; o restante precisa ser idêntico
+            JSONAssert.assertEquals(objectMapper.writeValueAsString(hydrated),
+                    objectMapper.writeValueAsString(projected), JSONCompareMode.NON_EXTENSIBLE);
+        }
+    }
+
+    @Test
+    @DisplayName("deve montar itens, adicionais e totais a partir das colunas")
+    void shouldBuildResponseFromColumns() {
+        var result = readAdapter.findByFilters(List.of(OrderStatus.PAGAMENTO_PENDENTE), null, 10);
+
+        assertThat(result).hasSize(1);
+        OrderResponse order = result.getFirst();
+        assertThat(order.cpf()).isEqualTo("98765432100");
+        assertThat(order.qrCodeUrl()).isEqualTo("https://qr.code/1");
+        assertThat(order.paymentId()).isEqualTo("pay-1");
+        assertThat(order.totalPrice()).isEqualByComparingTo("70");
+        assertThat(order.items()).extracting(item -> item.addOns().size()).containsExactlyInAnyOrder(2, 0);
+    }
+
+    @Test
+    @DisplayName("deve listar com duas consultas e sem carregar entidades")
+    void shouldListWithTwoStatements() {
+        var result = readAdapter.findByFilters(null, null, 10);
+
+        assertThat(result).extracting(OrderResponse::id).containsExactly(pendingId, startedId, doneId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("deve retornar pedido sem cliente e sem itens")
+    void shouldReturnOrderWithoutCustomerAndItems() {
+        var result = readAdapter.findByFilters(List.of(OrderStatus.INICIADO), null, 10);
+
+        assertThat(result).singleElement().satisfies(order -> {
+            assertThat(order.cpf()).isNull();
+            assertThat(order.items()).isEmpty();
+            assertThat(order.totalPrice()).isEqualByComparingTo("0");
+        });
+    }
+
+    @Test
+    @DisplayName("deve respeitar cursor e limite")
+    void shouldApplyCursorAndLimit() {
+        assertThat(readAdapter.findByFilters(null, pendingId, 10))
+                .extracting(OrderResponse::id).containsExactly(startedId, doneId);
+        assertThat(readAdapter.findByFilters(null, null, 2))
+                .extracting(OrderResponse::id).containsExactly(pendingId, startedId);
+    }
+
+    @Test
+    @DisplayName("não deve consultar o banco com lista de status vazia")
+    void shouldReturnEmptyForEmptyStatusList() {
+        assertThat(readAdapter.findByFilters(List.of(), null, 10)).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
@@ -0,0 +1,48 @@
+package com.fiap.snackapp.adapters.driven.infra.persistence.adapter;
+
+import com.fiap.snackapp.adapters.driven.infra.persistence.repository.SpringDataOutboxJpaRepository;
+import com.fiap.snackapp.core.application.dto.request.OrderPaymentCreateRequest;
+import com.fiap.snackapp.core.application.repository.OutboxRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class OutboxPersistenceAdapterIntegrationTest {
+
+    @Autowired
+    private SpringDataOutboxJpaRepository jpaRepository;
+
+    private OutboxRepositoryPort outboxRepositoryPort;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepositoryPort = new OutboxPersistenceAdapter(jpaRepository, new Jackson2JsonMessageConverter());
+    }
+
+    @Test
+    @DisplayName("deve gravar mensagem pendente com corpo JSON e tipo do payload")
+    void shouldStorePendingMessage() {
+        var request = new OrderPaymentCreateRequest(10L, new BigDecimal("50.00"), 1L);
+
+        outboxRepositoryPort.enqueue("payment.exchange", "payment.create", request);
+
+        assertThat(jpaRepository.findAll()).singleElement().satisfies(message -> {
+            assertThat(message.getId()).isNotNull();
+            assertThat(message.getExchange()).isEqualTo("payment.exchange");
+            assertThat(message.getRoutingKey()).isEqualTo("payment.create");
+            assertThat(message.getContentType()).isEqualTo("application/json");
+            assertThat(message.getTypeId()).isEqualTo(OrderPaymentCreateRequest.class.getName());
+            assertThat(message.getBody()).contains("\"orderId\":10", "\"amount\":50.00");
+            assertThat(message.getCreatedAt()).isNotNull();
+            assertThat(message.getSentAt()).isNull();
+        });
+    }
+}
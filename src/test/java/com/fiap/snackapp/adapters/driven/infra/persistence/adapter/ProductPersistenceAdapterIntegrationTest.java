@@ -111,6 +111,15 @@ class ProductPersistenceAdapterIntegrationTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    @DisplayName("findAllByIds: deve retornar apenas produtos existentes")
+    void findAllByIds_ShouldReturnExistingProducts() {
+        var result = productRepositoryPort.findAllByIds(List.of(lancheIdId, bebidaId, 999999L));
+
+        assertThat(result).extracting(ProductDefinition::id)
+                .containsExactlyInAnyOrder(lancheIdId, bebidaId);
+    }
+
     @Test
     @DisplayName("findByFilters: deve filtrar por categoria ativa")
     void findByFilters_ShouldFilterByActiveCategoryLanche() {
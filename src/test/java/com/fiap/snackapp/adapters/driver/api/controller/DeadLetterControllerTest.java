@@ -0,0 +1,45 @@
+package com.fiap.snackapp.adapters.driver.api.controller;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.retry.DeadLetterReplayer;
+import com.fiap.snackapp.adapters.driver.api.dto.response.DeadLetterReplayResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterControllerTest {
+
+    @Mock
+    private DeadLetterReplayer deadLetterReplayer;
+
+    @InjectMocks
+    private DeadLetterController controller;
+
+    @Test
+    @DisplayName("POST /api/dead-letters/{queue}/replay: deve retornar 200 com a quantidade reprocessada")
+    void replay_shouldReturnReplayedCount() {
+        when(deadLetterReplayer.replay("payment.created.queue", 50)).thenReturn(3);
+
+        var response = controller.replay("payment.created.queue", 50);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(new DeadLetterReplayResponse("payment.created.queue", 3));
+    }
+
+    @Test
+    @DisplayName("POST /api/dead-letters/{queue}/replay: deve limitar a quantidade por chamada")
+    void replay_shouldClampLimit() {
+        controller.replay("payment.created.queue", 1_000_000);
+        controller.replay("payment.created.queue", 0);
+
+        verify(deadLetterReplayer).replay("payment.created.queue", 1000);
+        verify(deadLetterReplayer).replay("payment.created.queue", 1);
+    }
+}
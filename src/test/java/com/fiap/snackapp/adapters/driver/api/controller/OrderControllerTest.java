@@ -1,10 +1,15 @@
 package com.fiap.snackapp.adapters.driver.api.controller;
 
+import com.fiap.snackapp.adapters.driver.api.stream.OrderStatusStream;
+import com.fiap.snackapp.adapters.driver.api.stream.PaymentQrCodeWaiters;
 import com.fiap.snackapp.core.application.dto.request.OrderInitRequest;
 import com.fiap.snackapp.core.application.dto.request.OrderItemsRequest;
 import com.fiap.snackapp.core.application.dto.request.OrderPaymentCreateRequest;
 import com.fiap.snackapp.core.application.dto.request.OrderStatusUpdateRequest;
+import com.fiap.snackapp.core.application.dto.response.OrderPageResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentQrCodeResponse;
 import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderStatusCountResponse;
 import com.fiap.snackapp.core.application.usecases.OrderUseCase;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,8 +21,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -28,6 +37,12 @@ class OrderControllerTest {
     @Mock
     private OrderUseCase orderUseCase;
 
+    @Mock
+    private OrderStatusStream orderStatusStream;
+
+    @Mock
+    private PaymentQrCodeWaiters paymentQrCodeWaiters;
+
     @InjectMocks
     private OrderController controller;
 
@@ -145,27 +160,85 @@ class OrderControllerTest {
         @DisplayName("deve listar todos os pedidos com filtros e retornar 200")
         void listAllOrdersByFilters_shouldReturnOk() {
             var filters = List.of(OrderStatus.INICIADO);
-            var expectedList = List.of(mock(OrderResponse.class));
-            when(orderUseCase.listAllOrdersByFilters(filters)).thenReturn(expectedList);
+            var expectedPage = new OrderPageResponse(List.of(mock(OrderResponse.class)), null);
+            when(orderUseCase.listAllOrdersByFilters(filters, null, null)).thenReturn(expectedPage);
 
-            var response = controller.listAllOrdersByFilters(filters);
+            var response = controller.listAllOrdersByFilters(filters, null, null);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-            assertThat(response.getBody()).isSameAs(expectedList);
-            verify(orderUseCase).listAllOrdersByFilters(filters);
+            assertThat(response.getBody()).isSameAs(expectedPage);
+            verify(orderUseCase).listAllOrdersByFilters(filters, null, null);
         }
 
         @Test
         @DisplayName("deve listar todos os pedidos sem filtros (null)")
         void listAllOrdersByFilters_shouldReturnOkWithoutFilters() {
-            var expectedList = List.of(mock(OrderResponse.class), mock(OrderResponse.class));
-            when(orderUseCase.listAllOrdersByFilters(null)).thenReturn(expectedList);
+            var expectedPage = new OrderPageResponse(List.of(mock(OrderResponse.class), mock(OrderResponse.class)), null);
+            when(orderUseCase.listAllOrdersByFilters(null, null, null)).thenReturn(expectedPage);
+
+            var response = controller.listAllOrdersByFilters(null, null, null);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().items()).hasSize(2);
+            verify(orderUseCase).listAllOrdersByFilters(null, null, null);
+        }
+
+        @Test
+        @DisplayName("deve repassar cursor e tamanho da página")
+        void listAllOrdersByFilters_shouldForwardCursorAndSize() {
+            var expectedPage = new OrderPageResponse(List.of(mock(OrderResponse.class)), 42L);
+            when(orderUseCase.listAllOrdersByFilters(null, 30L, 10)).thenReturn(expectedPage);
+
+            var response = controller.listAllOrdersByFilters(null, 30L, 10);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().next()).isEqualTo(42L);
+        }
+    }
 
-            var response = controller.listAllOrdersByFilters(null);
+    @Nested
+    @DisplayName("GET /api/orders/count")
+    class CountOrdersByStatusTests {
+        @Test
+        @DisplayName("deve retornar contagem por status e 200")
+        void countOrdersByStatus_shouldReturnOk() {
+            var filters = List.of(OrderStatus.PAGAMENTO_PENDENTE);
+            var expected = new OrderStatusCountResponse(Map.of(OrderStatus.PAGAMENTO_PENDENTE, 5L), 5L);
+            when(orderUseCase.countOrdersByStatus(filters)).thenReturn(expected);
+
+            var response = controller.countOrdersByStatus(filters);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-            assertThat(response.getBody()).hasSize(2);
-            verify(orderUseCase).listAllOrdersByFilters(null);
+            assertThat(response.getBody()).isSameAs(expected);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/orders/stream")
+    class StreamOrderStatusTests {
+        @Test
+        @DisplayName("deve repassar filtro de status e Last-Event-ID ao stream")
+        void streamOrderStatus_shouldSubscribeWithFilterAndLastEventId() {
+            var filters = List.of(OrderStatus.PAGAMENTO_APROVADO);
+            var emitter = new SseEmitter();
+            when(orderStatusStream.subscribe(filters, "a1b2c3d4-7")).thenReturn(emitter);
+
+            assertThat(controller.streamOrderStatus(filters, "a1b2c3d4-7")).isSameAs(emitter);
+            verifyNoInteractions(orderUseCase);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/orders/{orderId}/qr-code")
+    class WaitForPaymentQrCodeTests {
+        @Test
+        @DisplayName("deve devolver a espera registrada para o pedido")
+        void waitForPaymentQrCode_shouldReturnDeferredResult() {
+            var deferred = new DeferredResult<ResponseEntity<OrderPaymentQrCodeResponse>>();
+            when(paymentQrCodeWaiters.waitFor(10L)).thenReturn(deferred);
+
+            assertThat(controller.waitForPaymentQrCode(10L)).isSameAs(deferred);
+            verifyNoInteractions(orderUseCase);
         }
     }
 }
@@ -0,0 +1,243 @@
+package com.fiap.snackapp.adapters.driver.api.stream;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.OrderStatusStreamPublisher;
+import com.fiap.snackapp.adapters.driver.api.controller.OrderController;
+import com.fiap.snackapp.core.application.event.OrderStatusChangedEvent;
+import com.fiap.snackapp.core.application.usecases.OrderUseCase;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class OrderStatusStreamTest {
+
+    private final OrderStatusStreamPublisher streamPublisher = mock(OrderStatusStreamPublisher.class);
+    private OrderStatusStream stream;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        stream = new OrderStatusStream(streamPublisher, 3, 16, Duration.ofMinutes(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(new OrderController(mock(OrderUseCase.class), stream, mock(PaymentQrCodeWaiters.class))).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    private MockHttpServletResponse connect(String query, String lastEventId) throws Exception {
+        var builder = get("/api/orders/stream" + query);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        var result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return result.getResponse();
+    }
+
+    private String id(long sequence) {
+        return "id:" + stream.eventId(sequence) + "\n";
+    }
+
+    private void publish(long orderId, OrderStatus status) {
+        stream.onStatusChanged(new OrderStatusChangedEvent(orderId, status, null, null));
+    }
+
+    private void awaitSubscribers(int expected) {
+        await().atMost(Duration.ofSeconds(5)).until(() -> stream.subscriberCount() == expected);
+    }
+
+    @Test
+    @DisplayName("deve enviar transições com id, nome do evento e JSON")
+    void shouldStreamStatusChanges() throws Exception {
+        var response = connect("", null);
+        awaitSubscribers(1);
+
+        stream.onStatusChanged(new OrderStatusChangedEvent(10L, OrderStatus.PAGAMENTO_PENDENTE, "http://qr", "pay-1"));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(response.getContentAsString())
+                .contains(id(1) + "event:order-status\ndata:")
+                .contains("\"orderId\":10", "\"status\":\"PAGAMENTO_PENDENTE\"", "\"qrCodeUrl\":\"http://qr\""));
+    }
+
+    @Test
+    @DisplayName("deve entregar apenas os status filtrados")
+    void shouldFilterByStatus() throws Exception {
+        var response = connect("?status=CONCLUIDO", null);
+        awaitSubscribers(1);
+
+        publish(1L, OrderStatus.PAGAMENTO_APROVADO);
+        publish(1L, OrderStatus.CONCLUIDO);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(response.getContentAsString())
+                .contains(id(2))
+                .doesNotContain(id(1), "PAGAMENTO_APROVADO"));
+    }
+
+    @Test
+    @DisplayName("deve reenviar do buffer apenas eventos após o Last-Event-ID")
+    void shouldResumeFromLastEventId() throws Exception {
+        publish(1L, OrderStatus.PAGAMENTO_PENDENTE);
+        publish(2L, OrderStatus.PAGAMENTO_PENDENTE);
+        publish(3L, OrderStatus.PAGAMENTO_PENDENTE);
+
+        var response = connect("", stream.eventId(1));
+        awaitSubscribers(1);
+        publish(4L, OrderStatus.PAGAMENTO_PENDENTE);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(response.getContentAsString())
+                .contains(id(2), id(3), id(4))
+                .doesNotContain(id(1)));
+    }
+
+    @Test
+    @DisplayName("deve pedir recarga quando o Last-Event-ID já saiu do buffer")
+    void shouldSendResetWhenBufferWasExceeded() throws Exception {
+        for (long id = 1; id <= 5; id++) {
+            publish(id, OrderStatus.PAGAMENTO_PENDENTE);
+        }
+
+        var response = connect("", stream.eventId(1));
+        awaitSubscribers(1);
+
+        assertThat(response.getContentAsString())
+                .contains(id(5) + "event:reset\n")
+                .doesNotContain("event:order-status");
+    }
+
+    @Test
+    @DisplayName("deve pedir recarga quando o Last-Event-ID é de antes de um reinício")
+    void shouldSendResetAfterRestart() throws Exception {
+        var response = connect("", "outro-42");
+        awaitSubscribers(1);
+
+        assertThat(response.getContentAsString()).contains("event:reset");
+    }
+
+    @Test
+    @DisplayName("deve pedir recarga quando o Last-Event-ID é de outra réplica, mesmo com sequência no buffer")
+    void shouldSendResetForIdFromAnotherEpoch() throws Exception {
+        publish(1L, OrderStatus.PAGAMENTO_PENDENTE);
+        publish(2L, OrderStatus.PAGAMENTO_PENDENTE);
+        var other = new OrderStatusStream(streamPublisher, 3, 16, Duration.ofMinutes(1));
+
+        try {
+            var response = connect("", other.eventId(1));
+            awaitSubscribers(1);
+
+            assertThat(response.getContentAsString())
+                    .contains(id(2) + "event:reset\n")
+                    .doesNotContain("event:order-status");
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("deve remover assinante cuja conexão foi encerrada")
+    void shouldRemoveCompletedSubscribers() throws Exception {
+        var first = stream.subscribe(null, null);
+        stream.subscribe(null, null);
+        awaitSubscribers(2);
+
+        first.complete();
+        publish(1L, OrderStatus.CONCLUIDO);
+
+        awaitSubscribers(1);
+    }
+
+    @Test
+    @DisplayName("deve desconectar assinante lento sem atrasar a entrega aos demais")
+    void shouldDropSlowSubscriberWithoutBlockingOthers() throws Exception {
+        var release = new CountDownLatch(1);
+        stream.shutdown();
+        // Fila de 2 eventos; o emitter criado primeiro trava na escrita como um cliente que parou de ler
+        stream = new OrderStatusStream(streamPublisher, 16, 2, Duration.ofMinutes(1)) {
+            private boolean slowCreated;
+
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                if (slowCreated) {
+                    return super.newEmitter(timeoutMillis);
+                }
+                slowCreated = true;
+                return new SseEmitter(timeoutMillis) {
+                    @Override
+                    public void send(SseEventBuilder builder) throws IOException {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        super.send(builder);
+                    }
+                };
+            }
+        };
+        mockMvc = MockMvcBuilders.standaloneSetup(new OrderController(mock(OrderUseCase.class), stream, mock(PaymentQrCodeWaiters.class))).build();
+
+        try {
+            stream.subscribe(null, null);
+            var response = connect("", null);
+            awaitSubscribers(2);
+
+            // Um evento por vez para que só o assinante travado acumule pendências
+            for (long id = 1; id <= 5; id++) {
+                publish(id, OrderStatus.PAGAMENTO_PENDENTE);
+                var expected = id(id);
+                await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(response.getContentAsString())
+                        .contains(expected));
+            }
+
+            awaitSubscribers(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("deve encerrar as conexões abertas no desligamento")
+    void shouldCompleteOpenEmittersOnShutdown() throws Exception {
+        var result = mockMvc.perform(get("/api/orders/stream")).andExpect(request().asyncStarted()).andReturn();
+        awaitSubscribers(1);
+
+        stream.shutdown();
+
+        assertThat(result.getAsyncResult(5000)).isNull();
+        assertThat(stream.subscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("deve repassar às demais réplicas só as transições feitas nesta instância")
+    void shouldFanOutOnlyLocalTransitions() throws Exception {
+        var response = connect("", null);
+        awaitSubscribers(1);
+        var local = new OrderStatusChangedEvent(1L, OrderStatus.PAGAMENTO_APROVADO, null, null);
+        var remote = new OrderStatusChangedEvent(2L, OrderStatus.CONCLUIDO, null, null);
+
+        stream.onStatusChanged(local);
+        stream.deliver(remote);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(response.getContentAsString())
+                .contains("\"orderId\":1", "\"orderId\":2"));
+        verify(streamPublisher).publish(local);
+        verify(streamPublisher, never()).publish(remote);
+    }
+}
@@ -0,0 +1,151 @@
+package com.fiap.snackapp.adapters.driver.api.stream;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.PaymentQrCodeReadyPublisher;
+import com.fiap.snackapp.adapters.driver.api.controller.OrderController;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentQrCodeResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.application.event.OrderStatusChangedEvent;
+import com.fiap.snackapp.core.application.exception.ResourceNotFoundException;
+import com.fiap.snackapp.core.application.usecases.OrderUseCase;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentQrCodeWaitersTest {
+
+    @Mock
+    private OrderUseCase orderUseCase;
+
+    @Mock
+    private PaymentQrCodeReadyPublisher readyPublisher;
+
+    private PaymentQrCodeWaiters waiters;
+
+    @BeforeEach
+    void setUp() {
+        waiters = new PaymentQrCodeWaiters(orderUseCase, readyPublisher, Duration.ofSeconds(25));
+    }
+
+    private OrderResponse order(Long id, String qrCodeUrl, String paymentId) {
+        return new OrderResponse(id, OrderStatus.PAGAMENTO_PENDENTE.name(), null, List.of(), BigDecimal.TEN, qrCodeUrl, paymentId);
+    }
+
+    @Test
+    @DisplayName("deve responder na hora quando o QR code já foi gravado")
+    void shouldCompleteImmediatelyWhenQrCodeExists() {
+        when(orderUseCase.listOrderById(10L)).thenReturn(order(10L, "http://qr", "pay-1"));
+
+        var result = waiters.waitFor(10L);
+
+        assertThat(result.getResult())
+                .isEqualTo(ResponseEntity.ok(new OrderPaymentQrCodeResponse(10L, "http://qr", "pay-1")));
+    }
+
+    @Test
+    @DisplayName("deve completar a espera quando o QR code chega pelo listener")
+    void shouldCompleteWhenQrCodeArrives() {
+        when(orderUseCase.listOrderById(10L)).thenReturn(order(10L, null, null));
+
+        var first = waiters.waitFor(10L);
+        var second = waiters.waitFor(10L);
+        assertThat(first.hasResult()).isFalse();
+
+        waiters.onStatusChanged(new OrderStatusChangedEvent(10L, OrderStatus.PAGAMENTO_PENDENTE, "http://qr", "pay-1"));
+
+        var expected = ResponseEntity.ok(new OrderPaymentQrCodeResponse(10L, "http://qr", "pay-1"));
+        assertThat(first.getResult()).isEqualTo(expected);
+        assertThat(second.getResult()).isEqualTo(expected);
+        assertThat(waiters.waitingCount()).isZero();
+        verify(orderUseCase, times(2)).listOrderById(10L);
+    }
+
+    @Test
+    @DisplayName("deve avisar as outras réplicas quando o QR code for gravado nesta")
+    void shouldBroadcastQrCodeToOtherReplicas() {
+        waiters.onStatusChanged(new OrderStatusChangedEvent(10L, OrderStatus.PAGAMENTO_PENDENTE, "http://qr", "pay-1"));
+        waiters.onStatusChanged(new OrderStatusChangedEvent(11L, OrderStatus.PAGAMENTO_APROVADO, null, null));
+
+        verify(readyPublisher).publish(10L, "http://qr", "pay-1");
+        verifyNoMoreInteractions(readyPublisher);
+    }
+
+    @Test
+    @DisplayName("deve completar a espera quando o aviso chega de outra réplica")
+    void shouldCompleteFromOtherReplicaNotice() {
+        when(orderUseCase.listOrderById(10L)).thenReturn(order(10L, null, null));
+
+        var result = waiters.waitFor(10L);
+        waiters.complete(10L, "http://qr", "pay-1");
+
+        assertThat(result.getResult())
+                .isEqualTo(ResponseEntity.ok(new OrderPaymentQrCodeResponse(10L, "http://qr", "pay-1")));
+        assertThat(waiters.waitingCount()).isZero();
+        verifyNoInteractions(readyPublisher);
+    }
+
+    @Test
+    @DisplayName("deve ignorar eventos sem QR code ou de outros pedidos")
+    void shouldIgnoreUnrelatedEvents() {
+        when(orderUseCase.listOrderById(10L)).thenReturn(order(10L, null, null));
+
+        var result = waiters.waitFor(10L);
+        waiters.onStatusChanged(new OrderStatusChangedEvent(10L, OrderStatus.PAGAMENTO_PENDENTE, null, null));
+        waiters.onStatusChanged(new OrderStatusChangedEvent(11L, OrderStatus.PAGAMENTO_PENDENTE, "http://qr", "pay-2"));
+
+        assertThat(result.hasResult()).isFalse();
+        assertThat(waiters.waitingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("deve responder 204 quando o prazo de espera expira")
+    void shouldAnswerNoContentOnTimeout() throws Exception {
+        when(orderUseCase.listOrderById(10L)).thenReturn(order(10L, null, null));
+        var mockMvc = MockMvcBuilders.standaloneSetup(
+                new OrderController(orderUseCase, mock(OrderStatusStream.class), waiters)).build();
+
+        var pending = mockMvc.perform(get("/api/orders/10/qr-code"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var asyncContext = (MockAsyncContext) pending.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        mockMvc.perform(asyncDispatch(pending)).andExpect(status().isNoContent());
+        assertThat(waiters.waitingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("deve lançar não encontrado para pedido inexistente")
+    void shouldFailWhenOrderDoesNotExist() {
+        when(orderUseCase.listOrderById(99L)).thenReturn(null);
+
+        var result = waiters.waitFor(99L);
+
+        assertThat(result.getResult())
+                .isInstanceOf(ResourceNotFoundException.class)
+                .extracting(error -> ((ResourceNotFoundException) error).getMessage())
+                .isEqualTo("Pedido não encontrado: 99");
+    }
+}
@@ -0,0 +1,114 @@
+package com.fiap.snackapp.adapters.driver.messaging;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.dedupe.ProcessedMessageStore;
+import com.fiap.snackapp.adapters.driven.infra.messaging.retry.TieredRetryRecoverer;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
+import com.fiap.snackapp.core.application.exception.ResourceNotFoundException;
+import com.fiap.snackapp.core.application.usecases.OrderUseCase;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPaymentCreatedBatchListenerTest {
+
+    @Mock
+    private OrderUseCase orderUseCase;
+
+    @Mock
+    private ProcessedMessageStore processedMessages;
+
+    @Mock
+    private TieredRetryRecoverer retryRecoverer;
+
+    @Mock
+    private Channel channel;
+
+    private final Jackson2JsonMessageConverter messageConverter = new Jackson2JsonMessageConverter();
+
+    private OrderPaymentCreatedBatchListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new OrderPaymentCreatedBatchListener(orderUseCase, processedMessages, retryRecoverer, messageConverter);
+
+        // Nenhuma mensagem processada antes: o store repassa todas as chaves para a ação
+        lenient().when(processedMessages.processAllOnce(any(), any())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            Function<Set<String>, Set<String>> action = invocation.getArgument(1);
+            return action.apply(Set.copyOf(keys));
+        });
+    }
+
+    private Message message(long deliveryTag, String messageId, OrderPaymentCreatedMessageResponse payload) {
+        var properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        properties.setMessageId(messageId);
+        return messageConverter.toMessage(payload, properties);
+    }
+
+    private OrderPaymentCreatedMessageResponse payment(Long orderId) {
+        return new OrderPaymentCreatedMessageResponse("pay-" + orderId, orderId, BigDecimal.TEN,
+                "http://qr.code/" + orderId, OrderStatus.PAGAMENTO_PENDENTE);
+    }
+
+    @Test
+    @DisplayName("Deve gravar os QR Codes do lote em uma chamada ao UseCase e confirmar com um único ack")
+    void shouldUpdateBatchAndAckOnce() throws Exception {
+        var first = payment(1L);
+        var second = payment(2L);
+        when(orderUseCase.updateOrdersWithQrCode(any())).thenReturn(Set.of());
+
+        listener.handleOrderPaymentCreatedBatch(List.of(message(1, "m1", first), message(2, "m2", second)), channel);
+
+        verify(orderUseCase).updateOrdersWithQrCode(argThat(payloads -> payloads.containsAll(List.of(first, second))));
+        verify(orderUseCase, never()).updateOrderWithQrCode(any());
+        verify(channel).basicAck(2L, true);
+        verifyNoInteractions(retryRecoverer);
+    }
+
+    @Test
+    @DisplayName("Deve enviar para retentativa as mensagens de pedidos inexistentes e confirmar as demais")
+    void shouldRetryMissingOrders() throws Exception {
+        var existing = message(1, "m1", payment(1L));
+        var missing = message(2, "m2", payment(2L));
+        when(orderUseCase.updateOrdersWithQrCode(any())).thenReturn(Set.of(2L));
+
+        listener.handleOrderPaymentCreatedBatch(List.of(existing, missing), channel);
+
+        verify(retryRecoverer).recover(eq(missing), any(ResourceNotFoundException.class));
+        verify(channel).basicAck(1L, false);
+        verify(channel).basicAck(2L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve usar pedido e pagamento como chave quando a mensagem não tiver message-id")
+    void shouldUseOrderAndPaymentAsKeyWithoutMessageId() throws Exception {
+        when(orderUseCase.updateOrdersWithQrCode(any())).thenReturn(Set.of());
+
+        listener.handleOrderPaymentCreatedBatch(List.of(message(1, null, payment(9L))), channel);
+
+        verify(processedMessages).processAllOnce(argThat(keys -> keys.contains("payment-created:9:pay-9")), any());
+    }
+}
@@ -1,5 +1,6 @@
 package com.fiap.snackapp.adapters.driver.messaging;
 
+import com.fiap.snackapp.adapters.driven.infra.messaging.dedupe.ProcessedMessageStore;
 import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
 import com.fiap.snackapp.core.application.usecases.OrderUseCase;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
@@ -12,7 +13,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 
-import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class OrderPaymentCreatedListenerTest {
@@ -20,6 +23,9 @@ class OrderPaymentCreatedListenerTest {
     @Mock
     private OrderUseCase orderUseCase;
 
+    @Mock
+    private ProcessedMessageStore processedMessages;
+
     @InjectMocks
     private OrderPaymentCreatedListener listener;
 
@@ -37,10 +43,47 @@ class OrderPaymentCreatedListenerTest {
 
         // Act
         // Chamamos o método diretamente como se fosse o framework RabbitMQ invocando
-        listener.handleOrderPaymentCreated(message);
+        when(processedMessages.processOnce(eq("msg-1"), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+        listener.handleOrderPaymentCreated(message, "msg-1");
 
         // Assert
         // Verificamos se o UseCase foi chamado com a mensagem correta
         verify(orderUseCase).updateOrderWithQrCode(message);
     }
+
+    @Test
+    @DisplayName("Deve usar pedido e pagamento como chave quando a mensagem não tiver message-id")
+    void shouldUseOrderAndPaymentAsKeyWithoutMessageId() {
+        var message = new OrderPaymentCreatedMessageResponse(
+                "pay-123",
+                10L,
+                BigDecimal.valueOf(50.00),
+                "http://qrcode.url",
+                OrderStatus.PAGAMENTO_PENDENTE
+        );
+
+        listener.handleOrderPaymentCreated(message, null);
+
+        verify(processedMessages).processOnce(eq("payment-created:10:pay-123"), any());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar mensagem duplicada sem chamar o UseCase")
+    void shouldIgnoreDuplicateMessage() {
+        var message = new OrderPaymentCreatedMessageResponse(
+                "pay-123",
+                10L,
+                BigDecimal.valueOf(50.00),
+                "http://qrcode.url",
+                OrderStatus.PAGAMENTO_PENDENTE
+        );
+        when(processedMessages.processOnce(eq("msg-1"), any())).thenReturn(false);
+
+        listener.handleOrderPaymentCreated(message, "msg-1");
+
+        verifyNoInteractions(orderUseCase);
+    }
 }
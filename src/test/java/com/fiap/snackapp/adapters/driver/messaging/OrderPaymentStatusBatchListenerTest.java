@@ -0,0 +1,164 @@
+package com.fiap.snackapp.adapters.driver.messaging;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.dedupe.ProcessedMessageStore;
+import com.fiap.snackapp.adapters.driven.infra.messaging.retry.TieredRetryRecoverer;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentStatusUpdatedMessage;
+import com.fiap.snackapp.core.application.usecases.OrderUseCase;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPaymentStatusBatchListenerTest {
+
+    @Mock
+    private OrderUseCase orderUseCase;
+
+    @Mock
+    private ProcessedMessageStore processedMessages;
+
+    @Mock
+    private TieredRetryRecoverer retryRecoverer;
+
+    @Mock
+    private Channel channel;
+
+    private final Jackson2JsonMessageConverter messageConverter = new Jackson2JsonMessageConverter();
+
+    private OrderPaymentStatusBatchListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new OrderPaymentStatusBatchListener(orderUseCase, processedMessages, retryRecoverer, messageConverter);
+
+        // Nenhuma mensagem processada antes: o store repassa todas as chaves para a ação
+        lenient().when(processedMessages.processAllOnce(any(), any())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            Function<Set<String>, Set<String>> action = invocation.getArgument(1);
+            return action.apply(Set.copyOf(keys));
+        });
+    }
+
+    private Message message(long deliveryTag, String messageId, OrderPaymentStatusUpdatedMessage payload) {
+        var properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        properties.setMessageId(messageId);
+        return messageConverter.toMessage(payload, properties);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o lote em uma chamada ao UseCase e confirmar com um único ack")
+    void shouldApplyBatchAndAckOnce() throws Exception {
+        var approved = new OrderPaymentStatusUpdatedMessage(1L, "p1", OrderStatus.PAGAMENTO_APROVADO);
+        var refused = new OrderPaymentStatusUpdatedMessage(2L, "p2", OrderStatus.PAGAMENTO_RECUSADO);
+        when(orderUseCase.applyPaymentStatuses(any())).thenReturn(List.of());
+
+        listener.handlePaymentStatusUpdatedBatch(List.of(message(1, "m1", approved), message(2, "m2", refused)), channel);
+
+        verify(orderUseCase).applyPaymentStatuses(argThat(payloads -> payloads.containsAll(List.of(approved, refused))));
+        verify(channel).basicAck(2L, true);
+        verifyNoMoreInteractions(channel);
+        verifyNoInteractions(retryRecoverer);
+    }
+
+    @Test
+    @DisplayName("Deve enviar para retentativa apenas as mensagens rejeitadas e confirmar as demais")
+    void shouldRetryOnlyRejectedMessages() throws Exception {
+        var approved = new OrderPaymentStatusUpdatedMessage(1L, "p1", OrderStatus.PAGAMENTO_APROVADO);
+        var stale = new OrderPaymentStatusUpdatedMessage(2L, "p2", OrderStatus.PAGAMENTO_APROVADO);
+        var first = message(1, "m1", approved);
+        var second = message(2, "m2", stale);
+        when(orderUseCase.applyPaymentStatuses(any())).thenAnswer(invocation ->
+                invocation.<List<OrderPaymentStatusUpdatedMessage>>getArgument(0).stream()
+                        .filter(payload -> payload.orderId().equals(2L))
+                        .toList());
+
+        listener.handlePaymentStatusUpdatedBatch(List.of(first, second), channel);
+
+        verify(retryRecoverer).recover(eq(second), any(IllegalStateException.class));
+        verify(channel).basicAck(1L, false);
+        verify(channel).basicAck(2L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve encaminhar payload inválido para retentativa sem interromper o lote")
+    void shouldRetryInvalidPayload() throws Exception {
+        var valid = message(1, "m1", new OrderPaymentStatusUpdatedMessage(1L, "p1", OrderStatus.PAGAMENTO_APROVADO));
+        var invalidProperties = new MessageProperties();
+        invalidProperties.setDeliveryTag(2);
+        invalidProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        var invalid = new Message("{".getBytes(StandardCharsets.UTF_8), invalidProperties);
+        when(orderUseCase.applyPaymentStatuses(any())).thenReturn(List.of());
+
+        listener.handlePaymentStatusUpdatedBatch(List.of(valid, invalid), channel);
+
+        verify(retryRecoverer).recover(eq(invalid), any(ListenerExecutionFailedException.class));
+        verify(channel).basicAck(1L, false);
+        verify(channel).basicAck(2L, false);
+    }
+
+    @Test
+    @DisplayName("Deve processar mensagem a mensagem quando o lote inteiro falhar")
+    void shouldFallBackToSingleMessagesWhenBatchFails() throws Exception {
+        var approved = new OrderPaymentStatusUpdatedMessage(1L, "p1", OrderStatus.PAGAMENTO_APROVADO);
+        doThrow(new IllegalStateException("banco indisponível")).when(processedMessages).processAllOnce(any(), any());
+        when(processedMessages.processOnce(anyString(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+
+        listener.handlePaymentStatusUpdatedBatch(List.of(message(7, "m1", approved)), channel);
+
+        verify(orderUseCase).applyPaymentStatus(1L, OrderStatus.PAGAMENTO_APROVADO);
+        verify(channel).basicAck(7L, true);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a mensagem para a fila quando a retentativa não puder ser publicada")
+    void shouldNackWhenRetryHandOffFails() throws Exception {
+        var stale = new OrderPaymentStatusUpdatedMessage(2L, "p2", OrderStatus.PAGAMENTO_APROVADO);
+        var message = message(3, "m2", stale);
+        // O UseCase devolve as próprias instâncias recebidas que não puderam ser aplicadas
+        when(orderUseCase.applyPaymentStatuses(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new IllegalStateException("broker indisponível")).when(retryRecoverer).recover(eq(message), any());
+
+        listener.handlePaymentStatusUpdatedBatch(List.of(message), channel);
+
+        verify(channel).basicNack(3L, false, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve usar pedido e status como chave quando a mensagem não tiver message-id")
+    void shouldUseOrderAndStatusAsKeyWithoutMessageId() throws Exception {
+        var approved = new OrderPaymentStatusUpdatedMessage(9L, "p9", OrderStatus.PAGAMENTO_APROVADO);
+        when(orderUseCase.applyPaymentStatuses(any())).thenReturn(List.of());
+
+        listener.handlePaymentStatusUpdatedBatch(List.of(message(1, null, approved)), channel);
+
+        verify(processedMessages).processAllOnce(argThat(keys -> keys.contains("payment-status:9:PAGAMENTO_APROVADO")), any());
+    }
+}
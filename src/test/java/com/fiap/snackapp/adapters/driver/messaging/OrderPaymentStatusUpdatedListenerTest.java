@@ -1,22 +1,19 @@
 package com.fiap.snackapp.adapters.driver.messaging;
 
-import com.fiap.snackapp.core.application.dto.request.OrderStatusUpdateRequest;
+import com.fiap.snackapp.adapters.driven.infra.messaging.dedupe.ProcessedMessageStore;
 import com.fiap.snackapp.core.application.dto.response.OrderPaymentStatusUpdatedMessage;
 import com.fiap.snackapp.core.application.usecases.OrderUseCase;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
-import com.fiap.snackapp.core.domain.model.OrderDefinition;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.List;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -26,12 +23,24 @@ class OrderPaymentStatusUpdatedListenerTest {
     @Mock
     private OrderUseCase orderUseCase;
 
+    @Mock
+    private ProcessedMessageStore processedMessages;
+
     @InjectMocks
     private OrderPaymentStatusUpdatedListener listener;
 
+    @BeforeEach
+    void setUp() {
+        // Primeira entrega de cada mensagem: o store executa a ação
+        lenient().when(processedMessages.processOnce(anyString(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+    }
+
     @Test
-    @DisplayName("Deve enviar pedido para cozinha quando pagamento for APROVADO")
-    void shouldSendToKitchenWhenPaymentIsApproved() {
+    @DisplayName("Deve aplicar pagamento APROVADO em uma única chamada ao UseCase")
+    void shouldApplyApprovedPayment() {
         // Arrange
         Long orderId = 123L;
         String paymentId = "pay-apr-001";
@@ -39,25 +48,18 @@ class OrderPaymentStatusUpdatedListenerTest {
         // Mensagem de entrada
         var message = new OrderPaymentStatusUpdatedMessage(orderId, paymentId, OrderStatus.PAGAMENTO_APROVADO);
 
-        OrderDefinition approvedOrder = new OrderDefinition(orderId, null, OrderStatus.PAGAMENTO_APROVADO, null,  null, null);
-
-        when(orderUseCase.updateOrderStatus(eq(orderId), any(OrderStatusUpdateRequest.class)))
-                .thenReturn(approvedOrder);
-
         // Act
-        listener.handlePaymentStatusUpdated(message);
+        listener.handlePaymentStatusUpdated(message, "msg-" + paymentId);
 
         // Assert
-        // 1. Verifica se atualizou o status inicial
-        verify(orderUseCase).updateOrderStatus(eq(orderId), argThat(req -> req.status() == OrderStatus.PAGAMENTO_APROVADO));
-
-        // 2. Verifica se enviou para a cozinha
-        verify(orderUseCase).sendOrderToKitchen(approvedOrder);
+        // Status e envio para a cozinha ficam na mesma transação do UseCase
+        verify(orderUseCase).applyPaymentStatus(orderId, OrderStatus.PAGAMENTO_APROVADO);
+        verifyNoMoreInteractions(orderUseCase);
     }
 
     @Test
-    @DisplayName("Deve mudar status para CANCELADO quando pagamento for RECUSADO")
-    void shouldCancelOrderWhenPaymentIsRefused() {
+    @DisplayName("Deve aplicar pagamento RECUSADO em uma única chamada ao UseCase")
+    void shouldApplyRefusedPayment() {
         // Arrange
         Long orderId = 456L;
         String paymentId = "pay-rec-002";
@@ -65,28 +67,33 @@ class OrderPaymentStatusUpdatedListenerTest {
         // Mensagem de entrada
         var message = new OrderPaymentStatusUpdatedMessage(orderId, paymentId, OrderStatus.PAGAMENTO_RECUSADO);
 
-        OrderDefinition refusedOrder = new OrderDefinition(orderId, null, OrderStatus.PAGAMENTO_RECUSADO, null,  null, null);
-
-        when(orderUseCase.updateOrderStatus(eq(orderId), any(OrderStatusUpdateRequest.class)))
-                .thenReturn(refusedOrder);
-
         // Act
-        listener.handlePaymentStatusUpdated(message);
+        listener.handlePaymentStatusUpdated(message, "msg-" + paymentId);
 
         // Assert
-        ArgumentCaptor<OrderStatusUpdateRequest> captor = ArgumentCaptor.forClass(OrderStatusUpdateRequest.class);
+        // RECUSADO -> CANCELADO é aplicado pelo UseCase com um único UPDATE
+        verify(orderUseCase).applyPaymentStatus(orderId, OrderStatus.PAGAMENTO_RECUSADO);
+        verifyNoMoreInteractions(orderUseCase);
+    }
+
+    @Test
+    @DisplayName("Deve usar pedido e status como chave quando a mensagem não tiver message-id")
+    void shouldUseOrderAndStatusAsKeyWithoutMessageId() {
+        var message = new OrderPaymentStatusUpdatedMessage(789L, "pay-apr-003", OrderStatus.PAGAMENTO_APROVADO);
 
-        // Deve chamar o updateOrderStatus 2 vezes:
-        // 1ª vez: Atualiza para PAGAMENTO_RECUSADO (vindo da mensagem)
-        // 2ª vez: Atualiza para CANCELADO (lógica do listener)
-        verify(orderUseCase, times(2)).updateOrderStatus(eq(orderId), captor.capture());
+        listener.handlePaymentStatusUpdated(message, null);
+
+        verify(processedMessages).processOnce(eq("payment-status:789:PAGAMENTO_APROVADO"), any());
+    }
+
+    @Test
+    @DisplayName("Deve confirmar mensagem duplicada sem carregar nem alterar o pedido")
+    void shouldIgnoreDuplicateMessage() {
+        var message = new OrderPaymentStatusUpdatedMessage(123L, "pay-apr-001", OrderStatus.PAGAMENTO_APROVADO);
+        when(processedMessages.processOnce(eq("msg-dup"), any())).thenReturn(false);
 
-        // Valida a ordem das chamadas
-        List<OrderStatusUpdateRequest> capturedRequests = captor.getAllValues();
-        assertEquals(OrderStatus.PAGAMENTO_RECUSADO, capturedRequests.get(0).status());
-        assertEquals(OrderStatus.CANCELADO, capturedRequests.get(1).status());
+        listener.handlePaymentStatusUpdated(message, "msg-dup");
 
-        // Garante que NÃO enviou para a cozinha
-        verify(orderUseCase, never()).sendOrderToKitchen(any());
+        verifyNoInteractions(orderUseCase);
     }
 }
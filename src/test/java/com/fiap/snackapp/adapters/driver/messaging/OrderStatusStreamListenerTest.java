@@ -0,0 +1,53 @@
+package com.fiap.snackapp.adapters.driver.messaging;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.OrderStatusStreamEvent;
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.OrderStatusStreamPublisher;
+import com.fiap.snackapp.adapters.driver.api.stream.OrderStatusStream;
+import com.fiap.snackapp.core.application.event.OrderStatusChangedEvent;
+import com.fiap.snackapp.core.domain.enums.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusStreamListenerTest {
+
+    private static final String OWN_ORIGIN = "node-a";
+    private static final String OTHER_ORIGIN = "node-b";
+
+    @Mock
+    private OrderStatusStreamPublisher publisher;
+
+    @Mock
+    private OrderStatusStream stream;
+
+    @InjectMocks
+    private OrderStatusStreamListener listener;
+
+    @BeforeEach
+    void setUp() {
+        when(publisher.origin()).thenReturn(OWN_ORIGIN);
+    }
+
+    @Test
+    @DisplayName("deve ignorar transições publicadas pela própria instância")
+    void shouldIgnoreOwnNotices() {
+        listener.handleStatusChanged(new OrderStatusStreamEvent(10L, OrderStatus.CONCLUIDO, null, null, OWN_ORIGIN));
+
+        verifyNoInteractions(stream);
+    }
+
+    @Test
+    @DisplayName("deve entregar aos assinantes locais a transição feita em outra réplica")
+    void shouldDeliverRemoteTransitions() {
+        listener.handleStatusChanged(new OrderStatusStreamEvent(10L, OrderStatus.PAGAMENTO_PENDENTE, "http://qr", "pay-1", OTHER_ORIGIN));
+
+        verify(stream).deliver(new OrderStatusChangedEvent(10L, OrderStatus.PAGAMENTO_PENDENTE, "http://qr", "pay-1"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.fiap.snackapp.adapters.driver.messaging;
+
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.PaymentQrCodeReadyEvent;
+import com.fiap.snackapp.adapters.driven.infra.messaging.publisher.PaymentQrCodeReadyPublisher;
+import com.fiap.snackapp.adapters.driver.api.stream.PaymentQrCodeWaiters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentQrCodeReadyListenerTest {
+
+    private static final String OWN_ORIGIN = "node-a";
+    private static final String OTHER_ORIGIN = "node-b";
+
+    @Mock
+    private PaymentQrCodeReadyPublisher publisher;
+
+    @Mock
+    private PaymentQrCodeWaiters waiters;
+
+    @InjectMocks
+    private PaymentQrCodeReadyListener listener;
+
+    @BeforeEach
+    void setUp() {
+        when(publisher.origin()).thenReturn(OWN_ORIGIN);
+    }
+
+    @Test
+    @DisplayName("deve ignorar avisos publicados pela própria instância")
+    void shouldIgnoreOwnNotices() {
+        listener.handleQrCodeReady(new PaymentQrCodeReadyEvent(10L, "http://qr", "pay-1", OWN_ORIGIN));
+
+        verifyNoInteractions(waiters);
+    }
+
+    @Test
+    @DisplayName("deve completar as esperas locais com o QR code gravado em outra réplica")
+    void shouldCompleteLocalWaiters() {
+        listener.handleQrCodeReady(new PaymentQrCodeReadyEvent(10L, "http://qr", "pay-1", OTHER_ORIGIN));
+
+        verify(waiters).complete(10L, "http://qr", "pay-1");
+    }
+}
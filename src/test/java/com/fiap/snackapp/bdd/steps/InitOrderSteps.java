@@ -6,6 +6,7 @@ import com.fiap.snackapp.core.application.mapper.OrderMapper;
 import com.fiap.snackapp.core.application.repository.AddOnRepositoryPort;
 import com.fiap.snackapp.core.application.repository.CustomerRepositoryPort;
 import com.fiap.snackapp.core.application.repository.OrderRepositoryPort;
+import com.fiap.snackapp.core.application.repository.OutboxRepositoryPort;
 import com.fiap.snackapp.core.application.repository.ProductRepositoryPort;
 import com.fiap.snackapp.core.application.usecases.OrderUseCaseImpl;
 import com.fiap.snackapp.core.domain.model.CustomerDefinition;
@@ -18,7 +19,6 @@ import io.cucumber.java.pt.Quando;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 
 import java.util.Optional;
 
@@ -35,7 +35,7 @@ public class InitOrderSteps {
     @Mock private ProductRepositoryPort productRepository;
     @Mock private OrderItemMapper orderItemMapper;
     @Mock private AddOnRepositoryPort addOnRepository;
-    @Mock private RabbitTemplate rabbitTemplate;
+    @Mock private OutboxRepositoryPort outboxRepository;
 
     @InjectMocks
     private OrderUseCaseImpl orderUseCase;
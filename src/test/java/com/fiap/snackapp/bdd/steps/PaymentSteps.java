@@ -2,6 +2,7 @@ package com.fiap.snackapp.bdd.steps;
 
 import com.fiap.snackapp.core.application.dto.request.OrderPaymentCreateRequest;
 import com.fiap.snackapp.core.application.repository.OrderRepositoryPort;
+import com.fiap.snackapp.core.application.repository.OutboxRepositoryPort;
 import com.fiap.snackapp.core.application.usecases.OrderUseCaseImpl;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
 import com.fiap.snackapp.core.domain.model.CustomerDefinition;
@@ -14,10 +15,11 @@ import io.cucumber.java.pt.Quando;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,7 +37,10 @@ public class PaymentSteps {
     private OrderRepositoryPort orderRepository;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private OutboxRepositoryPort outboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private OrderUseCaseImpl orderUseCase;
@@ -62,7 +67,14 @@ public class PaymentSteps {
         );
 
         when(orderRepository.findById(id)).thenReturn(Optional.of(orderMock));
-        when(orderRepository.save(any(OrderDefinition.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.updateStatus(eq(id), any(), any(OrderStatus.class))).thenAnswer(invocation -> {
+            Collection<OrderStatus> expected = invocation.getArgument(1);
+            if (!expected.contains(orderMock.getStatus())) {
+                return false;
+            }
+            orderMock.setStatus(invocation.getArgument(2));
+            return true;
+        });
     }
 
     @Quando("eu solicito a criação do pagamento para o pedido {long}")
@@ -78,14 +90,14 @@ public class PaymentSteps {
 
     @Entao("o status do pedido deve ser atualizado para {string}")
     public void oStatusDoPedidoDeveSerAtualizadoPara(String novoStatusStr) {
-        verify(orderRepository, times(1)).save(any(OrderDefinition.class));
+        verify(orderRepository, times(1)).updateStatus(eq(orderMock.getId()), any(), any(OrderStatus.class));
 
         assertEquals(OrderStatus.valueOf(novoStatusStr), orderMock.getStatus());
     }
 
     @E("uma mensagem de criação de pagamento deve ser enviada para a fila")
     public void umaMensagemDeCriacaoDePagamentoDeveSerEnviadaParaAFila() {
-        verify(rabbitTemplate, times(1)).convertAndSend(
+        verify(outboxRepository, times(1)).enqueue(
                 eq("payment.exchange"),
                 eq("payment.create"),
                 eq(paymentRequest)
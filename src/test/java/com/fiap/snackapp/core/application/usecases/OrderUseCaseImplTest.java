@@ -2,13 +2,18 @@ package com.fiap.snackapp.core.application.usecases;
 
 import com.fiap.snackapp.core.application.dto.request.*;
 import com.fiap.snackapp.core.application.dto.response.OrderPaymentCreatedMessageResponse;
+import com.fiap.snackapp.core.application.dto.response.OrderPaymentStatusUpdatedMessage;
 import com.fiap.snackapp.core.application.dto.response.OrderResponse;
+import com.fiap.snackapp.core.application.event.OrderStatusChangedEvent;
+import com.fiap.snackapp.core.application.exception.ConcurrentOrderUpdateException;
 import com.fiap.snackapp.core.application.exception.ResourceNotFoundException;
 import com.fiap.snackapp.core.application.mapper.OrderItemMapper;
 import com.fiap.snackapp.core.application.mapper.OrderMapper;
 import com.fiap.snackapp.core.application.repository.AddOnRepositoryPort;
 import com.fiap.snackapp.core.application.repository.CustomerRepositoryPort;
+import com.fiap.snackapp.core.application.repository.OrderReadRepositoryPort;
 import com.fiap.snackapp.core.application.repository.OrderRepositoryPort;
+import com.fiap.snackapp.core.application.repository.OutboxRepositoryPort;
 import com.fiap.snackapp.core.application.repository.ProductRepositoryPort;
 import com.fiap.snackapp.core.domain.enums.Category;
 import com.fiap.snackapp.core.domain.enums.OrderStatus;
@@ -22,12 +27,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -41,6 +49,8 @@ class OrderUseCaseImplTest {
     @Mock
     private OrderRepositoryPort orderRepository;
     @Mock
+    private OrderReadRepositoryPort orderReadRepository;
+    @Mock
     private CustomerRepositoryPort customerRepository;
     @Mock
     private ProductRepositoryPort productRepository;
@@ -51,7 +61,9 @@ class OrderUseCaseImplTest {
     @Mock
     private AddOnRepositoryPort addOnRepository;
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private OutboxRepositoryPort outboxRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private OrderUseCaseImpl useCase;
@@ -72,7 +84,7 @@ class OrderUseCaseImplTest {
             var expectedResponse = new OrderResponse(10L, OrderStatus.INICIADO.name(), cpfString, List.of(), BigDecimal.ZERO, null, null);
 
             when(customerRepository.findByCpf(any(CPF.class))).thenReturn(Optional.empty());
-            when(customerRepository.save(any(CustomerDefinition.class))).thenReturn(savedCustomer);
+            when(customerRepository.saveIfAbsent(any(CustomerDefinition.class))).thenReturn(savedCustomer);
             when(orderMapper.toOrderDomain(savedCustomer)).thenReturn(orderToSave);
             when(orderRepository.save(any(OrderDefinition.class))).thenReturn(savedOrder);
             when(orderMapper.toResponse(savedOrder)).thenReturn(expectedResponse);
@@ -80,7 +92,7 @@ class OrderUseCaseImplTest {
             var response = useCase.initOrder(cpfString);
 
             assertThat(response).isEqualTo(expectedResponse);
-            verify(customerRepository).save(any(CustomerDefinition.class));
+            verify(customerRepository).saveIfAbsent(any(CustomerDefinition.class));
             verify(orderRepository).save(any(OrderDefinition.class));
         }
 
@@ -100,7 +112,7 @@ class OrderUseCaseImplTest {
             var response = useCase.initOrder(cpfString);
 
             assertThat(response).isEqualTo(expectedResponse);
-            verify(customerRepository, never()).save(any());
+            verify(customerRepository, never()).saveIfAbsent(any());
             verify(orderRepository).save(any());
         }
     }
@@ -124,8 +136,8 @@ class OrderUseCaseImplTest {
             var request = new OrderItemsRequest(List.of(itemRequest));
 
             when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(productRepository.findById(prodId)).thenReturn(Optional.of(product));
-            when(addOnRepository.findById(addOnId)).thenReturn(Optional.of(addOn));
+            when(productRepository.findAllByIds(Set.of(prodId))).thenReturn(List.of(product));
+            when(addOnRepository.findAllByIds(Set.of(addOnId))).thenReturn(List.of(addOn));
             when(orderItemMapper.toDomain(eq(product), eq(itemRequest), anyList()))
                     .thenReturn(new OrderItemDefinition(prodId, "Lanche", 1, BigDecimal.valueOf(14), new ArrayList<>()));
             when(orderRepository.save(order)).thenReturn(order);
@@ -134,7 +146,7 @@ class OrderUseCaseImplTest {
             useCase.addItems(orderId, request);
 
             assertThat(order.getItems()).hasSize(1);
-            verify(addOnRepository).findById(addOnId);
+            verify(addOnRepository).findAllByIds(Set.of(addOnId));
         }
 
         @Test
@@ -147,7 +159,7 @@ class OrderUseCaseImplTest {
             var request = new OrderItemsRequest(List.of(itemRequest));
 
             when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(productRepository.findById(10L)).thenReturn(Optional.of(product));
+            when(productRepository.findAllByIds(Set.of(10L))).thenReturn(List.of(product));
             when(orderItemMapper.toDomain(product, itemRequest, List.of()))
                     .thenReturn(new OrderItemDefinition(10L, "Lanche", 1, BigDecimal.TEN, new ArrayList<>()));
             when(orderRepository.save(order)).thenReturn(order);
@@ -156,6 +168,39 @@ class OrderUseCaseImplTest {
             useCase.addItems(orderId, request);
 
             assertThat(order.getItems()).hasSize(1);
+            verifyNoInteractions(addOnRepository);
+        }
+
+        @Test
+        @DisplayName("Deve buscar produtos e adicionais em uma única consulta por tabela")
+        void shouldResolveCatalogInBulk() {
+            Long orderId = 1L;
+            var order = new OrderDefinition(orderId, null, OrderStatus.INICIADO, new ArrayList<>(), null, null);
+            var burger = new ProductDefinition(10L, "Lanche", Category.LANCHE, BigDecimal.TEN, "Desc", true);
+            var soda = new ProductDefinition(20L, "Refri", Category.BEBIDA, BigDecimal.ONE, "Desc", true);
+            var bacon = new AddOnDefinition(50L, "Bacon", Category.LANCHE, BigDecimal.TWO, true);
+            var cheese = new AddOnDefinition(60L, "Queijo", Category.LANCHE, BigDecimal.ONE, true);
+            var request = new OrderItemsRequest(List.of(
+                    new ItemRequest(10L, 1, List.of(new AddOnRequest(50L, 1), new AddOnRequest(60L, 1))),
+                    new ItemRequest(10L, 2, List.of(new AddOnRequest(50L, 2))),
+                    new ItemRequest(20L, 1, null)
+            ));
+
+            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+            when(productRepository.findAllByIds(Set.of(10L, 20L))).thenReturn(List.of(burger, soda));
+            when(addOnRepository.findAllByIds(Set.of(50L, 60L))).thenReturn(List.of(bacon, cheese));
+            when(orderItemMapper.toDomain(any(ProductDefinition.class), any(ItemRequest.class), anyList()))
+                    .thenReturn(new OrderItemDefinition(10L, "Lanche", 1, BigDecimal.TEN, new ArrayList<>()));
+            when(orderRepository.save(order)).thenReturn(order);
+            when(orderMapper.toResponse(order)).thenReturn(mock(OrderResponse.class));
+
+            useCase.addItems(orderId, request);
+
+            assertThat(order.getItems()).hasSize(3);
+            verify(productRepository).findAllByIds(Set.of(10L, 20L));
+            verify(addOnRepository).findAllByIds(Set.of(50L, 60L));
+            verify(productRepository, never()).findById(any());
+            verify(addOnRepository, never()).findById(any());
         }
 
         @Test
@@ -177,11 +222,11 @@ class OrderUseCaseImplTest {
             var request = new OrderItemsRequest(List.of(itemRequest));
 
             when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-            when(productRepository.findById(999L)).thenReturn(Optional.empty());
+            when(productRepository.findAllByIds(Set.of(999L))).thenReturn(List.of());
 
             assertThatThrownBy(() -> useCase.addItems(1L, request))
                     .isInstanceOf(ResourceNotFoundException.class)
-                    .hasMessageContaining("Produto não encontrado");
+                    .hasMessage("Produto não encontrado: 999");
         }
 
         @Test
@@ -195,12 +240,12 @@ class OrderUseCaseImplTest {
             var request = new OrderItemsRequest(List.of(itemRequest));
 
             when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(productRepository.findById(10L)).thenReturn(Optional.of(product));
-            when(addOnRepository.findById(999L)).thenReturn(Optional.empty());
+            when(productRepository.findAllByIds(Set.of(10L))).thenReturn(List.of(product));
+            when(addOnRepository.findAllByIds(Set.of(999L))).thenReturn(List.of());
 
             assertThatThrownBy(() -> useCase.addItems(orderId, request))
                     .isInstanceOf(ResourceNotFoundException.class)
-                    .hasMessageContaining("Adicional não encontrado");
+                    .hasMessage("Adicional não encontrado: 999");
         }
     }
 
@@ -209,28 +254,23 @@ class OrderUseCaseImplTest {
     class RabbitMQTests {
 
         @Test
-        @DisplayName("Deve atualizar status e enviar requisição de pagamento para fila correta")
+        @DisplayName("Deve atualizar status e gravar requisição de pagamento no outbox da fila correta")
         void shouldSendPaymentRequestToQueue() {
             // Arrange
             Long orderId = 1L;
             var request = new OrderPaymentCreateRequest(orderId, BigDecimal.TEN, 99L);
 
-            var items = new ArrayList<OrderItemDefinition>();
-            items.add(new OrderItemDefinition(10L, "Item", 1, BigDecimal.TEN, new ArrayList<>()));
-            var order = new OrderDefinition(orderId, null, OrderStatus.INICIADO, items, null, null);
-
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(orderRepository.save(any(OrderDefinition.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(orderRepository.updateStatus(eq(orderId), any(), eq(OrderStatus.PAGAMENTO_PENDENTE))).thenReturn(true);
 
             // Act
             useCase.requestOrderPaymentCreation(request);
 
             // Assert
-            assertThat(order.getStatus()).isEqualTo(OrderStatus.PAGAMENTO_PENDENTE);
-            verify(orderRepository).save(order);
+            verify(orderRepository).updateStatus(eq(orderId), argThat(expected -> expected.contains(OrderStatus.INICIADO)),
+                    eq(OrderStatus.PAGAMENTO_PENDENTE));
 
-            // Verifica o envio para a fila
-            verify(rabbitTemplate).convertAndSend(
+            // Verifica a gravação no outbox para a fila
+            verify(outboxRepository).enqueue(
                     "payment.exchange",
                     "payment.create",
                     request
@@ -243,11 +283,12 @@ class OrderUseCaseImplTest {
             var order = new OrderDefinition(10L, null, OrderStatus.PAGAMENTO_APROVADO, List.of(), null, null);
             var kitchenRequest = new OrderToKitchenRequest(10L, List.of());
 
+            when(orderRepository.findById(10L)).thenReturn(Optional.of(order));
             when(orderMapper.toKitchenRequest(order)).thenReturn(kitchenRequest);
 
-            useCase.sendOrderToKitchen(order);
+            useCase.sendOrderToKitchen(10L);
 
-            verify(rabbitTemplate).convertAndSend("kitchen.order.received", kitchenRequest);
+            verify(outboxRepository).enqueue("", "kitchen.order.received", kitchenRequest);
         }
 
         @Test
@@ -276,6 +317,28 @@ class OrderUseCaseImplTest {
             assertThat(order.getPaymentId()).isEqualTo("pay-uuid");
 
             verify(orderRepository, atLeastOnce()).save(order);
+            verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(
+                    55L, OrderStatus.PAGAMENTO_PENDENTE, "http://qr.code", "pay-uuid"));
+        }
+
+        @Test
+        @DisplayName("Deve gravar QR Codes em lote sem carregar os pedidos e informar os inexistentes")
+        void shouldUpdateQrCodesInBatchAndReportMissingOrders() {
+            var existing = new OrderPaymentCreatedMessageResponse(
+                    "pay-1", 55L, BigDecimal.TEN, "http://qr.code/1", OrderStatus.PAGAMENTO_PENDENTE);
+            var missing = new OrderPaymentCreatedMessageResponse(
+                    "pay-2", 56L, BigDecimal.TEN, "http://qr.code/2", OrderStatus.PAGAMENTO_PENDENTE);
+            var batch = List.of(existing, missing);
+            when(orderRepository.updatePaymentDetails(batch)).thenReturn(Map.of(55L, OrderStatus.PAGAMENTO_PENDENTE));
+
+            var notFound = useCase.updateOrdersWithQrCode(batch);
+
+            assertThat(notFound).containsExactly(56L);
+            verify(orderRepository, never()).findById(any());
+            verify(orderRepository, never()).save(any());
+            verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(
+                    55L, OrderStatus.PAGAMENTO_PENDENTE, "http://qr.code/1", "pay-1"));
+            verifyNoMoreInteractions(eventPublisher);
         }
 
     }
@@ -287,107 +350,104 @@ class OrderUseCaseImplTest {
         @Test
         @DisplayName("Deve atualizar status INICIADO -> PAGAMENTO_PENDENTE")
         void shouldUpdateStatusIniciadoToPendente() {
-            var items = new ArrayList<OrderItemDefinition>();
-            items.add(new OrderItemDefinition(10L, "Dummy", 1, BigDecimal.TEN, new ArrayList<>()));
-            var order = new OrderDefinition(1L, null, OrderStatus.INICIADO, items,  null, null);
             var request = new OrderStatusUpdateRequest(OrderStatus.PAGAMENTO_PENDENTE);
 
-            when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.updateStatus(eq(1L), argThat(expected -> expected.contains(OrderStatus.INICIADO)),
+                    eq(OrderStatus.PAGAMENTO_PENDENTE))).thenReturn(true);
 
             useCase.updateOrderStatus(1L, request);
 
-            assertThat(order.getStatus()).isEqualTo(OrderStatus.PAGAMENTO_PENDENTE);
-            verify(orderRepository).save(order);
+            verify(orderRepository, never()).findById(any());
+            verify(orderRepository, never()).save(any());
+            verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(1L, OrderStatus.PAGAMENTO_PENDENTE, null, null));
         }
 
-        // ... (restante dos testes de UpdateStatusTests permanecem inalterados) ...
-
         @Test
         @DisplayName("Deve atualizar status PAGAMENTO_PENDENTE -> PAGAMENTO_APROVADO")
         void shouldUpdateStatusPendenteToAprovado() {
-            var items = new ArrayList<OrderItemDefinition>();
-            items.add(new OrderItemDefinition(10L, "Dummy", 1, BigDecimal.TEN, new ArrayList<>()));
-            var order = new OrderDefinition(2L, null, OrderStatus.PAGAMENTO_PENDENTE, items,  null, null);
             var request = new OrderStatusUpdateRequest(OrderStatus.PAGAMENTO_APROVADO);
 
-            when(orderRepository.findById(2L)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.updateStatus(eq(2L), argThat(expected -> expected.contains(OrderStatus.PAGAMENTO_PENDENTE)),
+                    eq(OrderStatus.PAGAMENTO_APROVADO))).thenReturn(true);
 
             useCase.updateOrderStatus(2L, request);
 
-            assertThat(order.getStatus()).isEqualTo(OrderStatus.PAGAMENTO_APROVADO);
-            verify(orderRepository).save(order);
-            verifyNoInteractions(rabbitTemplate);
+            verify(orderRepository, never()).findById(any());
+            verify(orderRepository, never()).save(any());
+            verifyNoInteractions(outboxRepository);
             verify(orderMapper, never()).toKitchenRequest(any());
         }
 
         @Test
         @DisplayName("Deve atualizar status PAGAMENTO_PENDENTE -> PAGAMENTO_RECUSADO")
         void shouldUpdateStatusPendenteToRecusado() {
-            var items = new ArrayList<OrderItemDefinition>();
-            items.add(new OrderItemDefinition(10L, "Dummy", 1, BigDecimal.TEN, new ArrayList<>()));
-            var order = new OrderDefinition(3L, null, OrderStatus.PAGAMENTO_PENDENTE, items,  null, null);
             var request = new OrderStatusUpdateRequest(OrderStatus.PAGAMENTO_RECUSADO);
 
-            when(orderRepository.findById(3L)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.updateStatus(eq(3L), argThat(expected -> expected.contains(OrderStatus.PAGAMENTO_PENDENTE)),
+                    eq(OrderStatus.PAGAMENTO_RECUSADO))).thenReturn(true);
 
             useCase.updateOrderStatus(3L, request);
 
-            assertThat(order.getStatus()).isEqualTo(OrderStatus.PAGAMENTO_RECUSADO);
-            verify(orderRepository).save(order);
+            verify(orderRepository, never()).findById(any());
+            verify(orderRepository, never()).save(any());
         }
 
         @Test
         @DisplayName("Deve atualizar status PAGAMENTO_RECUSADO -> CANCELADO")
         void shouldUpdateStatusRecusadoToCancelado() {
-            var items = new ArrayList<OrderItemDefinition>();
-            items.add(new OrderItemDefinition(10L, "Dummy", 1, BigDecimal.TEN, new ArrayList<>()));
-            var order = new OrderDefinition(5L, null, OrderStatus.PAGAMENTO_RECUSADO, items,  null, null);
             var request = new OrderStatusUpdateRequest(OrderStatus.CANCELADO);
 
-            when(orderRepository.findById(5L)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.updateStatus(eq(5L), argThat(expected -> expected.contains(OrderStatus.PAGAMENTO_RECUSADO)),
+                    eq(OrderStatus.CANCELADO))).thenReturn(true);
 
             useCase.updateOrderStatus(5L, request);
 
-            assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELADO);
-            verify(orderRepository).save(order);
+            verify(orderRepository, never()).findById(any());
+            verify(orderRepository, never()).save(any());
         }
 
         @Test
         @DisplayName("Deve atualizar status PAGAMENTO_RECUSADO -> PAGAMENTO_PENDENTE")
         void shouldUpdateStatusRecusadoToPendente() {
-            var items = new ArrayList<OrderItemDefinition>();
-            items.add(new OrderItemDefinition(10L, "Dummy", 1, BigDecimal.TEN, new ArrayList<>()));
-            var order = new OrderDefinition(6L, null, OrderStatus.PAGAMENTO_RECUSADO, items,  null, null);
             var request = new OrderStatusUpdateRequest(OrderStatus.PAGAMENTO_PENDENTE);
 
-            when(orderRepository.findById(6L)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.updateStatus(eq(6L), argThat(expected -> expected.contains(OrderStatus.PAGAMENTO_RECUSADO)),
+                    eq(OrderStatus.PAGAMENTO_PENDENTE))).thenReturn(true);
 
             useCase.updateOrderStatus(6L, request);
 
-            assertThat(order.getStatus()).isEqualTo(OrderStatus.PAGAMENTO_PENDENTE);
-            verify(orderRepository).save(order);
+            verify(orderRepository, never()).findById(any());
+            verify(orderRepository, never()).save(any());
         }
 
         @Test
         @DisplayName("Deve atualizar status PAGAMENTO_APROVADO -> CONCLUIDO")
         void shouldUpdateStatusAprovadoToConcluido() {
-            var items = new ArrayList<OrderItemDefinition>();
-            items.add(new OrderItemDefinition(10L, "Item", 1, BigDecimal.TEN, new ArrayList<>()));
-            var order = new OrderDefinition(4L, null, OrderStatus.PAGAMENTO_APROVADO, items,  null, null);
             var request = new OrderStatusUpdateRequest(OrderStatus.CONCLUIDO);
 
-            when(orderRepository.findById(4L)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.updateStatus(eq(4L), argThat(expected -> expected.contains(OrderStatus.PAGAMENTO_APROVADO)),
+                    eq(OrderStatus.CONCLUIDO))).thenReturn(true);
 
             useCase.updateOrderStatus(4L, request);
 
-            assertThat(order.getStatus()).isEqualTo(OrderStatus.CONCLUIDO);
-            verify(orderRepository).save(order);
+            verify(orderRepository, never()).findById(any());
+            verify(orderRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar transição para INICIADO (sem predecessores válidos)")
+        void shouldAskRepositoryWithNoPredecessorsForIniciado() {
+            var items = new ArrayList<OrderItemDefinition>();
+            items.add(new OrderItemDefinition(10L, "Dummy", 1, BigDecimal.TEN, new ArrayList<>()));
+            var order = new OrderDefinition(1L, null, OrderStatus.PAGAMENTO_PENDENTE, items, null, null);
+            var request = new OrderStatusUpdateRequest(OrderStatus.INICIADO);
+
+            when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+            assertThatThrownBy(() -> useCase.updateOrderStatus(1L, request))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Transição de status inválida");
+            verify(orderRepository).updateStatus(eq(1L), argThat(Collection::isEmpty), eq(OrderStatus.INICIADO));
         }
 
         @Test
@@ -401,6 +461,7 @@ class OrderUseCaseImplTest {
             assertThatThrownBy(() -> useCase.updateOrderStatus(1L, request))
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessageContaining("Não é possível mudar status de um pedido sem itens");
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
@@ -490,66 +551,312 @@ class OrderUseCaseImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Cenários de Transição Composta")
+    class CompoundTransitionTests {
+
+        @Test
+        @DisplayName("Deve aplicar PAGAMENTO_RECUSADO -> CANCELADO com um único UPDATE")
+        void shouldCancelRefusedPaymentWithSingleUpdate() {
+            when(orderRepository.updateStatus(eq(7L), argThat(expected -> expected.equals(Set.of(OrderStatus.PAGAMENTO_PENDENTE))),
+                    eq(OrderStatus.CANCELADO))).thenReturn(true);
+
+            useCase.applyPaymentStatus(7L, OrderStatus.PAGAMENTO_RECUSADO);
+
+            verify(orderRepository, times(1)).updateStatus(any(), any(), any());
+            verify(orderRepository, never()).findById(any());
+            verify(orderRepository, never()).save(any());
+            verifyNoInteractions(outboxRepository);
+
+            var events = inOrder(eventPublisher);
+            events.verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(7L, OrderStatus.PAGAMENTO_RECUSADO, null, null));
+            events.verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(7L, OrderStatus.CANCELADO, null, null));
+        }
+
+        @Test
+        @DisplayName("Deve aprovar pagamento e gravar a mensagem da cozinha com uma leitura e uma escrita")
+        void shouldApprovePaymentAndEnqueueKitchen() {
+            var order = new OrderDefinition(8L, null, OrderStatus.PAGAMENTO_APROVADO, List.of(), null, null);
+            var kitchenRequest = new OrderToKitchenRequest(8L, List.of());
+
+            when(orderRepository.updateStatus(eq(8L), argThat(expected -> expected.contains(OrderStatus.PAGAMENTO_PENDENTE)),
+                    eq(OrderStatus.PAGAMENTO_APROVADO))).thenReturn(true);
+            when(orderRepository.findById(8L)).thenReturn(Optional.of(order));
+            when(orderMapper.toKitchenRequest(order)).thenReturn(kitchenRequest);
+
+            useCase.applyPaymentStatus(8L, OrderStatus.PAGAMENTO_APROVADO);
+
+            verify(orderRepository, times(1)).updateStatus(any(), any(), any());
+            verify(orderRepository, times(1)).findById(8L);
+            verify(orderRepository, never()).save(any());
+            verify(outboxRepository).enqueue("", "kitchen.order.received", kitchenRequest);
+            verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(8L, OrderStatus.PAGAMENTO_APROVADO, null, null));
+        }
+
+        @Test
+        @DisplayName("Não deve gravar mensagem da cozinha quando a aprovação for rejeitada")
+        void shouldNotEnqueueKitchenWhenApprovalIsRejected() {
+            var items = new ArrayList<OrderItemDefinition>();
+            items.add(new OrderItemDefinition(10L, "Dummy", 1, BigDecimal.TEN, new ArrayList<>()));
+            var order = new OrderDefinition(9L, null, OrderStatus.CANCELADO, items, null, null);
+
+            when(orderRepository.findById(9L)).thenReturn(Optional.of(order));
+
+            assertThatThrownBy(() -> useCase.applyPaymentStatus(9L, OrderStatus.PAGAMENTO_APROVADO))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Transição de status inválida: CANCELADO → PAGAMENTO_APROVADO");
+            verifyNoInteractions(outboxRepository, eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Deve repetir o UPDATE quando o pedido recarregado já admite a transição")
+        void shouldRetryWhenReloadedOrderAllowsTransition() {
+            var items = new ArrayList<OrderItemDefinition>();
+            items.add(new OrderItemDefinition(10L, "Dummy", 1, BigDecimal.TEN, new ArrayList<>()));
+            var order = new OrderDefinition(10L, null, OrderStatus.INICIADO, items, null, null);
+
+            when(orderRepository.updateStatus(eq(10L), any(), eq(OrderStatus.PAGAMENTO_PENDENTE)))
+                    .thenReturn(false, true);
+            when(orderRepository.findById(10L)).thenReturn(Optional.of(order));
+
+            useCase.applyStatusTransitions(10L, List.of(OrderStatus.PAGAMENTO_PENDENTE));
+
+            verify(orderRepository, times(2)).updateStatus(any(), any(), any());
+            verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(10L, OrderStatus.PAGAMENTO_PENDENTE, null, null));
+        }
+
+        @Test
+        @DisplayName("Deve reportar conflito quando o UPDATE falhar de novo com transição válida")
+        void shouldReportConflictWhenRetryAlsoFails() {
+            var items = new ArrayList<OrderItemDefinition>();
+            items.add(new OrderItemDefinition(10L, "Dummy", 1, BigDecimal.TEN, new ArrayList<>()));
+            var order = new OrderDefinition(11L, null, OrderStatus.INICIADO, items, null, null);
+            var transitions = List.of(OrderStatus.PAGAMENTO_PENDENTE);
+
+            when(orderRepository.updateStatus(eq(11L), any(), eq(OrderStatus.PAGAMENTO_PENDENTE))).thenReturn(false);
+            when(orderRepository.findById(11L)).thenReturn(Optional.of(order));
+
+            assertThatThrownBy(() -> useCase.applyStatusTransitions(11L, transitions))
+                    .isInstanceOf(ConcurrentOrderUpdateException.class)
+                    .hasMessageContaining("alterado concorrentemente");
+            verify(orderRepository, times(2)).updateStatus(any(), any(), any());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar cadeia inválida sem acessar o repositório")
+        void shouldRejectInvalidChainWithoutTouchingRepository() {
+            var transitions = List.of(OrderStatus.PAGAMENTO_PENDENTE, OrderStatus.CONCLUIDO);
+
+            assertThatThrownBy(() -> useCase.applyStatusTransitions(1L, transitions))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Transição de status inválida: PAGAMENTO_PENDENTE → CONCLUIDO");
+            verifyNoInteractions(orderRepository, eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar cadeia vazia")
+        void shouldRejectEmptyChain() {
+            var transitions = List.<OrderStatus>of();
+
+            assertThatThrownBy(() -> useCase.applyStatusTransitions(1L, transitions))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        @DisplayName("Deve aplicar cadeia PAGAMENTO_APROVADO -> CONCLUIDO a partir de PAGAMENTO_PENDENTE")
+        void shouldApplyChainFromFirstPredecessor() {
+            when(orderRepository.updateStatus(eq(2L), argThat(expected -> expected.equals(Set.of(OrderStatus.PAGAMENTO_PENDENTE))),
+                    eq(OrderStatus.CONCLUIDO))).thenReturn(true);
+
+            useCase.applyStatusTransitions(2L, List.of(OrderStatus.PAGAMENTO_APROVADO, OrderStatus.CONCLUIDO));
+
+            verify(eventPublisher, times(2)).publishEvent(any(OrderStatusChangedEvent.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Cenários de Atualização de Pagamento em Lote")
+    class PaymentStatusBatchTests {
+
+        @Test
+        @DisplayName("Deve aplicar um UPDATE por status e devolver as mensagens rejeitadas")
+        void shouldApplyOneUpdatePerStatusAndReturnRejected() {
+            var approved = new OrderPaymentStatusUpdatedMessage(1L, "p1", OrderStatus.PAGAMENTO_APROVADO);
+            var refused = new OrderPaymentStatusUpdatedMessage(2L, "p2", OrderStatus.PAGAMENTO_RECUSADO);
+            var stale = new OrderPaymentStatusUpdatedMessage(3L, "p3", OrderStatus.PAGAMENTO_APROVADO);
+            var order = new OrderDefinition(1L, null, OrderStatus.PAGAMENTO_APROVADO, List.of(), null, null);
+            var kitchenRequest = new OrderToKitchenRequest(1L, List.of());
+
+            when(orderRepository.updateStatuses(eq(List.of(1L, 3L)), any(), eq(OrderStatus.PAGAMENTO_APROVADO)))
+                    .thenReturn(Map.of(1L, OrderStatus.PAGAMENTO_PENDENTE));
+            when(orderRepository.updateStatuses(eq(List.of(2L)), any(), eq(OrderStatus.CANCELADO)))
+                    .thenReturn(Map.of(2L, OrderStatus.PAGAMENTO_PENDENTE));
+            when(orderRepository.findAllByIds(Set.of(1L))).thenReturn(List.of(order));
+            when(orderMapper.toKitchenRequest(order)).thenReturn(kitchenRequest);
+
+            var rejected = useCase.applyPaymentStatuses(List.of(approved, refused, stale));
+
+            assertThat(rejected).containsExactly(stale);
+            verify(orderRepository, times(2)).updateStatuses(any(), any(), any());
+            verify(orderRepository, never()).updateStatus(any(), any(), any());
+            verify(outboxRepository).enqueue("", "kitchen.order.received", kitchenRequest);
+            verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(1L, OrderStatus.PAGAMENTO_APROVADO, null, null));
+            verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(2L, OrderStatus.PAGAMENTO_RECUSADO, null, null));
+            verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(2L, OrderStatus.CANCELADO, null, null));
+            verify(eventPublisher, times(3)).publishEvent(any(OrderStatusChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Deve aplicar mensagens repetidas do mesmo pedido em rodadas na ordem de chegada")
+        void shouldApplyRepeatedOrderInRounds() {
+            var first = new OrderPaymentStatusUpdatedMessage(5L, "p1", OrderStatus.PAGAMENTO_RECUSADO);
+            var second = new OrderPaymentStatusUpdatedMessage(5L, "p2", OrderStatus.PAGAMENTO_APROVADO);
+
+            when(orderRepository.updateStatuses(eq(List.of(5L)), any(), eq(OrderStatus.CANCELADO)))
+                    .thenReturn(Map.of(5L, OrderStatus.PAGAMENTO_PENDENTE));
+            when(orderRepository.updateStatuses(eq(List.of(5L)), any(), eq(OrderStatus.PAGAMENTO_APROVADO)))
+                    .thenReturn(Map.of());
+
+            var rejected = useCase.applyPaymentStatuses(List.of(first, second));
+
+            assertThat(rejected).containsExactly(second);
+            var updates = inOrder(orderRepository);
+            updates.verify(orderRepository).updateStatuses(any(), any(), eq(OrderStatus.CANCELADO));
+            updates.verify(orderRepository).updateStatuses(any(), any(), eq(OrderStatus.PAGAMENTO_APROVADO));
+            verify(orderRepository, never()).findAllByIds(any());
+            verifyNoInteractions(outboxRepository);
+        }
+
+        @Test
+        @DisplayName("Não deve acessar o repositório para lote vazio")
+        void shouldSkipEmptyBatch() {
+            assertThat(useCase.applyPaymentStatuses(List.of())).isEmpty();
+            verifyNoInteractions(orderRepository, eventPublisher, outboxRepository);
+        }
+    }
+
     @Nested
     @DisplayName("Cenários de Listagem")
     class ListOrdersTests {
+
+        private OrderResponse response(Long id, OrderStatus status) {
+            return new OrderResponse(id, status.name(), null, List.of(), BigDecimal.ZERO, null, null);
+        }
+
         @Test
         @DisplayName("Deve listar pedidos filtrados por status")
         void shouldListOrdersByFilter() {
             var statusList = List.of(OrderStatus.INICIADO);
-            var order = new OrderDefinition(1L, null, OrderStatus.INICIADO, new ArrayList<>(),  null, null);
 
-            when(orderRepository.findByFilters(statusList)).thenReturn(List.of(order));
-            when(orderMapper.toResponse(order)).thenReturn(mock(OrderResponse.class));
+            when(orderReadRepository.findByFilters(statusList, null, 21)).thenReturn(List.of(response(1L, OrderStatus.INICIADO)));
 
-            var result = useCase.listAllOrdersByFilters(statusList);
+            var result = useCase.listAllOrdersByFilters(statusList, null, null);
 
-            assertThat(result).hasSize(1);
-            verify(orderRepository).findByFilters(statusList);
+            assertThat(result.items()).hasSize(1);
+            assertThat(result.next()).isNull();
+            verify(orderReadRepository).findByFilters(statusList, null, 21);
         }
 
         @Test
         @DisplayName("Deve listar pedidos com múltiplos filtros de status")
         void shouldListOrdersByMultipleFilters() {
             var statusList = List.of(OrderStatus.INICIADO, OrderStatus.PAGAMENTO_PENDENTE);
-            var order1 = new OrderDefinition(1L, null, OrderStatus.INICIADO, new ArrayList<>(),  null, null);
-            var order2 = new OrderDefinition(2L, null, OrderStatus.PAGAMENTO_PENDENTE, new ArrayList<>(),  null, null);
 
-            when(orderRepository.findByFilters(statusList)).thenReturn(List.of(order1, order2));
-            when(orderMapper.toResponse(order1)).thenReturn(mock(OrderResponse.class));
-            when(orderMapper.toResponse(order2)).thenReturn(mock(OrderResponse.class));
+            when(orderReadRepository.findByFilters(statusList, null, 21)).thenReturn(List.of(
+                    response(1L, OrderStatus.INICIADO), response(2L, OrderStatus.PAGAMENTO_PENDENTE)));
 
-            var result = useCase.listAllOrdersByFilters(statusList);
+            var result = useCase.listAllOrdersByFilters(statusList, null, null);
 
-            assertThat(result).hasSize(2);
-            verify(orderRepository).findByFilters(statusList);
+            assertThat(result.items()).hasSize(2);
+            verify(orderReadRepository).findByFilters(statusList, null, 21);
         }
 
         @Test
         @DisplayName("Deve listar pedidos sem filtros (null)")
         void shouldListOrdersWithoutFilters() {
-            var order1 = new OrderDefinition(1L, null, OrderStatus.INICIADO, new ArrayList<>(),  null, null);
-            var order2 = new OrderDefinition(2L, null, OrderStatus.PAGAMENTO_PENDENTE, new ArrayList<>(),  null, null);
+            when(orderReadRepository.findByFilters(null, null, 21)).thenReturn(List.of(
+                    response(1L, OrderStatus.INICIADO), response(2L, OrderStatus.PAGAMENTO_PENDENTE)));
 
-            when(orderRepository.findByFilters(null)).thenReturn(List.of(order1, order2));
-            when(orderMapper.toResponse(order1)).thenReturn(mock(OrderResponse.class));
-            when(orderMapper.toResponse(order2)).thenReturn(mock(OrderResponse.class));
+            var result = useCase.listAllOrdersByFilters(null, null, null);
 
-            var result = useCase.listAllOrdersByFilters(null);
-
-            assertThat(result).hasSize(2);
-            verify(orderRepository).findByFilters(null);
+            assertThat(result.items()).hasSize(2);
+            verify(orderReadRepository).findByFilters(null, null, 21);
         }
 
         @Test
         @DisplayName("Deve retornar lista vazia quando não há pedidos")
         void shouldReturnEmptyListWhenNoOrders() {
-            when(orderRepository.findByFilters(null)).thenReturn(List.of());
+            when(orderReadRepository.findByFilters(null, null, 21)).thenReturn(List.of());
+
+            var result = useCase.listAllOrdersByFilters(null, null, null);
+
+            assertThat(result.items()).isEmpty();
+            assertThat(result.next()).isNull();
+            verify(orderReadRepository).findByFilters(null, null, 21);
+        }
+
+        @Test
+        @DisplayName("Deve retornar cursor da próxima página quando há mais registros")
+        void shouldReturnNextCursorWhenThereAreMoreOrders() {
+            when(orderReadRepository.findByFilters(null, 10L, 3)).thenReturn(List.of(
+                    response(11L, OrderStatus.INICIADO), response(12L, OrderStatus.INICIADO), response(13L, OrderStatus.INICIADO)));
+
+            var result = useCase.listAllOrdersByFilters(null, 10L, 2);
+
+            assertThat(result.items()).extracting(OrderResponse::id).containsExactly(11L, 12L);
+            assertThat(result.next()).isEqualTo(12L);
+        }
+
+        @Test
+        @DisplayName("Deve limitar o tamanho da página ao máximo permitido")
+        void shouldCapPageSize() {
+            when(orderReadRepository.findByFilters(null, null, 101)).thenReturn(List.of());
+
+            useCase.listAllOrdersByFilters(null, null, 5000);
+
+            verify(orderReadRepository).findByFilters(null, null, 101);
+        }
+
+        @Test
+        @DisplayName("Não deve passar pelo modelo de domínio na listagem")
+        void shouldBypassDomainModel() {
+            when(orderReadRepository.findByFilters(null, null, 21)).thenReturn(List.of(response(1L, OrderStatus.INICIADO)));
+
+            useCase.listAllOrdersByFilters(null, null, null);
+
+            verify(orderRepository, never()).findAllByIds(any());
+            verifyNoInteractions(orderMapper);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cenários de Contagem por Status")
+    class CountByStatusTests {
+
+        @Test
+        @DisplayName("Deve retornar todos os status, com zero para os ausentes")
+        void shouldReturnAllStatusesWhenNoFilter() {
+            when(orderRepository.countByStatus()).thenReturn(Map.of(OrderStatus.INICIADO, 4L, OrderStatus.CONCLUIDO, 6L));
+
+            var result = useCase.countOrdersByStatus(null);
+
+            assertThat(result.counts()).hasSize(OrderStatus.values().length)
+                    .containsEntry(OrderStatus.INICIADO, 4L)
+                    .containsEntry(OrderStatus.CANCELADO, 0L);
+            assertThat(result.total()).isEqualTo(10L);
+        }
+
+        @Test
+        @DisplayName("Deve retornar apenas os status filtrados")
+        void shouldReturnOnlyRequestedStatuses() {
+            when(orderRepository.countByStatus()).thenReturn(Map.of(OrderStatus.INICIADO, 4L, OrderStatus.CONCLUIDO, 6L));
 
-            var result = useCase.listAllOrdersByFilters(null);
+            var result = useCase.countOrdersByStatus(List.of(OrderStatus.CONCLUIDO, OrderStatus.CANCELADO));
 
-            assertThat(result).isEmpty();
-            verify(orderRepository).findByFilters(null);
+            assertThat(result.counts()).containsOnlyKeys(OrderStatus.CONCLUIDO, OrderStatus.CANCELADO);
+            assertThat(result.total()).isEqualTo(6L);
         }
     }
 }
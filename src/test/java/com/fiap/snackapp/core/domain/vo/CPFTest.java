@@ -21,6 +21,13 @@ class CPFTest {
         assertThat(cpf.toString()).hasToString(validValue);
     }
 
+    @Test
+    @DisplayName("Deve converter CPF para long")
+    void shouldConvertToLong() {
+        assertThat(new CPF("01234567890").asLong()).isEqualTo(1234567890L);
+        assertThat(new CPF("99988877766").asLong()).isEqualTo(99988877766L);
+    }
+
     @ParameterizedTest
     @NullSource // Testa passando null
     @ValueSource(strings = {